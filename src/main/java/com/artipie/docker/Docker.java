@@ -24,6 +24,9 @@
 
 package com.artipie.docker;
 
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
 /**
  * Docker registry storage main object.
  * @see com.artipie.docker.asto.AstoDocker
@@ -37,4 +40,12 @@ public interface Docker {
      * @return Repository object
      */
     Repo repo(RepoName name);
+
+    /**
+     * Docker repositories catalog.
+     * @param from Repository to start listing after, from the first one if empty
+     * @param limit Max number of repositories
+     * @return Catalog
+     */
+    CompletionStage<Catalog> catalog(Optional<RepoName> from, int limit);
 }
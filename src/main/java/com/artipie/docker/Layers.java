@@ -24,7 +24,6 @@
 
 package com.artipie.docker;
 
-import com.artipie.asto.Content;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
@@ -38,11 +37,18 @@ public interface Layers {
     /**
      * Add layer to repository.
      *
-     * @param content Layer content.
-     * @param digest Layer digest.
+     * @param source Layer source.
      * @return Added layer blob.
      */
-    CompletionStage<Blob> put(Content content, Digest digest);
+    CompletionStage<Blob> put(BlobSource source);
+
+    /**
+     * Mount blob from another repository.
+     *
+     * @param blob Blob to be mounted.
+     * @return Mounted blob.
+     */
+    CompletionStage<Blob> mount(Blob blob);
 
     /**
      * Find layer by digest.
@@ -53,4 +53,32 @@ public interface Manifests {
      * @return Manifest instance if it is found, empty if manifest is absent.
      */
     CompletionStage<Optional<Manifest>> get(ManifestRef ref);
+
+    /**
+     * Get platform specific manifest of manifest list or image index.
+     *
+     * @param ref Manifest list reference.
+     * @param platform Platform, e.g. "linux/amd64".
+     * @return Platform manifest, empty if list is absent or has no such platform.
+     */
+    CompletionStage<Optional<Manifest>> get(ManifestRef ref, String platform);
+
+    /**
+     * Delete manifest by reference.
+     * Deleting by tag removes the tag only, deleting by digest removes manifest revision
+     * and all tags referencing it.
+     *
+     * @param ref Manifest reference.
+     * @return Digest of deleted manifest, empty if manifest is absent.
+     */
+    CompletionStage<Optional<Digest>> delete(ManifestRef ref);
+
+    /**
+     * List tags in alphabetical order.
+     *
+     * @param from Tag to start listing after, all tags are listed from the first if empty.
+     * @param limit Max number of tags listed.
+     * @return Tags list.
+     */
+    CompletionStage<Tags> tags(Optional<Tag> from, int limit);
 }
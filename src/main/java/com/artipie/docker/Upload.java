@@ -65,6 +65,16 @@ public interface Upload {
      */
     CompletionStage<Content> content();
 
+    /**
+     * Puts uploaded data to {@link Layers} creating a {@link Blob} with specified {@link Digest}.
+     * If upload data mismatch provided digest then error occurs and operation does not complete.
+     *
+     * @param layers Target layers.
+     * @param digest Expected blob digest.
+     * @return Created blob.
+     */
+    CompletionStage<Blob> putTo(Layers layers, Digest digest);
+
     /**
      * Get offset for the uploaded content.
      *
@@ -72,6 +82,13 @@ public interface Upload {
      */
     CompletionStage<Long> offset();
 
+    /**
+     * Get number of bytes uploaded.
+     *
+     * @return Number of bytes.
+     */
+    CompletionStage<Long> size();
+
     /**
      * Deletes upload blob data.
      *
@@ -0,0 +1,356 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.misc.Json;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Garbage collector of abandoned uploads.
+ * <p>
+ * Finds uploads which were started earlier than specified age and removes them.
+ * Only upload roots of repositories marked on upload start and temporary values
+ * of staged writes are listed, so the sweep does not list all repositories.
+ * Uploads are processed with limited parallelism and pause before each upload,
+ * so the storage is not flooded with requests.
+ * Uploads without metadata record can't be continued, but metadata record may be
+ * not written yet, so they are removed when seen for longer than max age.
+ * Number of scanned, removed and failed uploads is counted for metrics.
+ * </p>
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class AbandonedUploads {
+
+    /**
+     * Default number of uploads processed in parallel.
+     */
+    private static final int PARALLELISM = 2;
+
+    /**
+     * Default pause before processing upload.
+     */
+    private static final Duration PAUSE = Duration.ofMillis(50);
+
+    /**
+     * Uploads directory name.
+     */
+    private static final String UPLOADS = "/_uploads/";
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Max age of upload.
+     */
+    private final Duration age;
+
+    /**
+     * Number of uploads processed in parallel.
+     */
+    private final int parallelism;
+
+    /**
+     * Pause before processing upload.
+     */
+    private final Duration pause;
+
+    /**
+     * Clock.
+     */
+    private final Clock clock;
+
+    /**
+     * Time uploads without metadata record were first seen, by upload root.
+     */
+    private final Map<String, Instant> orphans;
+
+    /**
+     * Number of scanned uploads.
+     */
+    private final AtomicLong scans;
+
+    /**
+     * Number of removed uploads.
+     */
+    private final AtomicLong removals;
+
+    /**
+     * Number of uploads failed to be processed.
+     */
+    private final AtomicLong failures;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param age Max age of upload.
+     */
+    public AbandonedUploads(final Storage storage, final Duration age) {
+        this(storage, age, AbandonedUploads.PARALLELISM, Clock.systemUTC());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param age Max age of upload.
+     * @param parallelism Number of uploads processed in parallel.
+     * @param clock Clock.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public AbandonedUploads(final Storage storage, final Duration age, final int parallelism,
+        final Clock clock) {
+        this(storage, age, parallelism, AbandonedUploads.PAUSE, clock);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param age Max age of upload.
+     * @param parallelism Number of uploads processed in parallel.
+     * @param pause Pause before processing upload.
+     * @param clock Clock.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public AbandonedUploads(final Storage storage, final Duration age, final int parallelism,
+        final Duration pause, final Clock clock) {
+        this.storage = storage;
+        this.age = age;
+        this.parallelism = parallelism;
+        this.pause = pause;
+        this.clock = clock;
+        this.orphans = new ConcurrentHashMap<>();
+        this.scans = new AtomicLong();
+        this.removals = new AtomicLong();
+        this.failures = new AtomicLong();
+    }
+
+    /**
+     * Remove abandoned uploads.
+     *
+     * @return Number of removed uploads.
+     */
+    public CompletionStage<Long> remove() {
+        final Instant now = this.clock.instant();
+        final Set<String> seen = ConcurrentHashMap.newKeySet();
+        return this.storage.list(UploadingKey.ROOT).thenApply(
+            marks -> Stream.concat(
+                Stream.of(Staging.Renamed.ROOT),
+                marks.stream()
+                    .map(Key::string)
+                    .filter(mark -> mark.endsWith(String.format("/%s", UploadingKey.MARK)))
+                    .map(
+                        mark -> mark.substring(
+                            UploadingKey.ROOT.string().length() + 1,
+                            mark.length() - UploadingKey.MARK.length() - 1
+                        )
+                    )
+                    .map(name -> new Key.From(RegistryRoot.V2, "repositories", name, "_uploads"))
+            ).collect(Collectors.toList())
+        ).thenCompose(
+            roots -> Flowable.fromIterable(roots)
+                .concatMapSingle(root -> SingleInterop.fromFuture(this.storage.list(root)))
+                .concatMapIterable(
+                    keys -> keys.stream()
+                        .filter(key -> key.string().contains(AbandonedUploads.UPLOADS))
+                        .collect(Collectors.groupingBy(AbandonedUploads::upload))
+                        .entrySet()
+                )
+                .flatMapSingle(
+                    upload -> {
+                        seen.add(upload.getKey());
+                        return SingleInterop.fromFuture(this.removeIfExpired(upload, now))
+                            .delaySubscription(this.pause.toMillis(), TimeUnit.MILLISECONDS);
+                    },
+                    false,
+                    this.parallelism
+                )
+                .reduce(0L, Long::sum)
+                .to(SingleInterop.get())
+        ).thenApply(
+            removed -> {
+                this.orphans.keySet().retainAll(seen);
+                return removed;
+            }
+        );
+    }
+
+    /**
+     * Schedule periodic removal of abandoned uploads.
+     * Next removal starts only after previous one is finished.
+     *
+     * @param executor Executor.
+     * @param period Period between removals.
+     * @return Scheduled task.
+     */
+    public ScheduledFuture<?> schedule(
+        final ScheduledExecutorService executor, final Duration period
+    ) {
+        return executor.scheduleWithFixedDelay(
+            () -> this.remove().toCompletableFuture().exceptionally(
+                error -> {
+                    this.failures.incrementAndGet();
+                    return 0L;
+                }
+            ).join(),
+            period.toMillis(),
+            period.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Total number of scanned uploads.
+     *
+     * @return Number of uploads.
+     */
+    public long scanned() {
+        return this.scans.get();
+    }
+
+    /**
+     * Total number of removed uploads.
+     *
+     * @return Number of uploads.
+     */
+    public long removed() {
+        return this.removals.get();
+    }
+
+    /**
+     * Total number of uploads failed to be processed.
+     *
+     * @return Number of uploads.
+     */
+    public long failed() {
+        return this.failures.get();
+    }
+
+    /**
+     * Remove upload if it was started earlier than max age,
+     * or if it has no metadata record and was first seen earlier than max age.
+     *
+     * @param upload Upload root and keys of upload items.
+     * @param now Current time.
+     * @return Number of removed uploads: 1 if removed, 0 otherwise.
+     */
+    private CompletionStage<Long> removeIfExpired(
+        final Map.Entry<String, List<Key>> upload, final Instant now
+    ) {
+        this.scans.incrementAndGet();
+        final Instant threshold = now.minus(this.age);
+        final Key info = new Key.From(upload.getKey(), "info");
+        final CompletionStage<Boolean> expired;
+        if (upload.getValue().stream().anyMatch(key -> key.string().equals(info.string()))) {
+            expired = this.storage.value(info)
+                .thenCompose(content -> new Json(content).object())
+                .thenApply(json -> new UploadInfo(json).started().isBefore(threshold));
+        } else {
+            expired = CompletableFuture.completedFuture(
+                this.orphans.computeIfAbsent(upload.getKey(), root -> now).isBefore(threshold)
+            );
+        }
+        return expired.thenCompose(
+            remove -> {
+                final CompletionStage<Long> res;
+                if (remove) {
+                    res = this.delete(upload.getValue()).thenApply(
+                        nothing -> {
+                            this.orphans.remove(upload.getKey());
+                            this.removals.incrementAndGet();
+                            return 1L;
+                        }
+                    );
+                } else {
+                    res = CompletableFuture.completedFuture(0L);
+                }
+                return res;
+            }
+        ).exceptionally(
+            error -> {
+                this.failures.incrementAndGet();
+                return 0L;
+            }
+        );
+    }
+
+    /**
+     * Delete upload items one by one.
+     *
+     * @param keys Keys of upload items.
+     * @return Completion of deletion.
+     */
+    private CompletionStage<Void> delete(final Collection<Key> keys) {
+        return Flowable.fromIterable(keys)
+            .concatMapCompletable(
+                key -> CompletableInterop.fromFuture(this.storage.delete(key))
+            )
+            .to(CompletableInterop.await());
+    }
+
+    /**
+     * Upload root of upload item.
+     *
+     * @param key Upload item key.
+     * @return Upload root.
+     */
+    private static String upload(final Key key) {
+        final String str = key.string();
+        final int start = str.indexOf(AbandonedUploads.UPLOADS) + AbandonedUploads.UPLOADS.length();
+        final int end = str.indexOf('/', start);
+        final String root;
+        if (end < 0) {
+            root = str;
+        } else {
+            root = str.substring(0, end);
+        }
+        return root;
+    }
+}
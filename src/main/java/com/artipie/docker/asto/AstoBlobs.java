@@ -24,30 +24,57 @@
 
 package com.artipie.docker.asto;
 
-import com.artipie.asto.Content;
 import com.artipie.asto.Storage;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
 /**
  * Asto {@link BlobStore} implementation.
+ * <p>
+ * Existence of many blobs is checked with bounded parallelism, so manifests
+ * with many layers do not cause bursts of storage requests. Checks which are not
+ * started yet are cancelled once absent blob is found.
  * @since 0.1
  */
 final class AstoBlobs implements BlobStore {
 
+    /**
+     * Max number of blob existence checks running at once.
+     */
+    private static final int PARALLEL = 16;
+
     /**
      * Storage.
      */
     private final Storage asto;
 
+    /**
+     * Blob content staging policy.
+     */
+    private final Staging staging;
+
     /**
      * Ctor.
      * @param asto Storage
      */
     AstoBlobs(final Storage asto) {
+        this(asto, new Staging.Renamed());
+    }
+
+    /**
+     * Ctor.
+     * @param asto Storage
+     * @param staging Blob content staging policy
+     */
+    AstoBlobs(final Storage asto, final Staging staging) {
         this.asto = asto;
+        this.staging = staging;
     }
 
     @Override
@@ -66,10 +93,25 @@ final class AstoBlobs implements BlobStore {
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content blob, final Digest digest) {
-        return this.asto.save(
-            new BlobKey(digest),
-            blob
-        ).thenApply(ignored -> new AstoBlob(this.asto, digest));
+    public CompletionStage<Optional<Digest>> absent(final Collection<Digest> digests) {
+        return Flowable.fromIterable(digests)
+            .flatMapMaybe(
+                digest -> SingleInterop.fromFuture(this.asto.exists(new BlobKey(digest)))
+                    .filter(exists -> !exists)
+                    .map(exists -> digest),
+                false,
+                AstoBlobs.PARALLEL
+            )
+            .firstElement()
+            .map(Optional::of)
+            .toSingle(Optional.empty())
+            .to(SingleInterop.get());
+    }
+
+    @Override
+    public CompletionStage<Blob> put(final BlobSource source) {
+        final Digest digest = source.digest();
+        return source.saveTo(new StagedStorage(this.asto, this.staging), new BlobKey(digest))
+            .thenApply(ignored -> new AstoBlob(this.asto, digest));
     }
 }
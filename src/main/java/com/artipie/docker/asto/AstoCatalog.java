@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.docker.Catalog;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+
+/**
+ * Asto implementation of {@link Catalog}.
+ *
+ * @since 0.4
+ */
+final class AstoCatalog implements Catalog {
+
+    /**
+     * Repository names.
+     */
+    private final List<String> names;
+
+    /**
+     * Ctor.
+     *
+     * @param names Repository names.
+     */
+    AstoCatalog(final List<String> names) {
+        this.names = names;
+    }
+
+    @Override
+    public Content json() {
+        final JsonArrayBuilder array = Json.createArrayBuilder();
+        this.names.forEach(array::add);
+        return new Content.From(
+            Json.createObjectBuilder()
+                .add("repositories", array)
+                .build()
+                .toString()
+                .getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
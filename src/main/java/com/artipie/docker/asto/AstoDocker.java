@@ -25,31 +25,159 @@
 package com.artipie.docker.asto;
 
 import com.artipie.asto.Storage;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.docker.Catalog;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Asto {@link Docker} implementation.
+ * <p>
+ * Blobs are served from memory mapped files only when registry is created
+ * with {@link #AstoDocker(Path)} ctor. Registry created from a storage instance,
+ * even a file storage, reads blobs through the storage.
+ * </p>
  * @since 0.1
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class AstoDocker implements Docker {
 
+    /**
+     * Default number of cached blobs.
+     */
+    private static final int CACHED = 10_000;
+
+    /**
+     * Default time-to-live of cached tags.
+     */
+    private static final Duration TTL = Duration.ofSeconds(10);
+
+    /**
+     * Default min time-to-live of cached links by digest.
+     */
+    private static final Duration DURABLE = Duration.ofMinutes(5);
+
     /**
      * Asto storage.
      */
     private final Storage asto;
 
+    /**
+     * Blob store shared by all repositories.
+     */
+    private final BlobStore blobs;
+
+    /**
+     * Resolved manifest links shared by all repositories.
+     */
+    private final LinkCache links;
+
+    /**
+     * Tags and repositories index shared by all repositories.
+     */
+    private final SortedIndex index;
+
     /**
      * Ctor.
      * @param asto Asto storage
      */
     public AstoDocker(final Storage asto) {
+        this(asto, new CachedBlobs(asto, AstoDocker.CACHED));
+    }
+
+    /**
+     * Ctor.
+     * Storages which move values by copying, like S3, should use
+     * {@link Staging.Streamed} policy, others {@link Staging.Renamed}.
+     * @param asto Asto storage
+     * @param staging Blob content staging policy
+     */
+    public AstoDocker(final Storage asto, final Staging staging) {
+        this(asto, new CachedBlobs(asto, staging, AstoDocker.CACHED));
+    }
+
+    /**
+     * Ctor for storage in local file system directory.
+     * Blobs are served from memory mapped files.
+     * @param root Storage root directory
+     */
+    public AstoDocker(final Path root) {
+        this(new FileStorage(root), root);
+    }
+
+    /**
+     * Ctor.
+     * @param asto Asto storage
+     * @param blobs Cached blob store over the same storage
+     */
+    public AstoDocker(final Storage asto, final CachedBlobs blobs) {
+        this(asto, blobs, AstoDocker.TTL);
+    }
+
+    /**
+     * Ctor.
+     * Links by digest are cached for the longer of tags time-to-live and five minutes,
+     * zero time-to-live disables caching of all links.
+     * @param asto Asto storage
+     * @param blobs Cached blob store over the same storage
+     * @param ttl Time-to-live of cached tags, should be short if storage is shared by many nodes
+     */
+    public AstoDocker(final Storage asto, final CachedBlobs blobs, final Duration ttl) {
+        this(
+            asto,
+            blobs,
+            ttl,
+            Optional.of(ttl).filter(tags -> !tags.isZero())
+                .map(tags -> Collections.max(Arrays.asList(tags, AstoDocker.DURABLE)))
+                .orElse(Duration.ZERO)
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param asto Asto storage
+     * @param blobs Cached blob store over the same storage
+     * @param ttl Time-to-live of cached tags, should be short if storage is shared by many nodes
+     * @param durable Time-to-live of cached links by digest, deleted manifests are
+     *  visible to other nodes after it expires
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public AstoDocker(
+        final Storage asto, final CachedBlobs blobs, final Duration ttl, final Duration durable
+    ) {
         this.asto = asto;
+        this.blobs = blobs;
+        this.links = new LinkCache(ttl, durable);
+        this.index = new SortedIndex(asto);
+    }
+
+    /**
+     * Ctor.
+     * @param asto File storage
+     * @param root Storage root directory
+     */
+    private AstoDocker(final Storage asto, final Path root) {
+        this(
+            asto,
+            new CachedBlobs(new MappedBlobs(new AstoBlobs(asto), root), AstoDocker.CACHED)
+        );
     }
 
     @Override
     public Repo repo(final RepoName name) {
-        return new AstoRepo(this.asto, new AstoBlobs(this.asto), name);
+        return new AstoRepo(this.asto, this.blobs, this.links, this.index, name);
+    }
+
+    @Override
+    public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+        return new CatalogIndex(this.asto, this.index).list(from, limit)
+            .thenApply(AstoCatalog::new);
     }
 }
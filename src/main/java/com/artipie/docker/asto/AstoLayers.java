@@ -24,15 +24,18 @@
 
 package com.artipie.docker.asto;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 /**
  * Asto implementation of {@link Layers}.
+ * Blobs are shared by all repositories of the storage,
+ * so blob already stored is mounted without copying the data.
  *
  * @since 0.3
  */
@@ -53,8 +56,20 @@ public final class AstoLayers implements Layers {
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
-        return this.blobs.put(content, digest);
+    public CompletionStage<Blob> put(final BlobSource source) {
+        return this.blobs.put(source);
+    }
+
+    @Override
+    public CompletionStage<Blob> mount(final Blob blob) {
+        return this.blobs.blob(blob.digest()).thenCompose(
+            found -> found.<CompletionStage<Blob>>map(CompletableFuture::completedFuture)
+                .orElseGet(
+                    () -> blob.content().thenCompose(
+                        content -> this.blobs.put(new TrustedBlobSource(content, blob.digest()))
+                    )
+                )
+        );
     }
 
     @Override
@@ -29,24 +29,69 @@ import com.artipie.asto.Storage;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Manifests;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
+import com.artipie.docker.error.InvalidManifestException;
+import com.artipie.docker.manifest.ChildManifest;
 import com.artipie.docker.manifest.JsonManifest;
 import com.artipie.docker.manifest.Layer;
 import com.artipie.docker.manifest.Manifest;
+import com.artipie.docker.manifest.PlatformManifest;
 import com.artipie.docker.misc.ByteBufPublisher;
+import com.artipie.docker.misc.Json;
 import com.artipie.docker.ref.ManifestRef;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import io.reactivex.Flowable;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Asto implementation of {@link Manifests}.
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public final class AstoManifests implements Manifests {
 
+    /**
+     * Max number of child manifests of manifest list checked at once
+     * and max number of items deleted at once.
+     */
+    private static final int PARALLEL = 8;
+
+    /**
+     * Name of link item.
+     */
+    private static final String LINK_NAME = "link";
+
+    /**
+     * Name of tags item.
+     */
+    private static final String TAGS_NAME = "tags";
+
+    /**
+     * Key pattern of link from manifest revision to tag referencing it.
+     */
+    private static final Pattern REVISION_TAG = Pattern.compile(".*/tags/([^/]+)/link$");
+
+    /**
+     * Key pattern of entry in index of tag revisions.
+     */
+    private static final Pattern TAG_REVISION = Pattern.compile(
+        ".*/index/([^/]+)/([^/]+)/link$"
+    );
+
     /**
      * Asto storage.
      */
@@ -57,6 +102,16 @@ public final class AstoManifests implements Manifests {
      */
     private final BlobStore blobs;
 
+    /**
+     * Resolved manifest links.
+     */
+    private final LinkCache links;
+
+    /**
+     * Tags and repositories index.
+     */
+    private final SortedIndex index;
+
     /**
      * Repository name.
      */
@@ -70,8 +125,27 @@ public final class AstoManifests implements Manifests {
      * @param name Repository name
      */
     public AstoManifests(final Storage asto, final BlobStore blobs, final RepoName name) {
+        this(asto, blobs, new LinkCache(Duration.ZERO), new SortedIndex(asto), name);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param asto Asto storage
+     * @param blobs Blobs storage.
+     * @param links Resolved manifest links.
+     * @param index Tags and repositories index.
+     * @param name Repository name
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    AstoManifests(
+        final Storage asto, final BlobStore blobs, final LinkCache links,
+        final SortedIndex index, final RepoName name
+    ) {
         this.asto = asto;
         this.blobs = blobs;
+        this.links = links;
+        this.index = index;
         this.name = name;
     }
 
@@ -80,11 +154,17 @@ public final class AstoManifests implements Manifests {
         return new ByteBufPublisher(content).bytes().thenCompose(
             bytes -> {
                 final Digest digest = new Digest.Sha256(bytes);
-                return this.blobs.put(new Content.From(bytes), digest)
+                return this.blobs.put(new TrustedBlobSource(new Content.From(bytes), digest))
                     .thenApply(blob -> new JsonManifest(digest, new Content.From(bytes)))
                     .thenCompose(
                         manifest -> this.validate(manifest)
                             .thenCompose(nothing -> this.addManifestLinks(ref, digest))
+                            .thenCompose(nothing -> this.addPlatformLinks(manifest))
+                            .thenCompose(nothing -> this.addInfo(manifest, bytes.length))
+                            .thenCompose(nothing -> this.addTag(ref, digest))
+                            .thenCompose(
+                                nothing -> new CatalogIndex(this.asto, this.index).add(this.name)
+                            )
                             .thenApply(nothing -> manifest)
                     );
             }
@@ -95,83 +175,439 @@ public final class AstoManifests implements Manifests {
     public CompletionStage<Optional<Manifest>> get(final ManifestRef ref) {
         return this.readLink(ref).thenCompose(
             digestOpt -> digestOpt.map(
-                digest -> this.blobs.blob(digest)
-                    .thenCompose(
-                        blobOpt -> blobOpt
-                            .map(
-                                blob -> blob.content()
-                                    .thenApply(ByteBufPublisher::new)
-                                    .thenCompose(ByteBufPublisher::bytes)
-                                    .thenApply(Content.From::new)
-                                    .<Manifest>thenApply(
-                                        source -> new JsonManifest(blob.digest(), source)
-                                    )
-                                    .thenApply(Optional::of)
-                            )
-                            .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
+                digest -> this.readInfo(digest).thenCompose(
+                    info -> info.<CompletionStage<Optional<Manifest>>>map(
+                        found -> CompletableFuture.completedFuture(
+                            Optional.of(found.manifest(this.blobs))
+                        )
+                    ).orElseGet(() -> this.read(digest))
+                )
+            ).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
+        );
+    }
+
+    @Override
+    public CompletionStage<Optional<Manifest>> get(final ManifestRef ref, final String platform) {
+        return this.readLink(ref).thenCompose(
+            list -> list.map(
+                digest -> this.readLink(this.platformLink(digest, platform), true).thenCompose(
+                    child -> child.map(
+                        found -> this.get(new ManifestRef.FromDigest(found))
+                    ).orElseGet(
+                        () -> new PlatformManifest(
+                            this, new ManifestRef.FromDigest(digest), platform
+                        ).find()
                     )
+                )
             ).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
         );
     }
 
+    @Override
+    public CompletionStage<Optional<Digest>> delete(final ManifestRef ref) {
+        return this.readLink(ref).thenCompose(
+            found -> found.map(
+                digest -> {
+                    final CompletionStage<Void> res;
+                    if (new Digest.FromString(ref.string()).valid()) {
+                        res = this.deleteRevision(digest);
+                    } else {
+                        res = this.deleteTag(new Tag.Valid(ref.string()));
+                    }
+                    return res.thenApply(nothing -> Optional.of(digest));
+                }
+            ).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
+        );
+    }
+
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        return new TagsIndex(this.index, this.name).list(from, limit)
+            .thenApply(tags -> new AstoTags(this.name, tags));
+    }
+
     /**
-     * Validates manifest by checking all referenced blobs exist.
+     * Validates manifest by checking all referenced blobs or child manifests exist.
+     * Manifest list without child manifests is invalid.
      *
      * @param manifest Manifest.
      * @return Validation completion.
      */
     private CompletionStage<Void> validate(final Manifest manifest) {
+        return manifest.mediaType()
+            .handle((type, error) -> error == null && JsonManifest.LISTS.contains(type))
+            .thenCombine(manifest.manifests(), Map::entry)
+            .thenCompose(
+                list -> {
+                    final CompletionStage<Void> res;
+                    if (list.getValue().isEmpty() && list.getKey()) {
+                        throw new InvalidManifestException("Manifest list has no manifests");
+                    } else if (list.getValue().isEmpty()) {
+                        res = this.validateImage(manifest);
+                    } else {
+                        res = this.validateList(list.getValue());
+                    }
+                    return res;
+                }
+            );
+    }
+
+    /**
+     * Validates manifest list by checking all child manifests exist in repository.
+     * Child manifests are checked with bounded parallelism,
+     * validation fails on first absent manifest.
+     *
+     * @param children Child manifests of manifest list.
+     * @return Validation completion.
+     */
+    private CompletionStage<Void> validateList(final Collection<ChildManifest> children) {
+        return Flowable.fromIterable(children)
+            .flatMapCompletable(
+                child -> CompletableInterop.fromFuture(
+                    this.readLink(new ManifestRef.FromDigest(child.digest())).thenApply(
+                        found -> {
+                            if (found.isEmpty()) {
+                                throw new IllegalArgumentException(
+                                    String.format(
+                                        "Manifest does not exist: %s",
+                                        child.digest().string()
+                                    )
+                                );
+                            }
+                            return found;
+                        }
+                    )
+                ),
+                false,
+                AstoManifests.PARALLEL
+            )
+            .to(CompletableInterop.await());
+    }
+
+    /**
+     * Validates image manifest by checking all referenced blobs exist.
+     * Blobs are checked by blob store in one batch, validation fails on first absent blob.
+     *
+     * @param manifest Image manifest.
+     * @return Validation completion.
+     */
+    private CompletionStage<Void> validateImage(final Manifest manifest) {
         return manifest.config()
             .thenCompose(
                 config -> manifest.layers().thenApply(
                     layers -> Stream.concat(
                         Stream.of(config),
                         layers.stream().filter(layer -> layer.urls().isEmpty()).map(Layer::digest)
-                    )
+                    ).collect(Collectors.toList())
                 )
             )
-            .thenCompose(
-                digests -> CompletableFuture.allOf(
-                    digests.map(
-                        digest -> this.blobs.blob(digest).thenCompose(
-                            opt -> {
-                                if (opt.isEmpty()) {
-                                    throw new IllegalArgumentException(
-                                        String.format("Blob does not exist: %s", digest)
-                                    );
-                                }
-                                return CompletableFuture.allOf();
-                            }
-                        ).toCompletableFuture()
-                    ).toArray(CompletableFuture[]::new)
+            .thenCompose(this.blobs::absent)
+            .thenAccept(
+                absent -> absent.ifPresent(
+                    digest -> {
+                        throw new IllegalArgumentException(
+                            String.format("Blob does not exist: %s", digest.string())
+                        );
+                    }
                 )
             );
     }
 
     /**
      * Adds links to manifest blob by reference and by digest.
+     * Link by digest never changes, so it is not written again if exists.
      *
      * @param ref Manifest reference.
      * @param digest Blob digest.
      * @return Signal that links are added.
      */
     private CompletableFuture<Void> addManifestLinks(final ManifestRef ref, final Digest digest) {
+        final Key revision = this.link(new ManifestRef.FromDigest(digest));
+        final Key key = this.link(ref);
+        final CompletableFuture<Void> byref;
+        if (key.string().equals(revision.string())) {
+            byref = CompletableFuture.allOf();
+        } else {
+            byref = this.addLink(key, digest);
+        }
         return CompletableFuture.allOf(
-            this.addLink(new ManifestRef.FromDigest(digest), digest),
-            this.addLink(ref, digest)
+            this.asto.exists(revision).thenCompose(
+                exists -> {
+                    final CompletableFuture<Void> res;
+                    if (exists) {
+                        res = CompletableFuture.allOf();
+                    } else {
+                        res = this.addLink(revision, digest);
+                    }
+                    return res;
+                }
+            ).thenRun(() -> this.links.stable(revision, digest)),
+            byref.thenRun(
+                () -> this.remember(new Digest.FromString(ref.string()).valid(), key, digest)
+            )
+        );
+    }
+
+    /**
+     * Adds links from manifest list to child manifests by platform,
+     * so platform manifest is resolved without reading the list.
+     * First child manifest is linked if several children have same platform.
+     *
+     * @param manifest Manifest, might be image manifest without children.
+     * @return Signal that links are added.
+     */
+    private CompletionStage<Void> addPlatformLinks(final Manifest manifest) {
+        return manifest.manifests().thenCompose(
+            children -> CompletableFuture.allOf(
+                children.stream()
+                    .flatMap(
+                        child -> child.platform()
+                            .map(platform -> Map.entry(platform, child.digest()))
+                            .stream()
+                    )
+                    .collect(
+                        Collectors.toMap(
+                            Map.Entry::getKey, Map.Entry::getValue, (first, second) -> first
+                        )
+                    )
+                    .entrySet().stream()
+                    .map(
+                        entry -> {
+                            final Key key = this.platformLink(manifest.digest(), entry.getKey());
+                            return this.addLink(key, entry.getValue())
+                                .thenRun(() -> this.links.stable(key, entry.getValue()));
+                        }
+                    ).toArray(CompletableFuture[]::new)
+            )
         );
     }
 
     /**
-     * Puts link to blob to manifest reference path.
+     * Adds metadata record of manifest, so manifest media type and size
+     * are known without reading manifest content.
+     * Record never changes for manifest digest, so it is not written again if exists.
+     * Record is not added for manifest without media type,
+     * such manifest is always read from content.
+     *
+     * @param manifest Manifest.
+     * @param size Manifest size.
+     * @return Signal that record is added.
+     */
+    private CompletionStage<Void> addInfo(final Manifest manifest, final long size) {
+        final Key key = this.info(manifest.digest());
+        return this.asto.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = CompletableFuture.allOf();
+                } else {
+                    res = manifest.mediaType()
+                        .handle((type, error) -> Optional.ofNullable(type))
+                        .thenCompose(
+                            type -> type.map(
+                                present -> this.asto.save(
+                                    key,
+                                    new Content.From(
+                                        new ManifestInfo(manifest.digest(), present, size)
+                                            .bytes()
+                                    )
+                                )
+                            ).orElseGet(() -> CompletableFuture.allOf())
+                        );
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Reads manifest metadata record.
+     *
+     * @param digest Manifest digest.
+     * @return Metadata record, empty if manifest has no record.
+     */
+    private CompletionStage<Optional<ManifestInfo>> readInfo(final Digest digest) {
+        return new OptionalValue(this.asto, this.info(digest)).read(
+            content -> new Json(content).object().thenApply(ManifestInfo::new)
+        );
+    }
+
+    /**
+     * Reads manifest from blob content.
+     *
+     * @param digest Manifest digest.
+     * @return Manifest, empty if manifest blob does not exist.
+     */
+    private CompletionStage<Optional<Manifest>> read(final Digest digest) {
+        return this.blobs.blob(digest).thenCompose(
+            blobOpt -> blobOpt
+                .map(
+                    blob -> blob.content()
+                        .thenApply(ByteBufPublisher::new)
+                        .thenCompose(ByteBufPublisher::bytes)
+                        .thenApply(Content.From::new)
+                        .<Manifest>thenApply(source -> new JsonManifest(blob.digest(), source))
+                        .thenApply(Optional::of)
+                )
+                .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
+        );
+    }
+
+    /**
+     * Adds tag to tags index and manifest revision to index of tag revisions
+     * if manifest is referenced by tag. Tag is also linked from manifest revision,
+     * so tags referencing revision are found without reading every tag.
      *
      * @param ref Manifest reference.
+     * @param digest Manifest digest.
+     * @return Signal that tag is added.
+     */
+    private CompletionStage<Void> addTag(final ManifestRef ref, final Digest digest) {
+        final CompletionStage<Void> res;
+        if (new Digest.FromString(ref.string()).valid()) {
+            res = CompletableFuture.allOf();
+        } else {
+            final Tag tag = new Tag.Valid(ref.string());
+            res = this.addLink(this.revisionTag(digest, tag), digest)
+                .thenCompose(nothing -> this.addLink(this.tagIndex(tag, digest), digest))
+                .thenCompose(nothing -> new TagsIndex(this.index, this.name).add(tag));
+        }
+        return res;
+    }
+
+    /**
+     * Deletes tag: tag link, all entries of tag revisions index,
+     * links from revisions to the tag and tag in tags index.
+     * Manifest revisions are kept.
+     *
+     * @param tag Tag.
+     * @return Signal that tag is deleted.
+     */
+    private CompletionStage<Void> deleteTag(final Tag tag) {
+        return this.deleteLink(this.link(new ManifestRef.FromTag(tag)))
+            .thenCompose(nothing -> this.asto.list(this.tagIndex(tag)))
+            .thenCompose(
+                entries -> this.deleteAll(entries).thenCompose(
+                    nothing -> Flowable.fromIterable(entries)
+                        .map(entry -> AstoManifests.TAG_REVISION.matcher(entry.string()))
+                        .filter(Matcher::matches)
+                        .map(
+                            matcher -> new Digest.FromString(
+                                String.format("%s:%s", matcher.group(1), matcher.group(2))
+                            )
+                        )
+                        .flatMapCompletable(
+                            digest -> CompletableInterop.fromFuture(
+                                this.deleteLink(this.revisionTag(digest, tag))
+                            ),
+                            false,
+                            AstoManifests.PARALLEL
+                        )
+                        .to(CompletableInterop.await())
+                )
+            )
+            .thenCompose(nothing -> new TagsIndex(this.index, this.name).remove(tag));
+    }
+
+    /**
+     * Deletes manifest revision: revision link, platform links and metadata record.
+     * Tags referencing the revision are found by links from the revision, deleted
+     * if they point to the revision, otherwise revision is removed from their revisions index.
+     * Manifest blob is kept in blob store.
+     *
+     * @param digest Manifest digest.
+     * @return Signal that revision is deleted.
+     */
+    private CompletionStage<Void> deleteRevision(final Digest digest) {
+        return this.asto.list(new Key.From(this.revision(digest), AstoManifests.TAGS_NAME))
+            .thenCompose(
+                refs -> Flowable.fromIterable(refs)
+                    .map(ref -> AstoManifests.REVISION_TAG.matcher(ref.string()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> new Tag.Valid(matcher.group(1)))
+                    .flatMapCompletable(
+                        tag -> CompletableInterop.fromFuture(this.untag(tag, digest)),
+                        false,
+                        AstoManifests.PARALLEL
+                    )
+                    .to(CompletableInterop.await())
+            )
+            .thenCompose(nothing -> this.asto.list(this.revision(digest)))
+            .thenCompose(this::deleteAll);
+    }
+
+    /**
+     * Removes manifest revision from tag.
+     * Tag is deleted if it references the revision,
+     * otherwise revision is removed from tag revisions index.
+     *
+     * @param tag Tag.
+     * @param digest Manifest digest.
+     * @return Signal that revision is removed from tag.
+     */
+    private CompletionStage<Void> untag(final Tag tag, final Digest digest) {
+        return this.readLink(new ManifestRef.FromTag(tag)).thenCompose(
+            current -> {
+                final CompletionStage<Void> res;
+                if (current.map(Digest::string).equals(Optional.of(digest.string()))) {
+                    res = this.deleteTag(tag);
+                } else {
+                    res = this.deleteLink(this.tagIndex(tag, digest));
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Deletes items and evicts links to them from links cache.
+     * Items are deleted with bounded parallelism.
+     *
+     * @param keys Keys of items.
+     * @return Signal that items are deleted.
+     */
+    private CompletionStage<Void> deleteAll(final Collection<Key> keys) {
+        return Flowable.fromIterable(keys)
+            .flatMapCompletable(
+                key -> CompletableInterop.fromFuture(
+                    this.asto.delete(key).thenRun(() -> this.links.invalidate(key))
+                ),
+                false,
+                AstoManifests.PARALLEL
+            )
+            .to(CompletableInterop.await());
+    }
+
+    /**
+     * Deletes link if it exists and evicts it from links cache.
+     *
+     * @param key Link key.
+     * @return Signal that link is deleted.
+     */
+    private CompletionStage<Void> deleteLink(final Key key) {
+        return this.asto.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = this.asto.delete(key);
+                } else {
+                    res = CompletableFuture.allOf();
+                }
+                return res;
+            }
+        ).thenRun(() -> this.links.invalidate(key));
+    }
+
+    /**
+     * Puts link to blob.
+     *
+     * @param key Link key.
      * @param digest Blob digest.
-     * @return Link key.
+     * @return Signal that link is added.
      */
-    private CompletableFuture<Void> addLink(final ManifestRef ref, final Digest digest) {
+    private CompletableFuture<Void> addLink(final Key key, final Digest digest) {
         return this.asto.save(
-            this.link(ref),
+            key,
             new Content.From(digest.string().getBytes(StandardCharsets.US_ASCII))
         ).toCompletableFuture();
     }
@@ -183,25 +619,49 @@ public final class AstoManifests implements Manifests {
      * @return Blob digest, empty if no link found.
      */
     private CompletableFuture<Optional<Digest>> readLink(final ManifestRef ref) {
-        final Key key = this.link(ref);
-        return this.asto.exists(key).thenCompose(
-            exists -> {
-                final CompletionStage<Optional<Digest>> stage;
-                if (exists) {
-                    stage = this.asto.value(key)
-                        .thenCompose(
-                            pub -> new ByteBufPublisher(pub).asciiString()
-                        )
-                        .<Digest>thenApply(Digest.FromString::new)
-                        .thenApply(Optional::of);
-                } else {
-                    stage = CompletableFuture.completedFuture(Optional.empty());
-                }
-                return stage;
-            }
+        return this.readLink(this.link(ref), new Digest.FromString(ref.string()).valid());
+    }
+
+    /**
+     * Reads link to blob.
+     *
+     * @param key Link key.
+     * @param stable Link never changes once written.
+     * @return Blob digest, empty if no link found.
+     */
+    private CompletableFuture<Optional<Digest>> readLink(final Key key, final boolean stable) {
+        return this.links.find(key).map(
+            digest -> CompletableFuture.completedFuture(Optional.of(digest))
+        ).orElseGet(
+            () -> new OptionalValue(this.asto, key).read(
+                pub -> new ByteBufPublisher(pub).asciiString()
+                    .<Digest>thenApply(Digest.FromString::new)
+                    .thenApply(
+                        digest -> {
+                            this.remember(stable, key, digest);
+                            return digest;
+                        }
+                    )
+            ).toCompletableFuture()
         );
     }
 
+    /**
+     * Cache resolved link. Link by digest never changes and is cached longer
+     * than link by tag, both are cached until they expire.
+     *
+     * @param stable Link never changes once written.
+     * @param key Link key.
+     * @param digest Blob digest.
+     */
+    private void remember(final boolean stable, final Key key, final Digest digest) {
+        if (stable) {
+            this.links.stable(key, digest);
+        } else {
+            this.links.expiring(key, digest);
+        }
+    }
+
     /**
      * Create link key from manifest reference.
      *
@@ -209,9 +669,82 @@ public final class AstoManifests implements Manifests {
      * @return Link key.
      */
     private Key link(final ManifestRef ref) {
+        return new Key.From(this.root(), ref.link().string());
+    }
+
+    /**
+     * Create key of link from manifest list to platform manifest.
+     *
+     * @param list Manifest list digest.
+     * @param platform Platform.
+     * @return Link key.
+     */
+    private Key platformLink(final Digest list, final String platform) {
+        return new Key.From(this.revision(list), "platforms", platform, AstoManifests.LINK_NAME);
+    }
+
+    /**
+     * Create key of manifest metadata record.
+     *
+     * @param digest Manifest digest.
+     * @return Record key.
+     */
+    private Key info(final Digest digest) {
+        return new Key.From(this.revision(digest), "info");
+    }
+
+    /**
+     * Create key of index of all manifest revisions referenced by tag.
+     *
+     * @param tag Tag.
+     * @return Index key.
+     */
+    private Key tagIndex(final Tag tag) {
+        return new Key.From(this.root(), AstoManifests.TAGS_NAME, tag.value(), "index");
+    }
+
+    /**
+     * Create key of manifest revision entry in index of tag revisions.
+     *
+     * @param tag Tag.
+     * @param digest Manifest digest.
+     * @return Index entry key.
+     */
+    private Key tagIndex(final Tag tag, final Digest digest) {
+        return new Key.From(
+            this.tagIndex(tag), digest.alg(), digest.hex(), AstoManifests.LINK_NAME
+        );
+    }
+
+    /**
+     * Create key of link from manifest revision to tag referencing it.
+     *
+     * @param digest Manifest digest.
+     * @param tag Tag.
+     * @return Link key.
+     */
+    private Key revisionTag(final Digest digest, final Tag tag) {
         return new Key.From(
-            RegistryRoot.V2, "repositories", this.name.value(),
-            "_manifests", ref.link().string()
+            this.revision(digest), AstoManifests.TAGS_NAME, tag.value(), AstoManifests.LINK_NAME
         );
     }
+
+    /**
+     * Create key of manifest revision.
+     *
+     * @param digest Manifest digest.
+     * @return Revision key.
+     */
+    private Key revision(final Digest digest) {
+        return new Key.From(this.root(), "revisions", digest.alg(), digest.hex());
+    }
+
+    /**
+     * Root key of repository manifests.
+     *
+     * @return Manifests key.
+     */
+    private Key root() {
+        return new Key.From(RegistryRoot.V2, "repositories", this.name.value(), "_manifests");
+    }
 }
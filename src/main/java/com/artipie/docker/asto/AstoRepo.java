@@ -30,6 +30,7 @@ import com.artipie.docker.Manifests;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.Uploads;
+import java.time.Duration;
 
 /**
  * Asto implementation of {@link Repo}.
@@ -54,6 +55,16 @@ public final class AstoRepo implements Repo {
      */
     private final BlobStore blobs;
 
+    /**
+     * Resolved manifest links.
+     */
+    private final LinkCache links;
+
+    /**
+     * Tags and repositories index.
+     */
+    private final SortedIndex index;
+
     /**
      * Ctor.
      *
@@ -62,8 +73,27 @@ public final class AstoRepo implements Repo {
      * @param name Repository name
      */
     public AstoRepo(final Storage asto, final BlobStore blobs, final RepoName name) {
+        this(asto, blobs, new LinkCache(Duration.ZERO), new SortedIndex(asto), name);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param asto Asto storage
+     * @param blobs Blobs storage.
+     * @param links Resolved manifest links.
+     * @param index Tags and repositories index.
+     * @param name Repository name
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    AstoRepo(
+        final Storage asto, final BlobStore blobs, final LinkCache links,
+        final SortedIndex index, final RepoName name
+    ) {
         this.asto = asto;
         this.blobs = blobs;
+        this.links = links;
+        this.index = index;
         this.name = name;
     }
 
@@ -74,7 +104,7 @@ public final class AstoRepo implements Repo {
 
     @Override
     public Manifests manifests() {
-        return new AstoManifests(this.asto, this.blobs, this.name);
+        return new AstoManifests(this.asto, this.blobs, this.links, this.index, this.name);
     }
 
     @Override
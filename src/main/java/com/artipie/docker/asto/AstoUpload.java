@@ -26,15 +26,28 @@ package com.artipie.docker.asto;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Digest;
+import com.artipie.docker.Layers;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.Upload;
+import com.artipie.docker.misc.Json;
+import com.artipie.docker.misc.ResumableSha256;
+import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import org.reactivestreams.Publisher;
 
 /**
  * Asto implementation of {@link Upload}.
+ * Every appended chunk of data is stored separately, see {@link UploadChunks}.
+ * Upload status is kept in a metadata record, see {@link UploadInfo},
+ * so it is known after single read from storage. SHA-256 of uploaded data is calculated
+ * while chunks are appended, so the digest is checked without reading the data again
+ * when upload is finished.
  *
  * @since 0.2
  */
@@ -56,6 +69,16 @@ public final class AstoUpload implements Upload {
     @SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
     private final String uuid;
 
+    /**
+     * Upload metadata record if already loaded.
+     */
+    private final Optional<UploadInfo> loaded;
+
+    /**
+     * Upload chunks.
+     */
+    private final UploadChunks chunks;
+
     /**
      * Ctor.
      *
@@ -64,9 +87,27 @@ public final class AstoUpload implements Upload {
      * @param uuid Upload UUID.
      */
     public AstoUpload(final Storage storage, final RepoName name, final String uuid) {
+        this(storage, name, uuid, Optional.empty());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param name Repository name.
+     * @param uuid Upload UUID.
+     * @param loaded Upload metadata record if already loaded.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    AstoUpload(final Storage storage, final RepoName name, final String uuid,
+        final Optional<UploadInfo> loaded) {
         this.storage = storage;
         this.name = name;
         this.uuid = uuid;
+        this.loaded = loaded;
+        this.chunks = new UploadChunks(
+            storage, new Key.From(new UploadKey(name, uuid), "chunks")
+        );
     }
 
     @Override
@@ -76,18 +117,28 @@ public final class AstoUpload implements Upload {
 
     @Override
     public CompletionStage<Void> start() {
-        return this.storage.save(this.data(), new Content.From(new byte[0]));
+        return this.storage.save(
+            new UploadInfoKey(this.name, this.uuid),
+            new Content.From(new UploadInfo(Instant.now()).bytes())
+        );
     }
 
     @Override
     public CompletionStage<Long> append(final Publisher<ByteBuffer> chunk) {
-        return this.storage.size(this.data()).thenCompose(
-            size -> {
-                if (size > 0) {
-                    throw new UnsupportedOperationException("Multiple chunks are not supported");
-                }
-                return this.storage.save(this.data(), new Content.From(chunk)).thenCompose(
-                    ignored -> this.storage.size(this.data()).thenApply(updated -> updated - 1)
+        return this.info().thenCompose(
+            info -> {
+                final ResumableSha256 hash = info.hash();
+                return this.chunks.save(
+                    info.size(),
+                    Flowable.fromPublisher(chunk).doOnNext(buf -> hash.update(buf.duplicate()))
+                ).thenCompose(
+                    bytes -> {
+                        final UploadInfo updated = info.appended(bytes, hash);
+                        return this.storage.save(
+                            new UploadInfoKey(this.name, this.uuid),
+                            new Content.From(updated.bytes())
+                        ).thenApply(nothing -> Math.max(updated.size() - 1, 0));
+                    }
                 );
             }
         );
@@ -95,12 +146,24 @@ public final class AstoUpload implements Upload {
 
     @Override
     public CompletionStage<Content> content() {
-        return this.storage.value(this.data());
+        return this.info().thenApply(info -> this.chunks.content(info.chunks()));
+    }
+
+    @Override
+    public CompletionStage<Blob> putTo(final Layers layers, final Digest digest) {
+        return this.info().thenApply(
+            info -> info.source(this.chunks, digest)
+        ).thenCompose(layers::put);
     }
 
     @Override
     public CompletionStage<Long> offset() {
-        return this.storage.size(this.data()).thenApply(size -> Math.max(size - 1, 0));
+        return this.info().thenApply(info -> Math.max(info.size() - 1, 0));
+    }
+
+    @Override
+    public CompletionStage<Long> size() {
+        return this.info().thenApply(UploadInfo::size);
     }
 
     @Override
@@ -124,11 +187,16 @@ public final class AstoUpload implements Upload {
     }
 
     /**
-     * Uploaded data key.
+     * Read upload metadata record.
      *
-     * @return Key.
+     * @return Metadata record.
      */
-    private Key data() {
-        return new Key.From(this.root(), "data");
+    private CompletionStage<UploadInfo> info() {
+        return this.loaded.<CompletionStage<UploadInfo>>map(CompletableFuture::completedFuture)
+            .orElseGet(
+                () -> this.storage.value(new UploadInfoKey(this.name, this.uuid))
+                    .thenCompose(content -> new Json(content).object())
+                    .thenApply(UploadInfo::new)
+            );
     }
 }
@@ -23,16 +23,22 @@
  */
 package com.artipie.docker.asto;
 
+import com.artipie.asto.Content;
 import com.artipie.asto.Storage;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.Upload;
 import com.artipie.docker.Uploads;
+import com.artipie.docker.misc.Json;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
 
 /**
  * Asto implementation of {@link Uploads}.
+ * Upload is found by reading its metadata record, which is then reused by the upload,
+ * so checking upload status costs single read from storage.
+ * Repository is marked when upload is started, so abandoned uploads are found
+ * without listing all repositories, see {@link AbandonedUploads}.
  *
  * @since 0.3
  * @todo #169:30min Add unit tests for `AstoUpload` class
@@ -66,21 +72,19 @@ public final class AstoUploads implements Uploads {
     public CompletionStage<Upload> start() {
         final String uuid = UUID.randomUUID().toString();
         final AstoUpload upload = new AstoUpload(this.asto, this.name, uuid);
-        return upload.start().thenApply(ignored -> upload);
+        return this.asto.save(new UploadingKey(this.name), new Content.From(new byte[0]))
+            .thenCompose(nothing -> upload.start())
+            .thenApply(ignored -> upload);
     }
 
     @Override
     public CompletionStage<Optional<Upload>> get(final String uuid) {
-        return this.asto.list(new UploadKey(this.name, uuid)).thenApply(
-            list -> {
-                final Optional<Upload> upload;
-                if (list.isEmpty()) {
-                    upload = Optional.empty();
-                } else {
-                    upload = Optional.of(new AstoUpload(this.asto, this.name, uuid));
-                }
-                return upload;
-            }
+        return new OptionalValue(this.asto, new UploadInfoKey(this.name, uuid)).read(
+            content -> new Json(content).object().thenApply(
+                json -> new AstoUpload(
+                    this.asto, this.name, uuid, Optional.of(new UploadInfo(json))
+                )
+            )
         );
     }
 }
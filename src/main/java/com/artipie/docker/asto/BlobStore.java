@@ -24,9 +24,10 @@
 
 package com.artipie.docker.asto;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
@@ -44,11 +45,18 @@ interface BlobStore {
     CompletionStage<Optional<Blob>> blob(Digest digest);
 
     /**
-     * Put data into blob store and calculate its digest.
-     * @param blob Data flow
-     * @param digest Digest of the data
-     * @return Future with digest
+     * Find absent blob among many.
+     * Checking stops as soon as absent blob is found.
+     * @param digests Blob digests
+     * @return First found absent blob digest, empty if all blobs exist
      */
-    CompletionStage<Blob> put(Content blob, Digest digest);
+    CompletionStage<Optional<Digest>> absent(Collection<Digest> digests);
+
+    /**
+     * Put data into blob store.
+     * @param source Blob source
+     * @return Future with added blob
+     */
+    CompletionStage<Blob> put(BlobSource source);
 }
 
@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.Digest;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * {@link BlobStore} which remembers sizes of existing blobs.
+ * <p>
+ * Blobs are content-addressed and never change once written, so a blob found
+ * in the origin store is kept in a bounded LRU cache together with its size.
+ * Cached blobs answer existence and size checks without storage round trips.
+ * Missing blobs are never cached, because they may be uploaded later.
+ * Digests of blobs found existing by batch checks are remembered as well,
+ * so repeated manifest validation does not check the same blobs again.
+ * Number of cache hits and misses is exposed as a hit rate metric.
+ * @since 0.4
+ */
+public final class CachedBlobs implements BlobStore {
+
+    /**
+     * Cache map load factor.
+     */
+    private static final float LOAD = 0.75f;
+
+    /**
+     * Origin blob store.
+     */
+    private final BlobStore origin;
+
+    /**
+     * Max number of cached blobs.
+     */
+    private final int capacity;
+
+    /**
+     * Cached blobs by digest string in access order.
+     */
+    private final Map<String, Blob> cache;
+
+    /**
+     * Digests of blobs known to exist in access order.
+     */
+    private final Map<String, Boolean> known;
+
+    /**
+     * Cache hits counter.
+     */
+    private final AtomicLong hit;
+
+    /**
+     * Cache misses counter.
+     */
+    private final AtomicLong miss;
+
+    /**
+     * Ctor.
+     * @param asto Storage
+     * @param capacity Max number of cached blobs
+     */
+    public CachedBlobs(final Storage asto, final int capacity) {
+        this(new AstoBlobs(asto), capacity);
+    }
+
+    /**
+     * Ctor.
+     * @param asto Storage
+     * @param staging Blob content staging policy, see {@link Staging}
+     * @param capacity Max number of cached blobs
+     */
+    public CachedBlobs(final Storage asto, final Staging staging, final int capacity) {
+        this(new AstoBlobs(asto, staging), capacity);
+    }
+
+    /**
+     * Ctor.
+     * @param hot Blob store with off-heap tier
+     * @param capacity Max number of cached blobs
+     */
+    public CachedBlobs(final HotBlobs hot, final int capacity) {
+        this((BlobStore) hot, capacity);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin blob store
+     * @param capacity Max number of cached blobs
+     */
+    CachedBlobs(final BlobStore origin, final int capacity) {
+        this.origin = origin;
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<>(capacity, CachedBlobs.LOAD, true);
+        this.known = new LinkedHashMap<>(capacity, CachedBlobs.LOAD, true);
+        this.hit = new AtomicLong();
+        this.miss = new AtomicLong();
+    }
+
+    @Override
+    public CompletionStage<Optional<Blob>> blob(final Digest digest) {
+        final CompletionStage<Optional<Blob>> res;
+        final Blob cached;
+        synchronized (this.cache) {
+            cached = this.cache.get(digest.string());
+        }
+        if (cached == null) {
+            this.miss.incrementAndGet();
+            res = this.origin.blob(digest).thenCompose(
+                found -> found.map(
+                    blob -> blob.size().thenApply(
+                        size -> {
+                            final Blob sized = new SizedBlob(blob, size);
+                            this.remember(digest.string(), sized);
+                            return Optional.of(sized);
+                        }
+                    )
+                ).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
+            );
+        } else {
+            this.hit.incrementAndGet();
+            res = CompletableFuture.completedFuture(Optional.of(cached));
+        }
+        return res;
+    }
+
+    @Override
+    public CompletionStage<Optional<Digest>> absent(final Collection<Digest> digests) {
+        final List<Digest> unknown;
+        synchronized (this.cache) {
+            unknown = digests.stream()
+                .filter(
+                    digest -> this.cache.get(digest.string()) == null
+                        && this.known.get(digest.string()) == null
+                )
+                .collect(Collectors.toList());
+        }
+        final CompletionStage<Optional<Digest>> res;
+        if (unknown.isEmpty()) {
+            res = CompletableFuture.completedFuture(Optional.empty());
+        } else {
+            res = this.origin.absent(unknown).thenApply(
+                absent -> {
+                    if (absent.isEmpty()) {
+                        unknown.forEach(digest -> this.exists(digest.string()));
+                    }
+                    return absent;
+                }
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletionStage<Blob> put(final BlobSource source) {
+        return this.origin.put(source).thenApply(
+            blob -> {
+                this.exists(blob.digest().string());
+                return blob;
+            }
+        );
+    }
+
+    /**
+     * Number of blob lookups answered from cache.
+     * @return Hits count
+     */
+    public long hits() {
+        return this.hit.get();
+    }
+
+    /**
+     * Number of blob lookups forwarded to origin store.
+     * @return Misses count
+     */
+    public long misses() {
+        return this.miss.get();
+    }
+
+    /**
+     * Put blob to cache, evicting least recently used blob above capacity.
+     * @param digest Blob digest string
+     * @param blob Blob with known size
+     */
+    private void remember(final String digest, final Blob blob) {
+        synchronized (this.cache) {
+            this.cache.put(digest, blob);
+            this.evict(this.cache);
+        }
+    }
+
+    /**
+     * Remember blob exists, evicting least recently checked digest above capacity.
+     * @param digest Blob digest string
+     */
+    private void exists(final String digest) {
+        synchronized (this.cache) {
+            this.known.put(digest, true);
+            this.evict(this.known);
+        }
+    }
+
+    /**
+     * Evict least recently used entry above capacity.
+     * Should be called holding cache lock.
+     * @param map Map in access order
+     */
+    private void evict(final Map<String, ?> map) {
+        if (map.size() > this.capacity) {
+            final Iterator<String> eldest = map.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Blob with known size.
+     * @since 0.4
+     */
+    private static final class SizedBlob implements Blob {
+
+        /**
+         * Origin blob.
+         */
+        private final Blob origin;
+
+        /**
+         * Blob size.
+         */
+        private final long bytes;
+
+        /**
+         * Ctor.
+         * @param origin Origin blob
+         * @param bytes Blob size
+         */
+        SizedBlob(final Blob origin, final long bytes) {
+            this.origin = origin;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public Digest digest() {
+            return this.origin.digest();
+        }
+
+        @Override
+        public CompletionStage<Long> size() {
+            return CompletableFuture.completedFuture(this.bytes);
+        }
+
+        @Override
+        public CompletionStage<Content> content() {
+            return this.origin.content();
+        }
+    }
+}
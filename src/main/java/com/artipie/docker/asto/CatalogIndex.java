@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.RepoName;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Sorted index of repository names in registry.
+ * <p>
+ * Repository is added to index when manifest is pushed into it.
+ * Added repository is marked, so following pushes check the mark only
+ * instead of reading the index.
+ * If index is absent, it is built once by listing all repositories.
+ * @since 0.4
+ */
+final class CatalogIndex {
+
+    /**
+     * Index key.
+     */
+    private static final Key KEY = new Key.From(RegistryRoot.V2, "_catalog");
+
+    /**
+     * Repositories key.
+     */
+    private static final Key REPOS = new Key.From(RegistryRoot.V2, "repositories");
+
+    /**
+     * Manifest key pattern.
+     */
+    private static final Pattern MANIFEST = Pattern.compile(
+        ".*?/repositories/(.+?)/_manifests/.*"
+    );
+
+    /**
+     * Storage.
+     */
+    private final Storage asto;
+
+    /**
+     * Sorted index.
+     */
+    private final SortedIndex index;
+
+    /**
+     * Ctor.
+     * @param asto Storage
+     * @param index Sorted index
+     */
+    CatalogIndex(final Storage asto, final SortedIndex index) {
+        this.asto = asto;
+        this.index = index;
+    }
+
+    /**
+     * Add repository to index unless it is marked as added.
+     * @param name Repository name
+     * @return Completion of index update
+     */
+    CompletionStage<Void> add(final RepoName name) {
+        final Key mark = new Key.From(CatalogIndex.REPOS, name.value(), "_listed");
+        return this.asto.exists(mark).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = CompletableFuture.allOf();
+                } else {
+                    res = this.index.add(
+                        CatalogIndex.KEY, name.value(), CatalogIndex::repositories
+                    ).thenCompose(nothing -> this.asto.save(mark, new Content.From(new byte[0])));
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * List repositories.
+     * @param from Repository to start listing after, from the first one if empty
+     * @param limit Max number of repositories
+     * @return Repository names in alphabetical order
+     */
+    CompletionStage<List<String>> list(final Optional<RepoName> from, final int limit) {
+        return this.index.list(
+            CatalogIndex.KEY, from.map(RepoName::value), limit, CatalogIndex::repositories
+        );
+    }
+
+    /**
+     * Read sorted names of repositories with manifests from storage.
+     * @param asto Storage
+     * @return Repository names in alphabetical order
+     */
+    private static CompletionStage<List<String>> repositories(final Storage asto) {
+        return asto.list(CatalogIndex.REPOS).thenApply(
+            keys -> keys.stream()
+                .map(key -> CatalogIndex.MANIFEST.matcher(key.string()))
+                .filter(Matcher::matches)
+                .map(matcher -> matcher.group(1))
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList())
+        );
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.Digest;
+import com.artipie.docker.error.InvalidDigestException;
+import com.artipie.docker.misc.DigestedFlowable;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * BlobSource which content is checked against digest on saving.
+ * <p>
+ * Digest is calculated while content is being saved, so the content is read only once.
+ * If calculated digest does not match expected one the content stream fails with
+ * {@link InvalidDigestException} before it is completed. Content is saved by blob store
+ * through {@link Staging} policy, which keeps content only if the stream completed,
+ * so neither mismatched nor truncated content is ever visible as the blob.
+ * If blob already exists the content is only read to check the digest and is not saved again.
+ * </p>
+ *
+ * @since 0.4
+ */
+public final class CheckedBlobSource implements BlobSource {
+
+    /**
+     * Blob content.
+     */
+    private final Content content;
+
+    /**
+     * Blob digest.
+     */
+    private final Digest dig;
+
+    /**
+     * Ctor.
+     *
+     * @param content Blob content.
+     * @param dig Blob digest.
+     */
+    public CheckedBlobSource(final Content content, final Digest dig) {
+        this.content = content;
+        this.dig = dig;
+    }
+
+    @Override
+    public Digest digest() {
+        return this.dig;
+    }
+
+    @Override
+    public CompletionStage<Void> saveTo(final Storage storage, final Key key) {
+        final DigestedFlowable digested = new DigestedFlowable(this.content);
+        final Flowable<ByteBuffer> checked = Flowable.fromPublisher(digested).concatWith(
+            Completable.fromAction(
+                () -> {
+                    final Digest calculated = digested.digest();
+                    if (!calculated.string().equals(this.dig.string())) {
+                        throw new InvalidDigestException(
+                            String.format(
+                                "Digest does not match: expected %s, calculated %s",
+                                this.dig.string(),
+                                calculated.string()
+                            )
+                        );
+                    }
+                }
+            )
+        );
+        return storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = checked.ignoreElements().to(CompletableInterop.await());
+                } else {
+                    res = storage.save(key, new Content.From(this.content.size(), checked));
+                }
+                return res;
+            }
+        );
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+/**
+ * Approximate access frequency of keys.
+ * <p>
+ * Count-min sketch with small saturating counters. All counters are halved
+ * periodically, so old popularity fades and recent accesses win.
+ * The sketch is not thread safe, callers synchronize access to it.
+ * @since 0.4
+ */
+final class FrequencySketch {
+
+    /**
+     * Hash seeds, one per sketch row.
+     */
+    private static final int[] SEEDS = {
+        0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F,
+    };
+
+    /**
+     * Shift of hash high bits mixed into low bits.
+     */
+    private static final int SHIFT = 16;
+
+    /**
+     * Max counter value.
+     */
+    private static final int MAX = 15;
+
+    /**
+     * Counters, one row per seed.
+     */
+    private final int[][] table;
+
+    /**
+     * Row index mask.
+     */
+    private final int mask;
+
+    /**
+     * Number of increments between counters halving.
+     */
+    private final int period;
+
+    /**
+     * Number of increments since last halving.
+     */
+    private int additions;
+
+    /**
+     * Ctor.
+     * @param width Number of counters per row, power of two
+     */
+    FrequencySketch(final int width) {
+        this.table = new int[FrequencySketch.SEEDS.length][width];
+        this.mask = width - 1;
+        this.period = width * FrequencySketch.MAX;
+    }
+
+    /**
+     * Record key access.
+     * @param key Key
+     */
+    void increment(final String key) {
+        final int hash = key.hashCode();
+        for (int row = 0; row < this.table.length; ++row) {
+            final int idx = this.index(hash, row);
+            if (this.table[row][idx] < FrequencySketch.MAX) {
+                this.table[row][idx] += 1;
+            }
+        }
+        this.additions += 1;
+        if (this.additions >= this.period) {
+            for (final int[] counters : this.table) {
+                for (int idx = 0; idx < counters.length; ++idx) {
+                    counters[idx] >>>= 1;
+                }
+            }
+            this.additions = 0;
+        }
+    }
+
+    /**
+     * Estimate key access frequency.
+     * @param key Key
+     * @return Estimated number of recent accesses
+     */
+    int frequency(final String key) {
+        final int hash = key.hashCode();
+        int min = FrequencySketch.MAX;
+        for (int row = 0; row < this.table.length; ++row) {
+            min = Math.min(min, this.table[row][this.index(hash, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Counter index of hash in row.
+     * @param hash Key hash
+     * @param row Sketch row
+     * @return Counter index
+     */
+    private int index(final int hash, final int row) {
+        final int mixed = hash * FrequencySketch.SEEDS[row];
+        return (mixed ^ mixed >>> FrequencySketch.SHIFT) & this.mask;
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.Digest;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * {@link BlobStore} keeping small frequently read blobs in off-heap memory.
+ * <p>
+ * Blob content is cached in direct buffers within byte budget. Blobs larger
+ * than per-entry size cap are never cached. Eviction is frequency based:
+ * a blob replaces cached ones only if it is read more often.
+ * </p>
+ * <p>
+ * Blob is loaded to memory while its origin content is streamed to the first
+ * client, other clients reading the same blob wait for this load instead of
+ * reading the origin again. Buffer is allocated only after cache reserved
+ * space for the blob.
+ * </p>
+ * @since 0.4
+ */
+public final class HotBlobs implements BlobStore {
+
+    /**
+     * Origin blob store.
+     */
+    private final BlobStore origin;
+
+    /**
+     * Cached blobs content.
+     */
+    private final OffHeapCache cache;
+
+    /**
+     * Blobs being loaded to cache by digest.
+     */
+    private final ConcurrentMap<String, CompletableFuture<ByteBuffer>> loads;
+
+    /**
+     * Ctor.
+     * @param asto Storage
+     * @param budget Max total size of cached blobs in bytes
+     * @param cap Max size of single cached blob in bytes
+     */
+    public HotBlobs(final Storage asto, final long budget, final long cap) {
+        this(new AstoBlobs(asto), budget, cap);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin blob store
+     * @param budget Max total size of cached blobs in bytes
+     * @param cap Max size of single cached blob in bytes
+     */
+    HotBlobs(final BlobStore origin, final long budget, final long cap) {
+        this.origin = origin;
+        this.cache = new OffHeapCache(budget, cap);
+        this.loads = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public CompletionStage<Optional<Blob>> blob(final Digest digest) {
+        return this.origin.blob(digest).thenApply(
+            found -> found.map(blob -> new HotBlob(blob, this.cache, this.loads))
+        );
+    }
+
+    @Override
+    public CompletionStage<Optional<Digest>> absent(final Collection<Digest> digests) {
+        return this.origin.absent(digests);
+    }
+
+    @Override
+    public CompletionStage<Blob> put(final BlobSource source) {
+        return this.origin.put(source).thenApply(
+            blob -> new HotBlob(blob, this.cache, this.loads)
+        );
+    }
+
+    /**
+     * Blob reading content from off-heap cache if possible.
+     * @since 0.4
+     */
+    private static final class HotBlob implements Blob {
+
+        /**
+         * Origin blob.
+         */
+        private final Blob origin;
+
+        /**
+         * Cached blobs content.
+         */
+        private final OffHeapCache cache;
+
+        /**
+         * Blobs being loaded to cache by digest.
+         */
+        private final ConcurrentMap<String, CompletableFuture<ByteBuffer>> loads;
+
+        /**
+         * Ctor.
+         * @param origin Origin blob
+         * @param cache Cached blobs content
+         * @param loads Blobs being loaded to cache by digest
+         */
+        HotBlob(
+            final Blob origin,
+            final OffHeapCache cache,
+            final ConcurrentMap<String, CompletableFuture<ByteBuffer>> loads
+        ) {
+            this.origin = origin;
+            this.cache = cache;
+            this.loads = loads;
+        }
+
+        @Override
+        public Digest digest() {
+            return this.origin.digest();
+        }
+
+        @Override
+        public CompletionStage<Long> size() {
+            return this.origin.size();
+        }
+
+        @Override
+        public CompletionStage<Content> content() {
+            final String key = this.origin.digest().string();
+            return this.cache.get(key).<CompletionStage<Content>>map(
+                data -> CompletableFuture.completedFuture(HotBlob.memory(data))
+            ).orElseGet(
+                () -> Optional.ofNullable(this.loads.get(key)).map(this::follow).orElseGet(
+                    () -> this.origin.size().thenCompose(
+                        size -> {
+                            final CompletionStage<Content> res;
+                            if (this.cache.admits(key, size)) {
+                                res = this.load(key, size);
+                            } else {
+                                res = this.origin.content();
+                            }
+                            return res;
+                        }
+                    )
+                )
+            );
+        }
+
+        /**
+         * Start loading blob to cache or join load already in progress.
+         * @param key Cache key
+         * @param size Blob size
+         * @return Content streamed from origin or read from memory
+         */
+        private CompletionStage<Content> load(final String key, final long size) {
+            final CompletableFuture<ByteBuffer> loaded = new CompletableFuture<>();
+            final CompletableFuture<ByteBuffer> running = this.loads.putIfAbsent(key, loaded);
+            final CompletionStage<Content> res;
+            if (running == null) {
+                res = this.cache.reserve(key, size).map(data -> this.fill(key, data, loaded))
+                    .orElseGet(
+                        () -> {
+                            this.loads.remove(key, loaded);
+                            loaded.completeExceptionally(
+                                new IllegalStateException("Blob is not admitted to cache")
+                            );
+                            return this.origin.content();
+                        }
+                    );
+            } else {
+                res = this.follow(running);
+            }
+            return res;
+        }
+
+        /**
+         * Stream origin content, copying it to reserved buffer as it is read.
+         * When content is read completely, buffer is put to cache and passed to
+         * clients waiting for this load. If reading fails or is cancelled, buffer
+         * is released and waiting clients read origin content.
+         * @param key Cache key
+         * @param data Reserved buffer
+         * @param loaded Load result
+         * @return Origin content
+         */
+        private CompletionStage<Content> fill(
+            final String key, final ByteBuffer data, final CompletableFuture<ByteBuffer> loaded
+        ) {
+            final Runnable abort = () -> {
+                if (loaded.completeExceptionally(
+                    new IllegalStateException("Blob loading is aborted")
+                )) {
+                    this.loads.remove(key, loaded);
+                    this.cache.release(data);
+                }
+            };
+            return this.origin.content().whenComplete(
+                (content, error) -> {
+                    if (error != null) {
+                        abort.run();
+                    }
+                }
+            ).thenApply(
+                content -> new Content.From(
+                    (long) data.capacity(),
+                    Flowable.fromPublisher(content)
+                        .doOnNext(chunk -> data.put(chunk.duplicate()))
+                        .doOnComplete(
+                            () -> {
+                                if (data.hasRemaining()) {
+                                    abort.run();
+                                } else {
+                                    data.flip();
+                                    if (loaded.complete(data.asReadOnlyBuffer())) {
+                                        this.cache.commit(key, data);
+                                        this.loads.remove(key, loaded);
+                                    }
+                                }
+                            }
+                        )
+                        .doOnError(error -> abort.run())
+                        .doOnCancel(abort::run)
+                )
+            );
+        }
+
+        /**
+         * Wait for blob load in progress and read loaded content from memory,
+         * or read origin content if the load failed.
+         * @param running Load in progress
+         * @return Blob content
+         */
+        private CompletionStage<Content> follow(final CompletableFuture<ByteBuffer> running) {
+            return running.handle(
+                (data, error) -> {
+                    final CompletionStage<Content> res;
+                    if (error == null) {
+                        res = CompletableFuture.completedFuture(HotBlob.memory(data));
+                    } else {
+                        res = this.origin.content();
+                    }
+                    return res;
+                }
+            ).thenCompose(Function.identity());
+        }
+
+        /**
+         * Content read from memory.
+         * @param data Read-only buffer with blob data
+         * @return Content
+         */
+        private static Content memory(final ByteBuffer data) {
+            return new Content.From((long) data.remaining(), Flowable.just(data.duplicate()));
+        }
+    }
+}
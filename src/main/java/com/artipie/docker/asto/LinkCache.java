@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.docker.Digest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache of manifest links resolved to digests.
+ * <p>
+ * Links by digest never change once written, but may be deleted with manifest
+ * revision. The deleting node evicts them, other nodes see the deletion after
+ * time-to-live of stable links, which is usually longer than time-to-live of tag links.
+ * Links by tag are changed by manifest push: the pushing node updates the cache
+ * when writing a link, and other nodes see the new tag after time-to-live
+ * of cached tag link expires. Cache is bounded by number of links, least
+ * recently used links are evicted first.
+ * @since 0.4
+ */
+final class LinkCache {
+
+    /**
+     * Default max number of cached links.
+     */
+    private static final int CAPACITY = 10_000;
+
+    /**
+     * Cache map load factor.
+     */
+    private static final float LOAD = 0.75f;
+
+    /**
+     * Time-to-live of tag links.
+     */
+    private final Duration ttl;
+
+    /**
+     * Time-to-live of stable links.
+     */
+    private final Duration durable;
+
+    /**
+     * Max number of cached links.
+     */
+    private final int capacity;
+
+    /**
+     * Clock.
+     */
+    private final Clock clock;
+
+    /**
+     * Cached links by link key string in access order.
+     */
+    private final Map<String, Link> links;
+
+    /**
+     * Ctor.
+     * @param ttl Time-to-live of all links, zero disables caching
+     */
+    LinkCache(final Duration ttl) {
+        this(ttl, ttl);
+    }
+
+    /**
+     * Ctor.
+     * @param ttl Time-to-live of tag links
+     * @param durable Time-to-live of stable links
+     */
+    LinkCache(final Duration ttl, final Duration durable) {
+        this(ttl, durable, LinkCache.CAPACITY, Clock.systemUTC());
+    }
+
+    /**
+     * Ctor.
+     * @param ttl Time-to-live of tag links
+     * @param durable Time-to-live of stable links
+     * @param capacity Max number of cached links
+     * @param clock Clock
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    LinkCache(
+        final Duration ttl, final Duration durable, final int capacity, final Clock clock
+    ) {
+        this.ttl = ttl;
+        this.durable = durable;
+        this.capacity = capacity;
+        this.clock = clock;
+        this.links = new LinkedHashMap<>(capacity, LinkCache.LOAD, true);
+    }
+
+    /**
+     * Find digest of cached link.
+     * @param key Link key
+     * @return Digest, empty if link is not cached or expired
+     */
+    Optional<Digest> find(final Key key) {
+        synchronized (this.links) {
+            final Link link = this.links.get(key.string());
+            Optional<Digest> res = Optional.empty();
+            if (link != null) {
+                if (link.expires.isAfter(this.clock.instant())) {
+                    res = Optional.of(link.digest);
+                } else {
+                    this.links.remove(key.string());
+                }
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Cache link which never changes but may be deleted,
+     * until time-to-live of stable links expires.
+     * @param key Link key
+     * @param digest Link digest
+     */
+    void stable(final Key key, final Digest digest) {
+        this.put(key, new Link(digest, this.clock.instant().plus(this.durable)));
+    }
+
+    /**
+     * Cache link which may change, until its time-to-live expires.
+     * @param key Link key
+     * @param digest Link digest
+     */
+    void expiring(final Key key, final Digest digest) {
+        this.put(key, new Link(digest, this.clock.instant().plus(this.ttl)));
+    }
+
+    /**
+     * Remove link from cache.
+     * @param key Link key
+     */
+    void invalidate(final Key key) {
+        synchronized (this.links) {
+            this.links.remove(key.string());
+        }
+    }
+
+    /**
+     * Put link to cache, evicting least recently used link above capacity.
+     * @param key Link key
+     * @param link Cached link
+     */
+    private void put(final Key key, final Link link) {
+        synchronized (this.links) {
+            this.links.put(key.string(), link);
+            if (this.links.size() > this.capacity) {
+                final Iterator<String> eldest = this.links.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Cached link.
+     * @since 0.4
+     */
+    private static final class Link {
+
+        /**
+         * Link digest.
+         */
+        private final Digest digest;
+
+        /**
+         * Expiration time.
+         */
+        private final Instant expires;
+
+        /**
+         * Ctor.
+         * @param digest Link digest
+         * @param expires Expiration time
+         */
+        Link(final Digest digest, final Instant expires) {
+            this.digest = digest;
+            this.expires = expires;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.docker.Digest;
+import com.artipie.docker.manifest.JsonManifest;
+import com.artipie.docker.manifest.Manifest;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import javax.json.JsonObject;
+
+/**
+ * Metadata record of stored manifest.
+ * <p>
+ * Record keeps manifest digest, media type and size, so manifest headers are known
+ * after reading single small item from storage, without reading and parsing manifest body.
+ * Record is saved after manifest is validated and linked.
+ * </p>
+ *
+ * @since 0.4
+ */
+final class ManifestInfo {
+
+    /**
+     * Digest field.
+     */
+    private static final String FIELD_DIGEST = "digest";
+
+    /**
+     * Media type field.
+     */
+    private static final String FIELD_TYPE = "mediaType";
+
+    /**
+     * Size field.
+     */
+    private static final String FIELD_SIZE = "size";
+
+    /**
+     * Record JSON.
+     */
+    private final JsonObject json;
+
+    /**
+     * Ctor.
+     *
+     * @param digest Manifest digest.
+     * @param type Manifest media type.
+     * @param size Manifest size in bytes.
+     */
+    ManifestInfo(final Digest digest, final String type, final long size) {
+        this(
+            javax.json.Json.createObjectBuilder()
+                .add(ManifestInfo.FIELD_DIGEST, digest.string())
+                .add(ManifestInfo.FIELD_TYPE, type)
+                .add(ManifestInfo.FIELD_SIZE, size)
+                .build()
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param json Record JSON.
+     */
+    ManifestInfo(final JsonObject json) {
+        this.json = json;
+    }
+
+    /**
+     * Manifest digest.
+     *
+     * @return Digest.
+     */
+    public Digest digest() {
+        return new Digest.FromString(this.json.getString(ManifestInfo.FIELD_DIGEST));
+    }
+
+    /**
+     * Manifest media type.
+     *
+     * @return Media type.
+     */
+    public String mediaType() {
+        return this.json.getString(ManifestInfo.FIELD_TYPE);
+    }
+
+    /**
+     * Manifest size.
+     *
+     * @return Number of bytes.
+     */
+    public long size() {
+        return this.json.getJsonNumber(ManifestInfo.FIELD_SIZE).longValue();
+    }
+
+    /**
+     * Manifest described by this record.
+     * Media type and size are known from record, while content is read from blob store
+     * by every subscriber, so it might be consumed many times.
+     *
+     * @param blobs Blob store keeping manifest content.
+     * @return Manifest.
+     */
+    public Manifest manifest(final BlobStore blobs) {
+        final Digest digest = this.digest();
+        return new JsonManifest(
+            digest,
+            new Content.From(
+                Optional.of(this.size()),
+                Flowable.defer(
+                    () -> SingleInterop.fromFuture(
+                        blobs.blob(digest).thenCompose(
+                            blob -> blob.orElseThrow(
+                                () -> new IllegalStateException(
+                                    String.format(
+                                        "Manifest blob does not exist: %s", digest.string()
+                                    )
+                                )
+                            ).content()
+                        )
+                    ).flatMapPublisher(content -> content)
+                )
+            ),
+            this.mediaType()
+        );
+    }
+
+    /**
+     * Record as bytes.
+     *
+     * @return Bytes.
+     */
+    public byte[] bytes() {
+        return this.json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
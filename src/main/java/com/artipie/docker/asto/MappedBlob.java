@@ -0,0 +1,248 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Digest;
+import io.reactivex.Emitter;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Blob stored in local file, served from memory mapped file regions.
+ * <p>
+ * Content buffers are read-only views of the file mapping, so blob bytes
+ * are not copied to heap buffers before they are sent to the client.
+ * File regions are mapped one by one as content chunks are requested, so
+ * only regions being sent are mapped and a slow client does not hold
+ * mappings of the whole file. Blocking file operations run on dedicated
+ * I/O executor, not on the common pool.
+ * </p>
+ * @since 0.4
+ */
+final class MappedBlob implements Blob {
+
+    /**
+     * Default executor for blocking file operations.
+     */
+    private static final Executor IO = Executors.newCachedThreadPool(
+        runnable -> {
+            final Thread thread = new Thread(runnable, "docker-mapped-blob");
+            thread.setDaemon(true);
+            return thread;
+        }
+    );
+
+    /**
+     * Default size of single file mapping.
+     */
+    private static final long REGION = 67_108_864L;
+
+    /**
+     * Size of content buffer.
+     */
+    private static final int CHUNK = 1_048_576;
+
+    /**
+     * Blob file.
+     */
+    private final Path file;
+
+    /**
+     * Blob digest.
+     */
+    private final Digest dig;
+
+    /**
+     * Executor for blocking file operations.
+     */
+    private final Executor exec;
+
+    /**
+     * Size of single file mapping.
+     */
+    private final long region;
+
+    /**
+     * Ctor.
+     * @param file Blob file
+     * @param digest Blob digest
+     */
+    MappedBlob(final Path file, final Digest digest) {
+        this(file, digest, MappedBlob.IO, MappedBlob.REGION);
+    }
+
+    /**
+     * Ctor.
+     * @param file Blob file
+     * @param digest Blob digest
+     * @param exec Executor for blocking file operations
+     * @param region Size of single file mapping
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    MappedBlob(final Path file, final Digest digest, final Executor exec, final long region) {
+        this.file = file;
+        this.dig = digest;
+        this.exec = exec;
+        this.region = region;
+    }
+
+    @Override
+    public Digest digest() {
+        return this.dig;
+    }
+
+    @Override
+    public CompletionStage<Long> size() {
+        return CompletableFuture.supplyAsync(
+            () -> {
+                try {
+                    return Files.size(this.file);
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            },
+            this.exec
+        );
+    }
+
+    @Override
+    public CompletionStage<Content> content() {
+        return this.size().thenApply(
+            size -> new Content.From(
+                size,
+                Flowable.generate(
+                    () -> new Regions(
+                        FileChannel.open(this.file, StandardOpenOption.READ), size, this.region
+                    ),
+                    Regions::next,
+                    Regions::close
+                ).subscribeOn(Schedulers.from(this.exec))
+            )
+        );
+    }
+
+    /**
+     * File regions mapped while content is read.
+     * Each region is mapped when first chunk in it is requested,
+     * previous region is not referenced after that and its mapping
+     * is released when chunk buffers sent from it are collected.
+     *
+     * @since 0.4
+     */
+    private static final class Regions {
+
+        /**
+         * File channel.
+         */
+        private final FileChannel chan;
+
+        /**
+         * File size.
+         */
+        private final long size;
+
+        /**
+         * Size of single file mapping.
+         */
+        private final long limit;
+
+        /**
+         * Current region.
+         */
+        private ByteBuffer current;
+
+        /**
+         * File position of current region start.
+         */
+        private long start;
+
+        /**
+         * File position of next chunk.
+         */
+        private long pos;
+
+        /**
+         * Ctor.
+         * @param chan File channel
+         * @param size File size
+         * @param limit Size of single file mapping
+         */
+        Regions(final FileChannel chan, final long size, final long limit) {
+            this.chan = chan;
+            this.size = size;
+            this.limit = limit;
+            this.current = ByteBuffer.allocate(0);
+        }
+
+        /**
+         * Emit next chunk, mapping next region if required.
+         * @param emitter Chunks emitter
+         */
+        void next(final Emitter<ByteBuffer> emitter) {
+            if (this.pos < this.size) {
+                try {
+                    if (this.pos >= this.start + this.current.limit()) {
+                        this.start = this.pos;
+                        this.current = this.chan.map(
+                            FileChannel.MapMode.READ_ONLY,
+                            this.pos,
+                            Math.min(this.limit, this.size - this.pos)
+                        );
+                    }
+                    final int off = (int) (this.pos - this.start);
+                    final ByteBuffer chunk = this.current.duplicate();
+                    chunk.position(off);
+                    chunk.limit(Math.min(off + MappedBlob.CHUNK, this.current.limit()));
+                    this.pos += chunk.remaining();
+                    emitter.onNext(chunk.slice());
+                } catch (final IOException ex) {
+                    emitter.onError(ex);
+                }
+            } else {
+                emitter.onComplete();
+            }
+        }
+
+        /**
+         * Close file channel.
+         * @throws IOException If failed to close
+         */
+        void close() throws IOException {
+            this.chan.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.Digest;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link BlobStore} over file storage, which serves blobs from mapped files.
+ * <p>
+ * Blobs are written and checked for existence by origin store, but their
+ * size and content are read directly from blob files under storage root.
+ * @since 0.4
+ */
+final class MappedBlobs implements BlobStore {
+
+    /**
+     * Origin blob store.
+     */
+    private final BlobStore origin;
+
+    /**
+     * Root directory of file storage.
+     */
+    private final Path root;
+
+    /**
+     * Ctor.
+     * @param origin Origin blob store over file storage
+     * @param root Root directory of file storage
+     */
+    MappedBlobs(final BlobStore origin, final Path root) {
+        this.origin = origin;
+        this.root = root;
+    }
+
+    @Override
+    public CompletionStage<Optional<Blob>> blob(final Digest digest) {
+        return this.origin.blob(digest).thenApply(
+            found -> found.map(blob -> this.mapped(digest))
+        );
+    }
+
+    @Override
+    public CompletionStage<Optional<Digest>> absent(final Collection<Digest> digests) {
+        return this.origin.absent(digests);
+    }
+
+    @Override
+    public CompletionStage<Blob> put(final BlobSource source) {
+        return this.origin.put(source).thenApply(blob -> this.mapped(blob.digest()));
+    }
+
+    /**
+     * Create mapped blob.
+     * @param digest Blob digest
+     * @return Blob read from file
+     */
+    private Blob mapped(final Digest digest) {
+        return new MappedBlob(this.root.resolve(new BlobKey(digest).string()), digest);
+    }
+}
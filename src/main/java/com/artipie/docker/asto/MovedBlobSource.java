@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.Digest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * BlobSource which content is already stored in the same storage
+ * and is moved to blob location.
+ * <p>
+ * Content is not read by file storage, it renames the file,
+ * so finishing the upload takes constant time regardless of blob size.
+ * S3 storage has no rename, so it should be used with {@link Staging.Streamed} policy,
+ * which streams content to blob location.
+ * Content is trusted and does not require digest validation.
+ * Source value is complete before it is moved and move replaces the destination
+ * as a whole, so existing blob is always complete: if it exists the content is left in place.
+ * </p>
+ *
+ * @since 0.4
+ */
+public final class MovedBlobSource implements BlobSource {
+
+    /**
+     * Key of stored content.
+     */
+    private final Key source;
+
+    /**
+     * Blob digest.
+     */
+    private final Digest dig;
+
+    /**
+     * Ctor.
+     *
+     * @param source Key of stored content.
+     * @param dig Blob digest.
+     */
+    public MovedBlobSource(final Key source, final Digest dig) {
+        this.source = source;
+        this.dig = dig;
+    }
+
+    @Override
+    public Digest digest() {
+        return this.dig;
+    }
+
+    @Override
+    public CompletionStage<Void> saveTo(final Storage storage, final Key key) {
+        return storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Void> res;
+                if (exists) {
+                    res = CompletableFuture.allOf();
+                } else {
+                    res = storage.move(this.source, key);
+                }
+                return res;
+            }
+        );
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Off-heap cache of small byte buffers with a byte budget.
+ * <p>
+ * Entries are kept in direct buffers outside of Java heap. New entry is
+ * admitted only if it was accessed more often than least recently used
+ * entries it would evict, as in TinyLFU admission policy. Space for new entry
+ * is reserved before its buffer is allocated, so buffers are allocated only for
+ * admitted entries and reserved buffers never exceed the budget.
+ * @since 0.4
+ */
+final class OffHeapCache {
+
+    /**
+     * Cache map load factor.
+     */
+    private static final float LOAD = 0.75f;
+
+    /**
+     * Width of frequency sketch.
+     */
+    private static final int WIDTH = 4096;
+
+    /**
+     * Max total size of cached entries in bytes.
+     */
+    private final long budget;
+
+    /**
+     * Max size of single entry in bytes.
+     */
+    private final long cap;
+
+    /**
+     * Access frequencies of keys.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Cached entries in access order.
+     */
+    private final Map<String, ByteBuffer> entries;
+
+    /**
+     * Total size of cached entries in bytes.
+     */
+    private long used;
+
+    /**
+     * Ctor.
+     * @param budget Max total size of cached entries in bytes
+     * @param cap Max size of single entry in bytes
+     */
+    OffHeapCache(final long budget, final long cap) {
+        this.budget = budget;
+        this.cap = cap;
+        this.sketch = new FrequencySketch(OffHeapCache.WIDTH);
+        this.entries = new LinkedHashMap<>(OffHeapCache.WIDTH, OffHeapCache.LOAD, true);
+    }
+
+    /**
+     * Record key access and find cached entry.
+     * @param key Entry key
+     * @return Read-only view of cached entry, empty if not cached
+     */
+    Optional<ByteBuffer> get(final String key) {
+        synchronized (this.entries) {
+            this.sketch.increment(key);
+            return Optional.ofNullable(this.entries.get(key))
+                .map(ByteBuffer::asReadOnlyBuffer);
+        }
+    }
+
+    /**
+     * Check if entry of given size would be admitted to cache.
+     * @param key Entry key
+     * @param size Entry size in bytes
+     * @return True if entry should be loaded and put to cache
+     */
+    boolean admits(final String key, final long size) {
+        synchronized (this.entries) {
+            return this.admitted(key, size);
+        }
+    }
+
+    /**
+     * Reserve space for entry, evicting least recently used entries if needed,
+     * and allocate direct buffer for it. Buffer is allocated only if entry is
+     * admitted and not cached yet. Reserved buffer should be either filled and
+     * committed or released.
+     * @param key Entry key
+     * @param size Entry size in bytes
+     * @return Direct buffer for entry data, empty if entry is not admitted
+     */
+    Optional<ByteBuffer> reserve(final String key, final long size) {
+        synchronized (this.entries) {
+            final Optional<ByteBuffer> res;
+            if (!this.entries.containsKey(key) && this.admitted(key, size)) {
+                final Iterator<ByteBuffer> victims = this.entries.values().iterator();
+                while (this.budget - this.used < size) {
+                    this.used -= victims.next().capacity();
+                    victims.remove();
+                }
+                this.used += size;
+                res = Optional.of(ByteBuffer.allocateDirect((int) size));
+            } else {
+                res = Optional.empty();
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Put filled reserved buffer to cache.
+     * @param key Entry key
+     * @param data Reserved buffer with entry data
+     */
+    void commit(final String key, final ByteBuffer data) {
+        synchronized (this.entries) {
+            final ByteBuffer prev = this.entries.put(key, data);
+            if (prev != null) {
+                this.used -= prev.capacity();
+            }
+        }
+    }
+
+    /**
+     * Release reserved buffer which will not be put to cache.
+     * @param data Reserved buffer
+     */
+    void release(final ByteBuffer data) {
+        synchronized (this.entries) {
+            this.used -= data.capacity();
+        }
+    }
+
+    /**
+     * Check if entry would be admitted, while holding the lock.
+     * @param key Entry key
+     * @param size Entry size in bytes
+     * @return True if entry is admitted
+     */
+    private boolean admitted(final String key, final long size) {
+        boolean admit = size <= this.cap && size <= this.budget;
+        if (admit) {
+            final int freq = this.sketch.frequency(key);
+            long free = this.budget - this.used;
+            final Iterator<Map.Entry<String, ByteBuffer>> victims =
+                this.entries.entrySet().iterator();
+            while (admit && free < size) {
+                admit = victims.hasNext();
+                if (admit) {
+                    final Map.Entry<String, ByteBuffer> victim = victims.next();
+                    admit = freq > this.sketch.frequency(victim.getKey());
+                    free += victim.getValue().capacity();
+                }
+            }
+        }
+        return admit;
+    }
+}
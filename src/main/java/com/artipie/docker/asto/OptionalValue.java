@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Value of storage item which may be absent.
+ * <p>
+ * Value is read without checking it exists, so reading present value
+ * costs single request to storage. Storage reports absent value by failure
+ * of its own type, so existence is checked only if reading fails:
+ * absent value is read as empty, other failures are propagated.
+ * </p>
+ *
+ * @since 0.4
+ */
+final class OptionalValue {
+
+    /**
+     * Storage.
+     */
+    private final Storage asto;
+
+    /**
+     * Item key.
+     */
+    private final Key key;
+
+    /**
+     * Ctor.
+     *
+     * @param asto Storage.
+     * @param key Item key.
+     */
+    OptionalValue(final Storage asto, final Key key) {
+        this.asto = asto;
+        this.key = key;
+    }
+
+    /**
+     * Read and parse value.
+     *
+     * @param parse Parses value content.
+     * @param <T> Parsed value type.
+     * @return Parsed value, empty if item does not exist.
+     */
+    <T> CompletionStage<Optional<T>> read(
+        final Function<Content, CompletionStage<T>> parse
+    ) {
+        return this.asto.value(this.key)
+            .thenCompose(parse)
+            .thenApply(Optional::of)
+            .handle(
+                (value, error) -> {
+                    final CompletionStage<Optional<T>> res;
+                    if (error == null) {
+                        res = CompletableFuture.completedFuture(value);
+                    } else {
+                        res = this.asto.exists(this.key).thenApply(
+                            exists -> {
+                                if (exists) {
+                                    throw new CompletionException(error);
+                                }
+                                return Optional.empty();
+                            }
+                        );
+                    }
+                    return res;
+                }
+            )
+            .thenCompose(Function.identity());
+    }
+}
@@ -0,0 +1,509 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.misc.ByteBufPublisher;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Sorted index of names stored in storage.
+ * <p>
+ * Names are stored in pages of limited size, one name per line in alphabetical order.
+ * Root record of index keeps page identifiers with the first name each page may contain,
+ * so listing reads root record and only pages of requested range, and update reads
+ * and writes single page. Adding a name which is already indexed writes nothing.
+ * Full page is split in two, emptied page is dropped.
+ * If index is absent, it is built once by provided function.
+ * </p>
+ * <p>
+ * Updates of one index, both additions and removals, including building absent index,
+ * are applied one after another within this object. Storage has no conditional writes,
+ * so index assumes single registry node writes to the storage; concurrent updates
+ * from several nodes may lose names, which are restored only by removing index
+ * to rebuild it.
+ * </p>
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class SortedIndex {
+
+    /**
+     * Default max number of names in page.
+     */
+    private static final int SIZE = 1000;
+
+    /**
+     * Storage.
+     */
+    private final Storage asto;
+
+    /**
+     * Max number of names in page.
+     */
+    private final int size;
+
+    /**
+     * Last pending update by index key.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Void>> updates;
+
+    /**
+     * Ctor.
+     * @param asto Storage
+     */
+    SortedIndex(final Storage asto) {
+        this(asto, SortedIndex.SIZE);
+    }
+
+    /**
+     * Ctor.
+     * @param asto Storage
+     * @param size Max number of names in page
+     */
+    SortedIndex(final Storage asto, final int size) {
+        this.asto = asto;
+        this.size = size;
+        this.updates = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Add name to index.
+     * @param key Index key
+     * @param name Name
+     * @param initial Builds names of absent index from storage
+     * @return Completion of index update
+     */
+    CompletionStage<Void> add(
+        final Key key, final String name,
+        final Function<Storage, CompletionStage<List<String>>> initial
+    ) {
+        return this.update(key, initial, root -> this.insert(key, root, name));
+    }
+
+    /**
+     * Remove name from index.
+     * @param key Index key
+     * @param name Name
+     * @param initial Builds names of absent index from storage
+     * @return Completion of index update
+     */
+    CompletionStage<Void> remove(
+        final Key key, final String name,
+        final Function<Storage, CompletionStage<List<String>>> initial
+    ) {
+        return this.update(key, initial, root -> this.delete(key, root, name));
+    }
+
+    /**
+     * List page of names.
+     * @param key Index key
+     * @param from Name to start listing after, from the first name if empty
+     * @param limit Max number of names
+     * @param initial Builds names of absent index from storage
+     * @return Names in alphabetical order
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    CompletionStage<List<String>> list(
+        final Key key, final Optional<String> from, final int limit,
+        final Function<Storage, CompletionStage<List<String>>> initial
+    ) {
+        return this.root(key).thenCompose(
+            found -> found.<CompletionStage<Root>>map(CompletableFuture::completedFuture)
+                .orElseGet(
+                    () -> this.update(key, initial, root -> CompletableFuture.allOf())
+                        .thenCompose(nothing -> this.root(key))
+                        .thenApply(Optional::get)
+                )
+        ).thenCompose(
+            root -> {
+                final int start = from.map(root::page).orElse(0);
+                return Flowable.range(start, root.pages() - start)
+                    .concatMapSingle(idx -> SingleInterop.fromFuture(this.page(key, root, idx)))
+                    .concatMapIterable(names -> names)
+                    .filter(name -> from.map(last -> name.compareTo(last) > 0).orElse(true))
+                    .take(limit)
+                    .toList()
+                    .to(SingleInterop.get());
+            }
+        );
+    }
+
+    /**
+     * Update index after all pending updates of same index complete.
+     * @param key Index key
+     * @param initial Builds names of absent index from storage
+     * @param change Updates pages of index
+     * @return Completion of index update
+     */
+    private CompletionStage<Void> update(
+        final Key key,
+        final Function<Storage, CompletionStage<List<String>>> initial,
+        final Function<Root, CompletionStage<Void>> change
+    ) {
+        final CompletableFuture<Void> update = this.updates.compute(
+            key.string(),
+            (str, prev) -> Optional.ofNullable(prev)
+                .orElseGet(() -> CompletableFuture.allOf())
+                .handle((nothing, error) -> nothing)
+                .thenCompose(nothing -> this.root(key))
+                .thenCompose(
+                    root -> root.<CompletionStage<Root>>map(CompletableFuture::completedFuture)
+                        .orElseGet(() -> this.build(key, initial))
+                )
+                .thenCompose(change)
+        );
+        update.whenComplete((nothing, error) -> this.updates.remove(key.string(), update));
+        return update;
+    }
+
+    /**
+     * Add name to page it belongs to, splitting full page.
+     * @param key Index key
+     * @param root Index root
+     * @param name Name
+     * @return Completion of update
+     */
+    private CompletionStage<Void> insert(final Key key, final Root root, final String name) {
+        final int idx = root.page(name);
+        return this.page(key, root, idx).thenCompose(
+            names -> {
+                final int pos = Collections.binarySearch(names, name);
+                final CompletionStage<Void> res;
+                if (pos >= 0) {
+                    res = CompletableFuture.allOf();
+                } else {
+                    final List<String> updated = new ArrayList<>(names);
+                    updated.add(-pos - 1, name);
+                    if (updated.size() > this.size) {
+                        final int half = updated.size() / 2;
+                        final Root split = root.split(idx, updated.get(half));
+                        res = this.save(
+                            SortedIndex.pageKey(key, split.identifier(idx + 1)),
+                            updated.subList(half, updated.size())
+                        ).thenCompose(nothing -> this.save(key, split))
+                            .thenCompose(
+                                nothing -> this.save(
+                                    SortedIndex.pageKey(key, root.identifier(idx)),
+                                    updated.subList(0, half)
+                                )
+                            );
+                    } else {
+                        res = this.save(SortedIndex.pageKey(key, root.identifier(idx)), updated);
+                    }
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Remove name from page it belongs to, dropping emptied page.
+     * @param key Index key
+     * @param root Index root
+     * @param name Name
+     * @return Completion of update
+     */
+    private CompletionStage<Void> delete(final Key key, final Root root, final String name) {
+        final int idx = root.page(name);
+        final Key page = SortedIndex.pageKey(key, root.identifier(idx));
+        return this.page(key, root, idx).thenCompose(
+            names -> {
+                final int pos = Collections.binarySearch(names, name);
+                final CompletionStage<Void> res;
+                if (pos < 0) {
+                    res = CompletableFuture.allOf();
+                } else if (names.size() == 1 && idx > 0) {
+                    res = this.save(key, root.drop(idx))
+                        .thenCompose(nothing -> this.asto.delete(page));
+                } else {
+                    final List<String> updated = new ArrayList<>(names);
+                    updated.remove(pos);
+                    res = this.save(page, updated);
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Build absent index.
+     * @param key Index key
+     * @param initial Builds names of absent index from storage
+     * @return Root of built index
+     */
+    private CompletionStage<Root> build(
+        final Key key, final Function<Storage, CompletionStage<List<String>>> initial
+    ) {
+        return initial.apply(this.asto).thenCompose(
+            names -> {
+                final int count = Math.max(1, (names.size() + this.size - 1) / this.size);
+                final List<List<String>> pages = IntStream.range(0, count)
+                    .mapToObj(
+                        idx -> names.subList(
+                            idx * this.size, Math.min(names.size(), (idx + 1) * this.size)
+                        )
+                    ).collect(Collectors.toList());
+                final Root root = new Root(
+                    IntStream.range(0, count).mapToObj(String::valueOf)
+                        .collect(Collectors.toList()),
+                    IntStream.range(0, count).mapToObj(
+                        idx -> pages.get(idx).stream().findFirst()
+                            .filter(first -> idx > 0)
+                            .orElse("")
+                    ).collect(Collectors.toList())
+                );
+                return CompletableFuture.allOf(
+                    IntStream.range(0, count).mapToObj(
+                        idx -> this.save(
+                            SortedIndex.pageKey(key, root.identifier(idx)), pages.get(idx)
+                        ).toCompletableFuture()
+                    ).toArray(CompletableFuture[]::new)
+                ).thenCompose(nothing -> this.save(key, root)).thenApply(nothing -> root);
+            }
+        );
+    }
+
+    /**
+     * Read names of index page, only names in range of the page are read.
+     * @param key Index key
+     * @param root Index root
+     * @param idx Page number
+     * @return Names in alphabetical order
+     */
+    private CompletionStage<List<String>> page(final Key key, final Root root, final int idx) {
+        return this.read(SortedIndex.pageKey(key, root.identifier(idx))).thenApply(
+            lines -> lines.orElseGet(Collections::emptyList).stream()
+                .filter(name -> root.contains(idx, name))
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Read index root.
+     * @param key Index key
+     * @return Root, empty if index is absent
+     */
+    private CompletionStage<Optional<Root>> root(final Key key) {
+        return this.read(SortedIndex.rootKey(key)).thenApply(
+            found -> found.map(
+                lines -> new Root(
+                    lines.stream().map(line -> line.split(" ", 2)[0])
+                        .collect(Collectors.toList()),
+                    lines.stream().map(
+                        line -> Optional.of(line.indexOf(' '))
+                            .filter(pos -> pos >= 0)
+                            .map(pos -> line.substring(pos + 1))
+                            .orElse("")
+                    ).collect(Collectors.toList())
+                )
+            )
+        );
+    }
+
+    /**
+     * Save index root.
+     * @param key Index key
+     * @param root Index root
+     * @return Completion of save
+     */
+    private CompletionStage<Void> save(final Key key, final Root root) {
+        return this.save(SortedIndex.rootKey(key), root.lines());
+    }
+
+    /**
+     * Save lines.
+     * @param key Record key
+     * @param lines Lines
+     * @return Completion of save
+     */
+    private CompletionStage<Void> save(final Key key, final List<String> lines) {
+        return this.asto.save(
+            key,
+            new Content.From(String.join("\n", lines).getBytes(StandardCharsets.UTF_8))
+        );
+    }
+
+    /**
+     * Read lines of record.
+     * @param key Record key
+     * @return Non-empty lines, empty if record is absent
+     */
+    private CompletionStage<Optional<List<String>>> read(final Key key) {
+        return new OptionalValue(this.asto, key).read(
+            content -> new ByteBufPublisher(content).bytes().thenApply(
+                bytes -> Arrays.stream(
+                    new String(bytes, StandardCharsets.UTF_8).split("\n")
+                ).filter(line -> !line.isEmpty()).collect(Collectors.toList())
+            )
+        );
+    }
+
+    /**
+     * Key of index root.
+     * @param key Index key
+     * @return Root key
+     */
+    private static Key rootKey(final Key key) {
+        return new Key.From(key, "root");
+    }
+
+    /**
+     * Key of index page.
+     * @param key Index key
+     * @param id Page identifier
+     * @return Page key
+     */
+    private static Key pageKey(final Key key, final String id) {
+        return new Key.From(key, "pages", id);
+    }
+
+    /**
+     * Index root: identifiers of pages with the first name each page may contain.
+     * First page has no lower bound.
+     * @since 0.4
+     */
+    private static final class Root {
+
+        /**
+         * Page identifiers.
+         */
+        private final List<String> ids;
+
+        /**
+         * First name each page may contain, empty for the first page.
+         */
+        private final List<String> bounds;
+
+        /**
+         * Ctor.
+         * @param ids Page identifiers
+         * @param bounds First name each page may contain, empty for the first page
+         */
+        Root(final List<String> ids, final List<String> bounds) {
+            this.ids = ids;
+            this.bounds = bounds;
+        }
+
+        /**
+         * Number of pages.
+         * @return Number of pages
+         */
+        int pages() {
+            return this.ids.size();
+        }
+
+        /**
+         * Page identifier.
+         * @param idx Page number
+         * @return Identifier
+         */
+        String identifier(final int idx) {
+            return this.ids.get(idx);
+        }
+
+        /**
+         * Number of page name belongs to.
+         * @param name Name
+         * @return Page number
+         */
+        int page(final String name) {
+            final int idx = Collections.binarySearch(this.bounds, name);
+            final int res;
+            if (idx >= 0) {
+                res = idx;
+            } else {
+                res = -idx - 2;
+            }
+            return res;
+        }
+
+        /**
+         * Check name belongs to page.
+         * @param idx Page number
+         * @param name Name
+         * @return True if name is in range of page
+         */
+        boolean contains(final int idx, final String name) {
+            return name.compareTo(this.bounds.get(idx)) >= 0
+                && (idx + 1 == this.bounds.size() || name.compareTo(this.bounds.get(idx + 1)) < 0);
+        }
+
+        /**
+         * Root with new page after specified one.
+         * @param idx Number of page being split
+         * @param bound First name of new page
+         * @return Updated root
+         */
+        Root split(final int idx, final String bound) {
+            final List<String> nids = new ArrayList<>(this.ids);
+            nids.add(
+                idx + 1,
+                String.valueOf(this.ids.stream().mapToLong(Long::parseLong).max().orElse(0) + 1)
+            );
+            final List<String> nbounds = new ArrayList<>(this.bounds);
+            nbounds.add(idx + 1, bound);
+            return new Root(nids, nbounds);
+        }
+
+        /**
+         * Root without specified page, its range is joined to previous page.
+         * @param idx Page number
+         * @return Updated root
+         */
+        Root drop(final int idx) {
+            final List<String> nids = new ArrayList<>(this.ids);
+            nids.remove(idx);
+            final List<String> nbounds = new ArrayList<>(this.bounds);
+            nbounds.remove(idx);
+            return new Root(nids, nbounds);
+        }
+
+        /**
+         * Lines of root record.
+         * @return Lines
+         */
+        List<String> lines() {
+            return IntStream.range(0, this.ids.size()).mapToObj(
+                idx -> String.join(" ", this.ids.get(idx), this.bounds.get(idx)).trim()
+            ).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Policy of writing blob content to storage.
+ * <p>
+ * Blob store writes content through staging policy, so a failed or rejected stream
+ * never leaves partial content at blob key. Policy depends on how storage implements
+ * save and move, it can't be detected from storage instance, which may be wrapped,
+ * so it is chosen explicitly when blob store is created.
+ * </p>
+ *
+ * @since 0.4
+ */
+public interface Staging {
+
+    /**
+     * Save content to destination key.
+     *
+     * @param storage Storage.
+     * @param key Destination key.
+     * @param content Content, fails before completion if it should not be saved.
+     * @return Completion of save operation.
+     */
+    CompletionStage<Void> save(Storage storage, Key key, Content content);
+
+    /**
+     * Move stored value to destination key.
+     *
+     * @param storage Storage.
+     * @param source Key of stored value.
+     * @param key Destination key.
+     * @return Completion of move operation.
+     */
+    CompletionStage<Void> move(Storage storage, Key source, Key key);
+
+    /**
+     * Staging for storages which move values by rename, like file and in-memory storages.
+     * Content is saved to a temporary key under {@code _uploads} first and is moved
+     * to its destination only after the whole stream completed successfully.
+     * Temporary key is deleted if saving fails.
+     *
+     * @since 0.4
+     */
+    final class Renamed implements Staging {
+
+        /**
+         * Root key of temporary values.
+         */
+        static final Key ROOT = new Key.From(RegistryRoot.V2, "_uploads");
+
+        @Override
+        public CompletionStage<Void> save(
+            final Storage storage, final Key key, final Content content
+        ) {
+            final Key temp = new Key.From(Renamed.ROOT, UUID.randomUUID().toString());
+            return storage.save(temp, content)
+                .thenCompose(nothing -> storage.move(temp, key))
+                .handle(
+                    (nothing, error) -> {
+                        final CompletionStage<Void> res;
+                        if (error == null) {
+                            res = CompletableFuture.allOf();
+                        } else {
+                            res = storage.delete(temp).handle((none, ignored) -> none)
+                                .thenCompose(none -> CompletableFuture.<Void>failedFuture(error));
+                        }
+                        return res;
+                    }
+                )
+                .thenCompose(res -> res);
+        }
+
+        @Override
+        public CompletionStage<Void> move(final Storage storage, final Key source, final Key key) {
+            return storage.move(source, key);
+        }
+    }
+
+    /**
+     * Staging for storages which commit saved value only when the stream is complete,
+     * but move values by copying them, like S3 storage. S3 copies whole object
+     * on server side and is limited to 5 GB, so stored value is moved by streaming it
+     * to new key, which is uploaded in parts if multipart uploads are enabled for the storage.
+     * Content is saved to destination key directly.
+     *
+     * @since 0.4
+     */
+    final class Streamed implements Staging {
+
+        @Override
+        public CompletionStage<Void> save(
+            final Storage storage, final Key key, final Content content
+        ) {
+            return storage.save(key, content);
+        }
+
+        @Override
+        public CompletionStage<Void> move(final Storage storage, final Key source, final Key key) {
+            return storage.value(source)
+                .thenCompose(content -> storage.save(key, content))
+                .thenCompose(nothing -> storage.delete(source));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Sorted index of repository tags.
+ * <p>
+ * Index is updated on every tag push and tag removal.
+ * If index is absent, it is built once from tag links.
+ * @since 0.4
+ */
+final class TagsIndex {
+
+    /**
+     * Tag link key pattern.
+     */
+    private static final Pattern LINK = Pattern.compile(".*/_manifests/tags/([^/]+)/current/link$");
+
+    /**
+     * Sorted index.
+     */
+    private final SortedIndex index;
+
+    /**
+     * Repository name.
+     */
+    private final RepoName name;
+
+    /**
+     * Ctor.
+     * @param index Sorted index
+     * @param name Repository name
+     */
+    TagsIndex(final SortedIndex index, final RepoName name) {
+        this.index = index;
+        this.name = name;
+    }
+
+    /**
+     * Add tag to index.
+     * @param tag Tag
+     * @return Completion of index update
+     */
+    CompletionStage<Void> add(final Tag tag) {
+        return this.index.add(this.key(), tag.value(), this::fromLinks);
+    }
+
+    /**
+     * Remove tag from index.
+     * @param tag Tag
+     * @return Completion of index update
+     */
+    CompletionStage<Void> remove(final Tag tag) {
+        return this.index.remove(this.key(), tag.value(), this::fromLinks);
+    }
+
+    /**
+     * List tags.
+     * @param from Tag to start listing after, from the first tag if empty
+     * @param limit Max number of tags
+     * @return Tags in alphabetical order
+     */
+    CompletionStage<List<String>> list(final Optional<Tag> from, final int limit) {
+        return this.index.list(this.key(), from.map(Tag::value), limit, this::fromLinks);
+    }
+
+    /**
+     * Read sorted tags from manifest links.
+     * @param asto Storage
+     * @return Tags in alphabetical order
+     */
+    private CompletionStage<List<String>> fromLinks(final Storage asto) {
+        return asto.list(new Key.From(this.repo(), "_manifests")).thenApply(
+            keys -> TagsIndex.tags(keys)
+        );
+    }
+
+    /**
+     * Index key.
+     * @return Index key
+     */
+    private Key key() {
+        return new Key.From(this.repo(), "_tags");
+    }
+
+    /**
+     * Root key of repository.
+     * @return Repository key
+     */
+    private Key repo() {
+        return new Key.From(RegistryRoot.V2, "repositories", this.name.value());
+    }
+
+    /**
+     * Extract sorted tags from keys of manifest links.
+     * @param keys Manifest link keys
+     * @return Tags in alphabetical order
+     */
+    private static List<String> tags(final Collection<Key> keys) {
+        return keys.stream()
+            .map(key -> TagsIndex.LINK.matcher(key.string()))
+            .filter(Matcher::matches)
+            .map(matcher -> matcher.group(1))
+            .distinct()
+            .sorted()
+            .collect(Collectors.toList());
+    }
+}
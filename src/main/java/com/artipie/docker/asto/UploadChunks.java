@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.Digest;
+import hu.akarnokd.rxjava2.interop.SingleInterop;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+
+/**
+ * Chunks of upload data.
+ * <p>
+ * Every chunk of data is stored as separate item keyed by its offset,
+ * so data already stored is never rewritten. Chunks are assembled in order of offsets
+ * when content is read. Offsets of stored chunks are kept in {@link UploadInfo}.
+ * </p>
+ *
+ * @since 0.4
+ */
+final class UploadChunks {
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Root key of chunks.
+     */
+    private final Key root;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage.
+     * @param root Root key of chunks.
+     */
+    UploadChunks(final Storage storage, final Key root) {
+        this.storage = storage;
+        this.root = root;
+    }
+
+    /**
+     * Save chunk starting at specified offset.
+     *
+     * @param offset Chunk offset.
+     * @param chunk Chunk data.
+     * @return Number of bytes in chunk.
+     */
+    public CompletionStage<Long> save(final long offset, final Publisher<ByteBuffer> chunk) {
+        final AtomicLong bytes = new AtomicLong();
+        return this.storage.save(
+            this.key(offset),
+            new Content.From(
+                Flowable.fromPublisher(chunk).doOnNext(buf -> bytes.addAndGet(buf.remaining()))
+            )
+        ).thenApply(nothing -> bytes.get());
+    }
+
+    /**
+     * Read chunks as single content.
+     *
+     * @param offsets Chunk offsets in ascending order.
+     * @return Content.
+     */
+    public Content content(final List<Long> offsets) {
+        return new Content.From(
+            Flowable.fromIterable(offsets).concatMap(
+                offset -> SingleInterop.fromFuture(this.storage.value(this.key(offset)))
+                    .flatMapPublisher(content -> content)
+            )
+        );
+    }
+
+    /**
+     * Blob source of chunks.
+     * Single chunk is moved to blob location, several chunks are read as single content.
+     *
+     * @param offsets Chunk offsets in ascending order.
+     * @param digest Blob digest.
+     * @return Blob source.
+     */
+    public BlobSource source(final List<Long> offsets, final Digest digest) {
+        final BlobSource source;
+        if (offsets.size() == 1) {
+            source = new MovedBlobSource(this.key(offsets.get(0)), digest);
+        } else {
+            source = new TrustedBlobSource(this.content(offsets), digest);
+        }
+        return source;
+    }
+
+    /**
+     * Key of chunk starting at specified offset.
+     *
+     * @param offset Chunk offset.
+     * @return Key.
+     */
+    private Key key(final long offset) {
+        return new Key.From(this.root, String.valueOf(offset));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.Digest;
+import com.artipie.docker.error.InvalidDigestException;
+import com.artipie.docker.misc.ResumableSha256;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+
+/**
+ * Metadata record of blob upload.
+ * <p>
+ * Record keeps upload start time, number of bytes uploaded, offsets of stored chunks
+ * and SHA-256 state of uploaded data, so upload status is known after reading single item
+ * from storage. Record is saved after chunk is stored, so it never refers data
+ * that was not stored completely.
+ * </p>
+ *
+ * @since 0.4
+ */
+final class UploadInfo {
+
+    /**
+     * Start time field.
+     */
+    private static final String FIELD_STARTED = "startedat";
+
+    /**
+     * Size field.
+     */
+    private static final String FIELD_SIZE = "size";
+
+    /**
+     * Chunks field.
+     */
+    private static final String FIELD_CHUNKS = "chunks";
+
+    /**
+     * Hash state field.
+     */
+    private static final String FIELD_SHA = "sha256";
+
+    /**
+     * Record JSON.
+     */
+    private final JsonObject json;
+
+    /**
+     * Ctor.
+     *
+     * @param started Upload start time.
+     */
+    UploadInfo(final Instant started) {
+        this(
+            javax.json.Json.createObjectBuilder()
+                .add(UploadInfo.FIELD_STARTED, started.toString())
+                .add(UploadInfo.FIELD_SIZE, 0L)
+                .add(UploadInfo.FIELD_CHUNKS, javax.json.Json.createArrayBuilder())
+                .add(UploadInfo.FIELD_SHA, UploadInfo.encoded(new ResumableSha256()))
+                .build()
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param json Record JSON.
+     */
+    UploadInfo(final JsonObject json) {
+        this.json = json;
+    }
+
+    /**
+     * Upload start time.
+     *
+     * @return Start time.
+     */
+    public Instant started() {
+        return Instant.parse(this.json.getString(UploadInfo.FIELD_STARTED));
+    }
+
+    /**
+     * Number of bytes uploaded.
+     *
+     * @return Number of bytes.
+     */
+    public long size() {
+        return this.json.getJsonNumber(UploadInfo.FIELD_SIZE).longValue();
+    }
+
+    /**
+     * Offsets of stored chunks in ascending order.
+     *
+     * @return Offsets.
+     */
+    public List<Long> chunks() {
+        return this.json.getJsonArray(UploadInfo.FIELD_CHUNKS)
+            .getValuesAs(JsonNumber.class)
+            .stream()
+            .map(JsonNumber::longValue)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * SHA-256 state of uploaded data.
+     *
+     * @return Hash state.
+     */
+    public ResumableSha256 hash() {
+        return new ResumableSha256(
+            Base64.getDecoder().decode(this.json.getString(UploadInfo.FIELD_SHA))
+        );
+    }
+
+    /**
+     * Record with one more chunk appended.
+     *
+     * @param bytes Number of bytes in appended chunk.
+     * @param hash SHA-256 state extended with chunk data.
+     * @return Updated record.
+     */
+    public UploadInfo appended(final long bytes, final ResumableSha256 hash) {
+        final UploadInfo info;
+        if (bytes == 0) {
+            info = this;
+        } else {
+            final long size = this.size();
+            info = new UploadInfo(
+                javax.json.Json.createObjectBuilder(this.json)
+                    .add(UploadInfo.FIELD_SIZE, size + bytes)
+                    .add(
+                        UploadInfo.FIELD_CHUNKS,
+                        javax.json.Json.createArrayBuilder(
+                            this.json.getJsonArray(UploadInfo.FIELD_CHUNKS)
+                        ).add(size)
+                    )
+                    .add(UploadInfo.FIELD_SHA, UploadInfo.encoded(hash))
+                    .build()
+            );
+        }
+        return info;
+    }
+
+    /**
+     * Blob source of uploaded data.
+     * Digest of data is known from hash state, so content is not checked again.
+     *
+     * @param chunks Uploaded chunks.
+     * @param digest Expected digest.
+     * @return Blob source.
+     * @throws InvalidDigestException If digest does not match uploaded data.
+     */
+    public BlobSource source(final UploadChunks chunks, final Digest digest) {
+        final Digest calculated = this.hash().digest();
+        if (!calculated.string().equals(digest.string())) {
+            throw new InvalidDigestException(
+                String.format(
+                    "Digest does not match: expected %s, calculated %s",
+                    digest.string(),
+                    calculated.string()
+                )
+            );
+        }
+        return chunks.source(this.chunks(), digest);
+    }
+
+    /**
+     * Record as bytes.
+     *
+     * @return Bytes.
+     */
+    public byte[] bytes() {
+        return this.json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encode hash state to string.
+     *
+     * @param hash Hash state.
+     * @return Encoded state.
+     */
+    private static String encoded(final ResumableSha256 hash) {
+        return Base64.getEncoder().encodeToString(hash.state());
+    }
+}
@@ -23,9 +23,13 @@
  */
 package com.artipie.docker.cache;
 
+import com.artipie.docker.Catalog;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Cache {@link Docker} implementation.
@@ -59,4 +63,19 @@ public final class CacheDocker implements Docker {
     public Repo repo(final RepoName name) {
         return new CacheRepo(this.origin.repo(name), this.cache.repo(name));
     }
+
+    @Override
+    public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+        return this.origin.catalog(from, limit).handle(
+            (catalog, error) -> {
+                final CompletionStage<Catalog> res;
+                if (error == null) {
+                    res = CompletableFuture.completedFuture(catalog);
+                } else {
+                    res = this.cache.catalog(from, limit);
+                }
+                return res;
+            }
+        ).thenCompose(catalog -> catalog);
+    }
 }
@@ -23,8 +23,8 @@
  */
 package com.artipie.docker.cache;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
 import java.util.Optional;
@@ -61,7 +61,12 @@ public final class CacheLayers implements Layers {
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
+    public CompletionStage<Blob> put(final BlobSource source) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletionStage<Blob> mount(final Blob blob) {
         throw new UnsupportedOperationException();
     }
 
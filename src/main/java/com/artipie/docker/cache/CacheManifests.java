@@ -24,11 +24,15 @@
 package com.artipie.docker.cache;
 
 import com.artipie.asto.Content;
+import com.artipie.docker.Digest;
 import com.artipie.docker.Manifests;
 import com.artipie.docker.Repo;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.ref.ManifestRef;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -36,7 +40,6 @@ import java.util.concurrent.CompletionStage;
  *
  * @since 0.3
  */
-@SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"})
 public final class CacheManifests implements Manifests {
 
     /**
@@ -69,4 +72,29 @@ public final class CacheManifests implements Manifests {
     public CompletionStage<Optional<Manifest>> get(final ManifestRef ref) {
         return this.origin.get(ref);
     }
+
+    @Override
+    public CompletionStage<Optional<Manifest>> get(final ManifestRef ref, final String platform) {
+        return this.origin.get(ref, platform);
+    }
+
+    @Override
+    public CompletionStage<Optional<Digest>> delete(final ManifestRef ref) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        return this.origin.tags(from, limit).handle(
+            (tags, error) -> {
+                final CompletionStage<Tags> res;
+                if (error == null) {
+                    res = CompletableFuture.completedFuture(tags);
+                } else {
+                    res = this.cache.tags(from, limit);
+                }
+                return res;
+            }
+        ).thenCompose(tags -> tags);
+    }
 }
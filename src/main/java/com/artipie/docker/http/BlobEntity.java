@@ -23,6 +23,7 @@
  */
 package com.artipie.docker.http;
 
+import com.artipie.docker.Blob;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Docker;
 import com.artipie.docker.RepoName;
@@ -32,13 +33,18 @@ import com.artipie.http.Slice;
 import com.artipie.http.async.AsyncResponse;
 import com.artipie.http.rs.ContentLength;
 import com.artipie.http.rs.ContentType;
+import com.artipie.http.rs.Header;
+import com.artipie.http.rs.Location;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithBody;
 import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
+import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import org.reactivestreams.Publisher;
 
@@ -47,6 +53,7 @@ import org.reactivestreams.Publisher;
  * See <a href="https://docs.docker.com/registry/spec/api/#blob">Blob</a>.
  *
  * @since 0.2
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 final class BlobEntity {
 
@@ -63,6 +70,34 @@ final class BlobEntity {
     private BlobEntity() {
     }
 
+    /**
+     * Respond with Not Modified status if client already has the blob,
+     * blob content is not read in this case.
+     *
+     * @param digest Blob digest.
+     * @param headers Request headers.
+     * @param response Full response supplier.
+     * @return Response.
+     */
+    private static Response conditional(
+        final Digest digest,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Supplier<Response> response
+    ) {
+        final Response res;
+        if (new EntityTag(digest).matches(headers)) {
+            res = new RsWithHeaders(
+                new RsWithStatus(RsStatus.NOT_MODIFIED),
+                new DigestHeader(digest),
+                new EntityTag(digest),
+                new CacheControl()
+            );
+        } else {
+            res = response.get();
+        }
+        return res;
+    }
+
     /**
      * Slice for GET method.
      *
@@ -75,13 +110,20 @@ final class BlobEntity {
          */
         private final Docker docker;
 
+        /**
+         * Blob download URL signer.
+         */
+        private final UrlSigner signer;
+
         /**
          * Ctor.
          *
          * @param docker Docker repository.
+         * @param signer Blob download URL signer.
          */
-        Get(final Docker docker) {
+        Get(final Docker docker, final UrlSigner signer) {
             this.docker = docker;
+            this.signer = signer;
         }
 
         @Override
@@ -95,17 +137,17 @@ final class BlobEntity {
             return new AsyncResponse(
                 this.docker.repo(request.name()).layers().get(digest).thenApply(
                     found -> found.<Response>map(
-                        blob -> new AsyncResponse(
-                            blob.content().thenCompose(
-                                content -> content.size()
-                                    .map(CompletableFuture::completedStage)
-                                    .orElseGet(blob::size)
-                                    .thenApply(
-                                        size -> new RsWithBody(
-                                            new BaseResponse(digest, size),
-                                            content
+                        blob -> BlobEntity.conditional(
+                            digest,
+                            headers,
+                            () -> new AsyncResponse(
+                                this.signer.signed(digest).thenCompose(
+                                    url -> url.<CompletionStage<Response>>map(
+                                        location -> CompletableFuture.completedStage(
+                                            new RedirectResponse(digest, location)
                                         )
-                                    )
+                                    ).orElseGet(() -> Get.content(blob))
+                                )
                             )
                         )
                     ).orElseGet(
@@ -114,6 +156,26 @@ final class BlobEntity {
                 )
             );
         }
+
+        /**
+         * Response with blob content.
+         *
+         * @param blob Blob.
+         * @return Response.
+         */
+        private static CompletionStage<Response> content(final Blob blob) {
+            return blob.content().thenCompose(
+                content -> content.size()
+                    .map(CompletableFuture::completedStage)
+                    .orElseGet(blob::size)
+                    .thenApply(
+                        size -> new RsWithBody(
+                            new BaseResponse(blob.digest(), size),
+                            content
+                        )
+                    )
+            );
+        }
     }
 
     /**
@@ -147,8 +209,14 @@ final class BlobEntity {
             return new AsyncResponse(
                 this.docker.repo(request.name()).layers().get(request.digest()).thenApply(
                     found -> found.<Response>map(
-                        blob -> new AsyncResponse(
-                            blob.size().thenApply(size -> new BaseResponse(blob.digest(), size))
+                        blob -> BlobEntity.conditional(
+                            blob.digest(),
+                            headers,
+                            () -> new AsyncResponse(
+                                blob.size().thenApply(
+                                    size -> new BaseResponse(blob.digest(), size)
+                                )
+                            )
                         )
                     ).orElseGet(
                         () -> new RsWithStatus(RsStatus.NOT_FOUND)
@@ -160,6 +228,9 @@ final class BlobEntity {
 
     /**
      * Blob base response.
+     * Range requests are not supported, as there is no Partial Content status
+     * in HTTP library, so it is declared with Accept-Ranges header and whole blob is sent.
+     * Clients that resume download with Range request accept full response.
      *
      * @since 0.2
      */
@@ -177,7 +248,36 @@ final class BlobEntity {
                     new RsWithStatus(RsStatus.OK),
                     new ContentLength(String.valueOf(size)),
                     new DigestHeader(digest),
-                    new ContentType("application/octet-stream")
+                    new ContentType("application/octet-stream"),
+                    new Header("Accept-Ranges", "none"),
+                    new EntityTag(digest),
+                    new CacheControl()
+                )
+            );
+        }
+    }
+
+    /**
+     * Blob redirect response.
+     * Client downloads blob data from given location.
+     *
+     * @since 0.4
+     */
+    private static final class RedirectResponse extends Response.Wrap {
+
+        /**
+         * Ctor.
+         *
+         * @param digest Blob digest.
+         * @param location Blob data location.
+         */
+        RedirectResponse(final Digest digest, final URI location) {
+            super(
+                new RsWithHeaders(
+                    new RsWithStatus(RsStatus.TEMPORARY_REDIRECT),
+                    new Location(location.toString()),
+                    new DigestHeader(digest),
+                    new ContentLength("0")
                 )
             );
         }
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.docker.Docker;
+import com.artipie.docker.RepoName;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.reactivestreams.Publisher;
+
+/**
+ * Catalog entity in Docker HTTP API.
+ * See <a href="https://docs.docker.com/registry/spec/api/#catalog">Catalog</a>.
+ *
+ * @since 0.4
+ */
+final class CatalogEntity {
+
+    /**
+     * RegEx pattern for path.
+     */
+    public static final Pattern PATH = Pattern.compile("^/v2/_catalog$");
+
+    /**
+     * Ctor.
+     */
+    private CatalogEntity() {
+    }
+
+    /**
+     * Slice for GET method, listing repositories page by page.
+     *
+     * @since 0.4
+     */
+    static final class Get implements Slice {
+
+        /**
+         * Docker repository.
+         */
+        private final Docker docker;
+
+        /**
+         * Ctor.
+         *
+         * @param docker Docker repository.
+         */
+        Get(final Docker docker) {
+            this.docker = docker;
+        }
+
+        @Override
+        public Response response(
+            final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body
+        ) {
+            final Pagination page = new Pagination(line);
+            final Response res;
+            if (page.valid()) {
+                res = new AsyncResponse(
+                    this.docker.catalog(
+                        page.last().map(RepoName.Simple::new), page.limit()
+                    ).thenApply(
+                        catalog -> new PageResponse(
+                            "/v2/_catalog", "repositories", page.limit(), catalog.json()
+                        )
+                    )
+                );
+            } else {
+                res = new RsWithStatus(RsStatus.BAD_REQUEST);
+            }
+            return res;
+        }
+    }
+}
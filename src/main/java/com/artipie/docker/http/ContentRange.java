@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-Range header value of chunked upload request.
+ * See <a href="https://docs.docker.com/registry/spec/api/#chunked-upload">Chunked Upload</a>.
+ * Value has format {@code <start>-<end>}, both positions inclusive,
+ * HTTP format {@code bytes <start>-<end>/<size>} is accepted too.
+ *
+ * @since 0.4
+ */
+final class ContentRange {
+
+    /**
+     * Header name.
+     */
+    static final String NAME = "Content-Range";
+
+    /**
+     * Value pattern.
+     */
+    private static final Pattern PTN = Pattern.compile(
+        "^(bytes )?(?<start>\\d{1,18})-(?<end>\\d{1,18})(/(\\d+|\\*))?$"
+    );
+
+    /**
+     * Header value.
+     */
+    private final String value;
+
+    /**
+     * Ctor.
+     *
+     * @param value Header value.
+     */
+    ContentRange(final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Check value is well formed and range is not empty.
+     *
+     * @return True if value is valid.
+     */
+    boolean valid() {
+        return PTN.matcher(this.value.trim()).matches() && this.end() >= this.start();
+    }
+
+    /**
+     * Range start position.
+     *
+     * @return Start position.
+     */
+    long start() {
+        return this.position("start");
+    }
+
+    /**
+     * Range length in bytes.
+     *
+     * @return Length.
+     */
+    long length() {
+        return Math.addExact(this.end() - this.start(), 1L);
+    }
+
+    /**
+     * Range end position, inclusive.
+     *
+     * @return End position.
+     */
+    private long end() {
+        return this.position("end");
+    }
+
+    /**
+     * Read position from value.
+     *
+     * @param group Position group name.
+     * @return Position.
+     */
+    private long position(final String group) {
+        final Matcher matcher = PTN.matcher(this.value.trim());
+        if (!matcher.matches()) {
+            throw new IllegalStateException(
+                String.format("Invalid %s: %s", ContentRange.NAME, this.value)
+            );
+        }
+        return Long.parseLong(matcher.group(group));
+    }
+}
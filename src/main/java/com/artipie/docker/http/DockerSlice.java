@@ -57,6 +57,17 @@ public final class DockerSlice extends Slice.Wrap {
      * @param docker Docker repository.
      */
     public DockerSlice(final String base, final Docker docker) {
+        this(base, docker, new UrlSigner.Passthrough());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param base Base path. Base path should start with "/", empty string means no base path.
+     * @param docker Docker repository.
+     * @param signer Blob download URL signer.
+     */
+    public DockerSlice(final String base, final Docker docker, final UrlSigner signer) {
         super(
             new TrimPathSlice(
                 new SliceRoute(
@@ -88,6 +99,13 @@ public final class DockerSlice extends Slice.Wrap {
                         ),
                         new ManifestEntity.Put(docker)
                     ),
+                    new RtRulePath(
+                        new RtRule.All(
+                            new RtRule.ByPath(ManifestEntity.PATH),
+                            new RtRule.ByMethod(RqMethod.DELETE)
+                        ),
+                        new ManifestEntity.Delete(docker)
+                    ),
                     new RtRulePath(
                         new RtRule.All(
                             new RtRule.ByPath(BlobEntity.PATH),
@@ -100,7 +118,7 @@ public final class DockerSlice extends Slice.Wrap {
                             new RtRule.ByPath(BlobEntity.PATH),
                             new RtRule.ByMethod(RqMethod.GET)
                         ),
-                        new BlobEntity.Get(docker)
+                        new BlobEntity.Get(docker, signer)
                     ),
                     new RtRulePath(
                         new RtRule.All(
@@ -129,6 +147,20 @@ public final class DockerSlice extends Slice.Wrap {
                             new RtRule.ByMethod(RqMethod.GET)
                         ),
                         new UploadEntity.Get(docker)
+                    ),
+                    new RtRulePath(
+                        new RtRule.All(
+                            new RtRule.ByPath(TagsEntity.PATH),
+                            new RtRule.ByMethod(RqMethod.GET)
+                        ),
+                        new TagsEntity.Get(docker)
+                    ),
+                    new RtRulePath(
+                        new RtRule.All(
+                            new RtRule.ByPath(CatalogEntity.PATH),
+                            new RtRule.ByMethod(RqMethod.GET)
+                        ),
+                        new CatalogEntity.Get(docker)
                     )
                 ),
                 Pattern.compile(String.format("^(?:%s)(\\/.*)?", base))
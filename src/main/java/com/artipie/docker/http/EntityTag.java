@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.docker.Digest;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.Header;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * ETag header of entity addressed by digest.
+ * See <a href="https://tools.ietf.org/html/rfc7232#section-2.3">ETag</a>.
+ *
+ * @since 0.4
+ */
+final class EntityTag extends Header.Wrap {
+
+    /**
+     * Header name.
+     */
+    private static final String NAME = "ETag";
+
+    /**
+     * Ctor.
+     *
+     * @param digest Entity digest.
+     */
+    EntityTag(final Digest digest) {
+        super(new Header(EntityTag.NAME, String.format("\"%s\"", digest.string())));
+    }
+
+    /**
+     * Check if entity tag matches If-None-Match request header,
+     * so client already has the entity and it should not be sent.
+     *
+     * @param headers Request headers.
+     * @return True if entity tag matches.
+     */
+    boolean matches(final Iterable<Map.Entry<String, String>> headers) {
+        return new RqHeaders(headers, "If-None-Match").stream()
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(String::trim)
+            .map(tag -> tag.replaceFirst("^W/", ""))
+            .anyMatch(tag -> "*".equals(tag) || this.getValue().equals(tag));
+    }
+}
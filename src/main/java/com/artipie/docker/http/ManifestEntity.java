@@ -24,8 +24,12 @@
 package com.artipie.docker.http;
 
 import com.artipie.asto.Content;
+import com.artipie.docker.Digest;
 import com.artipie.docker.Docker;
+import com.artipie.docker.Manifests;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.error.InvalidManifestException;
+import com.artipie.docker.manifest.JsonManifest;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.misc.RqByRegex;
 import com.artipie.docker.ref.ManifestRef;
@@ -42,9 +46,14 @@ import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
 import com.artipie.http.rs.StandardRs;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import org.reactivestreams.Publisher;
 
@@ -64,12 +73,88 @@ final class ManifestEntity {
         "^/v2/(?<name>.*)/manifests/(?<reference>.*)$"
     );
 
+    /**
+     * Platform of manifest served to clients not accepting manifest lists.
+     */
+    private static final String PLATFORM = "linux/amd64";
+
     /**
      * Ctor.
      */
     private ManifestEntity() {
     }
 
+    /**
+     * Respond with Not Modified status if client already has the manifest.
+     *
+     * @param ref Requested manifest reference.
+     * @param mnf Manifest.
+     * @param headers Request headers.
+     * @param response Full response supplier.
+     * @return Response.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private static Response conditional(
+        final ManifestRef ref,
+        final Manifest mnf,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Supplier<Response> response
+    ) {
+        final Response res;
+        if (new EntityTag(mnf.digest()).matches(headers)) {
+            res = new CacheResponse(
+                ref,
+                mnf,
+                new RsWithHeaders(
+                    new RsWithStatus(RsStatus.NOT_MODIFIED),
+                    new DigestHeader(mnf.digest())
+                )
+            );
+        } else {
+            res = response.get();
+        }
+        return res;
+    }
+
+    /**
+     * Convert manifest to one of types accepted by client.
+     * Manifest list referenced by tag is replaced with manifest of default platform
+     * if client does not accept manifest lists. Manifest list referenced by digest
+     * is never replaced, since content must match the digest, so it is not found
+     * for such client.
+     *
+     * @param ref Manifest reference.
+     * @param manifests Repository manifests.
+     * @param found Found manifest.
+     * @param headers Request headers.
+     * @return Converted manifest, empty if client does not accept manifest list.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static CompletionStage<Optional<Manifest>> negotiate(
+        final ManifestRef ref,
+        final Manifests manifests,
+        final Manifest found,
+        final Iterable<Map.Entry<String, String>> headers
+    ) {
+        final RqHeaders accept = Head.acceptHeader(headers);
+        return found.mediaType().thenCompose(
+            type -> {
+                final CompletionStage<Optional<Manifest>> res;
+                if (!JsonManifest.LISTS.contains(type) || accept.contains(type)) {
+                    res = found.convert(accept).thenApply(Optional::of);
+                } else if (new Digest.FromString(ref.string()).valid()) {
+                    res = CompletableFuture.completedStage(Optional.empty());
+                } else {
+                    res = manifests.get(
+                        new ManifestRef.FromDigest(found.digest()), ManifestEntity.PLATFORM
+                    ).thenCompose(platform -> platform.orElse(found).convert(accept))
+                        .thenApply(Optional::of);
+                }
+                return res;
+            }
+        );
+    }
+
     /**
      * Slice for HEAD method, checking manifest existence.
      *
@@ -97,14 +182,21 @@ final class ManifestEntity {
             final Iterable<Map.Entry<String, String>> headers,
             final Publisher<ByteBuffer> body) {
             final Request request = new Request(line);
+            final ManifestRef ref = request.reference();
+            final Manifests manifests = this.docker.repo(request.name()).manifests();
             return new AsyncResponse(
-                this.docker.repo(request.name()).manifests().get(request.reference()).thenCompose(
+                manifests.get(ref).thenCompose(
                     manifest -> manifest.<CompletionStage<Response>>map(
-                        found -> found.convert(Head.acceptHeader(headers))
-                            .thenCompose(
-                                original -> CompletableFuture.completedStage(
-                                    new BaseResponse(original)
-                                )
+                        found -> ManifestEntity.negotiate(ref, manifests, found, headers)
+                            .thenApply(
+                                negotiated -> negotiated.<Response>map(
+                                    original -> ManifestEntity.conditional(
+                                        ref,
+                                        original,
+                                        headers,
+                                        () -> new BaseResponse(ref, original)
+                                    )
+                                ).orElseGet(() -> new RsWithStatus(RsStatus.NOT_FOUND))
                             )
                     ).orElseGet(
                         () -> CompletableFuture.completedStage(new RsWithStatus(RsStatus.NOT_FOUND))
@@ -153,14 +245,22 @@ final class ManifestEntity {
             final Request request = new Request(line);
             final RepoName name = request.name();
             final ManifestRef ref = request.reference();
+            final Manifests manifests = this.docker.repo(name).manifests();
             return new AsyncResponse(
-                this.docker.repo(name).manifests().get(ref).thenCompose(
+                manifests.get(ref).thenCompose(
                     manifest -> manifest.<CompletionStage<Response>>map(
-                        found -> found.convert(Head.acceptHeader(headers))
-                            .thenCompose(
-                                original -> CompletableFuture.completedStage(
-                                    new RsWithBody(new BaseResponse(original), original.content())
-                                )
+                        found -> ManifestEntity.negotiate(ref, manifests, found, headers)
+                            .thenApply(
+                                negotiated -> negotiated.<Response>map(
+                                    original -> ManifestEntity.conditional(
+                                        ref,
+                                        original,
+                                        headers,
+                                        () -> new RsWithBody(
+                                            new BaseResponse(ref, original), original.content()
+                                        )
+                                    )
+                                ).orElseGet(() -> new RsWithStatus(RsStatus.NOT_FOUND))
                             )
                     ).orElseGet(
                         () -> CompletableFuture.completedStage(new RsWithStatus(RsStatus.NOT_FOUND))
@@ -202,16 +302,80 @@ final class ManifestEntity {
             final RepoName name = request.name();
             final ManifestRef ref = request.reference();
             return new AsyncResponse(
-                this.docker.repo(name).manifests().put(ref, new Content.From(body)).thenApply(
-                    manifest -> new RsWithHeaders(
-                        new RsWithStatus(RsStatus.CREATED),
-                        new Location(
-                            String.format("/v2/%s/manifests/%s", name.value(), ref.string())
-                        ),
-                        new ContentLength("0"),
-                        new DigestHeader(manifest.digest())
+                this.docker.repo(name).manifests().put(ref, new Content.From(body))
+                    .<Response>thenApply(
+                        manifest -> new RsWithHeaders(
+                            new RsWithStatus(RsStatus.CREATED),
+                            new Location(
+                                String.format("/v2/%s/manifests/%s", name.value(), ref.string())
+                            ),
+                            new ContentLength("0"),
+                            new DigestHeader(manifest.digest())
+                        )
+                    )
+                    .exceptionally(Put::invalidResponse)
+            );
+        }
+
+        /**
+         * Returns BAD_REQUEST response if error is caused by invalid manifest.
+         *
+         * @param error Error occurred while putting manifest.
+         * @return BAD_REQUEST response.
+         */
+        private static Response invalidResponse(final Throwable error) {
+            final Throwable cause;
+            if (error instanceof CompletionException) {
+                cause = error.getCause();
+            } else {
+                cause = error;
+            }
+            if (!(cause instanceof InvalidManifestException)) {
+                throw new CompletionException(cause);
+            }
+            return new RsWithStatus(RsStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Slice for DELETE method, deleting manifest by digest or tag.
+     *
+     * @since 0.4
+     */
+    public static class Delete implements Slice {
+
+        /**
+         * Docker repository.
+         */
+        private final Docker docker;
+
+        /**
+         * Ctor.
+         *
+         * @param docker Docker repository.
+         */
+        Delete(final Docker docker) {
+            this.docker = docker;
+        }
+
+        @Override
+        public Response response(
+            final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body
+        ) {
+            final Request request = new Request(line);
+            return new AsyncResponse(
+                this.docker.repo(request.name()).manifests().delete(request.reference())
+                    .thenApply(
+                        deleted -> deleted.<Response>map(
+                            digest -> new RsWithHeaders(
+                                new RsWithStatus(RsStatus.ACCEPTED),
+                                new ContentLength("0"),
+                                new DigestHeader(digest)
+                            )
+                        ).orElseGet(() -> new RsWithStatus(RsStatus.NOT_FOUND))
                     )
-                )
             );
         }
     }
@@ -266,16 +430,23 @@ final class ManifestEntity {
         /**
          * Ctor.
          *
+         * @param ref Requested manifest reference
          * @param mnf Manifest
          */
-        BaseResponse(final Manifest mnf) {
+        BaseResponse(final ManifestRef ref, final Manifest mnf) {
             super(
-                new AsyncResponse(
-                    mnf.mediaType().thenApply(
-                        type -> new RsWithHeaders(
-                            StandardRs.EMPTY,
-                            new ContentType(type),
-                            new DigestHeader(mnf.digest())
+                new CacheResponse(
+                    ref,
+                    mnf,
+                    new AsyncResponse(
+                        mnf.mediaType().thenCombine(
+                            mnf.size(),
+                            (type, size) -> new RsWithHeaders(
+                                StandardRs.EMPTY,
+                                new ContentType(type),
+                                new DigestHeader(mnf.digest()),
+                                new ContentLength(String.valueOf(size))
+                            )
                         )
                     )
                 )
@@ -283,4 +454,47 @@ final class ManifestEntity {
         }
 
     }
+
+    /**
+     * Response with caching headers of manifest.
+     * Manifest referenced by digest never changes, so it may be cached for a long time,
+     * while manifest referenced by tag may change on next push.
+     * @since 0.4
+     */
+    private static final class CacheResponse extends Response.Wrap {
+
+        /**
+         * Ctor.
+         *
+         * @param ref Requested manifest reference
+         * @param mnf Manifest
+         * @param origin Origin response
+         */
+        CacheResponse(final ManifestRef ref, final Manifest mnf, final Response origin) {
+            super(
+                new RsWithHeaders(
+                    origin,
+                    CacheResponse.headers(ref, mnf)
+                )
+            );
+        }
+
+        /**
+         * Caching headers of manifest.
+         *
+         * @param ref Requested manifest reference
+         * @param mnf Manifest
+         * @return Headers
+         */
+        private static List<Map.Entry<String, String>> headers(
+            final ManifestRef ref, final Manifest mnf
+        ) {
+            final List<Map.Entry<String, String>> headers = new ArrayList<>(2);
+            headers.add(new EntityTag(mnf.digest()));
+            if (new Digest.FromString(ref.string()).valid()) {
+                headers.add(new CacheControl());
+            }
+            return headers;
+        }
+    }
 }
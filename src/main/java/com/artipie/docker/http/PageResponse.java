@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.asto.Content;
+import com.artipie.docker.misc.ByteBufPublisher;
+import com.artipie.docker.misc.Json;
+import com.artipie.http.Connection;
+import com.artipie.http.Response;
+import com.artipie.http.rs.ContentType;
+import com.artipie.http.rs.Header;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import javax.json.JsonArray;
+
+/**
+ * Response with page of listed entries in JSON format.
+ * If page is full, {@code Link} header to the next page is added,
+ * see <a href="https://docs.docker.com/registry/spec/api/#pagination">Pagination</a>.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+final class PageResponse implements Response {
+
+    /**
+     * Path of listed resource.
+     */
+    private final String path;
+
+    /**
+     * Name of JSON array with entries.
+     */
+    private final String field;
+
+    /**
+     * Max number of entries in page.
+     */
+    private final int limit;
+
+    /**
+     * Page in JSON format.
+     */
+    private final Content json;
+
+    /**
+     * Ctor.
+     *
+     * @param path Path of listed resource.
+     * @param field Name of JSON array with entries.
+     * @param limit Max number of entries in page.
+     * @param json Page in JSON format.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    PageResponse(final String path, final String field, final int limit, final Content json) {
+        this.path = path;
+        this.field = field;
+        this.limit = limit;
+        this.json = json;
+    }
+
+    @Override
+    public CompletionStage<Void> send(final Connection connection) {
+        return new ByteBufPublisher(this.json).bytes().thenCompose(
+            bytes -> new Json(new Content.From(bytes)).object().thenCompose(
+                root -> {
+                    final List<Map.Entry<String, String>> headers = new ArrayList<>(2);
+                    headers.add(new ContentType("application/json; charset=utf-8"));
+                    this.next(root.getJsonArray(this.field)).ifPresent(headers::add);
+                    return new RsWithBody(
+                        new RsWithHeaders(new RsWithStatus(RsStatus.OK), headers),
+                        ByteBuffer.wrap(bytes)
+                    ).send(connection);
+                }
+            )
+        );
+    }
+
+    /**
+     * Link header to the next page.
+     *
+     * @param entries Entries of page.
+     * @return Header, empty if page is not full.
+     */
+    private Optional<Header> next(final JsonArray entries) {
+        final Optional<Header> res;
+        if (this.limit < Integer.MAX_VALUE && entries != null
+            && !entries.isEmpty() && entries.size() >= this.limit) {
+            res = Optional.of(
+                new Header(
+                    "Link",
+                    String.format(
+                        "<%s?n=%d&last=%s>; rel=\"next\"",
+                        this.path,
+                        this.limit,
+                        URLEncoder.encode(
+                            entries.getString(entries.size() - 1), StandardCharsets.UTF_8
+                        )
+                    )
+                )
+            );
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+}
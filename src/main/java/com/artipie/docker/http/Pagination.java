@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.docker.misc.RqParams;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Pagination parameters of listing request.
+ * See <a href="https://docs.docker.com/registry/spec/api/#pagination">Pagination</a>.
+ *
+ * @since 0.4
+ */
+final class Pagination {
+
+    /**
+     * Number parameter pattern.
+     */
+    private static final Pattern DIGITS = Pattern.compile("^\\d{1,9}$");
+
+    /**
+     * HTTP request line.
+     */
+    private final String line;
+
+    /**
+     * Ctor.
+     *
+     * @param line HTTP request line.
+     */
+    Pagination(final String line) {
+        this.line = line;
+    }
+
+    /**
+     * Check number parameter is valid.
+     *
+     * @return True if number is absent or is non-negative integer.
+     */
+    boolean valid() {
+        return this.number().map(num -> Pagination.DIGITS.matcher(num).matches()).orElse(true);
+    }
+
+    /**
+     * Get max number of entries to list.
+     *
+     * @return Number of entries, all entries are listed if not specified.
+     */
+    int limit() {
+        return this.number().map(Integer::parseInt).orElse(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get last entry of previous page.
+     *
+     * @return Last entry, empty if listing starts from the first entry.
+     */
+    Optional<String> last() {
+        return new RqParams(this.line).value("last");
+    }
+
+    /**
+     * Read number parameter.
+     *
+     * @return Number parameter value.
+     */
+    private Optional<String> number() {
+        return new RqParams(this.line).value("n");
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.docker.Docker;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.misc.RqByRegex;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.reactivestreams.Publisher;
+
+/**
+ * Tags entity in Docker HTTP API.
+ * See <a href="https://docs.docker.com/registry/spec/api/#tags">Tags</a>.
+ *
+ * @since 0.4
+ */
+final class TagsEntity {
+
+    /**
+     * RegEx pattern for path.
+     */
+    public static final Pattern PATH = Pattern.compile("^/v2/(?<name>.*)/tags/list$");
+
+    /**
+     * Ctor.
+     */
+    private TagsEntity() {
+    }
+
+    /**
+     * Slice for GET method, listing tags page by page.
+     *
+     * @since 0.4
+     */
+    static final class Get implements Slice {
+
+        /**
+         * Docker repository.
+         */
+        private final Docker docker;
+
+        /**
+         * Ctor.
+         *
+         * @param docker Docker repository.
+         */
+        Get(final Docker docker) {
+            this.docker = docker;
+        }
+
+        @Override
+        public Response response(
+            final String line,
+            final Iterable<Map.Entry<String, String>> headers,
+            final Publisher<ByteBuffer> body
+        ) {
+            final Request request = new Request(line);
+            final Response res;
+            if (request.valid()) {
+                res = new AsyncResponse(
+                    this.docker.repo(request.name()).manifests()
+                        .tags(request.last(), request.limit())
+                        .thenApply(
+                            tags -> new PageResponse(
+                                String.format("/v2/%s/tags/list", request.name().value()),
+                                "tags",
+                                request.limit(),
+                                tags.json()
+                            )
+                        )
+                );
+            } else {
+                res = new RsWithStatus(RsStatus.BAD_REQUEST);
+            }
+            return res;
+        }
+    }
+
+    /**
+     * HTTP request to tags entity.
+     *
+     * @since 0.4
+     */
+    static final class Request {
+
+        /**
+         * HTTP request line.
+         */
+        private final String line;
+
+        /**
+         * Ctor.
+         *
+         * @param line HTTP request line.
+         */
+        Request(final String line) {
+            this.line = line;
+        }
+
+        /**
+         * Get repository name.
+         *
+         * @return Repository name.
+         */
+        RepoName name() {
+            return new RepoName.Valid(
+                new RqByRegex(this.line, TagsEntity.PATH).path().group("name")
+            );
+        }
+
+        /**
+         * Check pagination parameters are valid.
+         *
+         * @return True if parameters are valid.
+         */
+        boolean valid() {
+            return new Pagination(this.line).valid()
+                && this.tag().map(Tag.Valid::valid).orElse(true);
+        }
+
+        /**
+         * Get tag to list tags after.
+         *
+         * @return Tag, empty if listing starts from the first tag.
+         */
+        Optional<Tag> last() {
+            return this.tag().map(Tag.class::cast);
+        }
+
+        /**
+         * Get max number of tags to list.
+         *
+         * @return Number of tags, all tags are listed if not specified.
+         */
+        int limit() {
+            return new Pagination(this.line).limit();
+        }
+
+        /**
+         * Read tag from last parameter.
+         *
+         * @return Tag, empty if parameter is absent.
+         */
+        private Optional<Tag.Valid> tag() {
+            return new Pagination(this.line).last().map(Tag.Valid::new);
+        }
+    }
+}
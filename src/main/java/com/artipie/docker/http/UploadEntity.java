@@ -23,17 +23,21 @@
  */
 package com.artipie.docker.http;
 
+import com.artipie.asto.Content;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
-import com.artipie.docker.misc.DigestFromContent;
+import com.artipie.docker.Upload;
+import com.artipie.docker.asto.CheckedBlobSource;
+import com.artipie.docker.error.InvalidDigestException;
 import com.artipie.docker.misc.RqByRegex;
+import com.artipie.docker.misc.RqParams;
 import com.artipie.http.Connection;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
 import com.artipie.http.async.AsyncResponse;
-import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
 import com.artipie.http.rs.ContentLength;
 import com.artipie.http.rs.Header;
 import com.artipie.http.rs.Location;
@@ -41,17 +45,20 @@ import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.reactivestreams.Publisher;
 
 /**
  * Blob Upload entity in Docker HTTP API.
- * See <a href="https://docs.docker.com/registry/spec/api/#initiate-blob-upload">Initiate Blob Upload</a>
+ * See <a href="https://docs.docker.com/registry/spec/api/#initiate-blob-upload">Initiate Blob Upload</a>,
+ * <a href="https://docs.docker.com/registry/spec/api/#monolithic-upload">Monolithic Upload</a>,
+ * <a href="https://docs.docker.com/registry/spec/api/#cross-repository-blob-mount">Cross Repository Blob Mount</a>
  * and <a href="https://docs.docker.com/registry/spec/api/#blob-upload">Blob Upload</a>.
  *
  * @since 0.2
@@ -73,6 +80,25 @@ public final class UploadEntity {
     private UploadEntity() {
     }
 
+    /**
+     * Returns BAD_REQUEST response if error is caused by digest mismatch.
+     *
+     * @param error Error occurred while putting blob to layers.
+     * @return BAD_REQUEST response.
+     */
+    private static Response badDigestResponse(final Throwable error) {
+        final Throwable cause;
+        if (error instanceof CompletionException) {
+            cause = error.getCause();
+        } else {
+            cause = error;
+        }
+        if (!(cause instanceof InvalidDigestException)) {
+            throw new CompletionException(cause);
+        }
+        return new RsWithStatus(RsStatus.BAD_REQUEST);
+    }
+
     /**
      * Slice for POST method.
      *
@@ -100,17 +126,70 @@ public final class UploadEntity {
             final Iterable<Map.Entry<String, String>> headers,
             final Publisher<ByteBuffer> body
         ) {
-            final RepoName name = new Request(line).name();
-            return new AsyncResponse(
-                this.docker.repo(name).uploads().start().thenApply(
-                    upload -> new StatusResponse(name, upload.uuid(), 0)
-                )
+            final Request request = new Request(line);
+            final RepoName name = request.name();
+            final Repo repo = this.docker.repo(name);
+            final Optional<String> mount = request.param("mount");
+            final Optional<String> from = request.param("from");
+            final Response response;
+            if (mount.isPresent() && from.isPresent()) {
+                response = new AsyncResponse(
+                    this.mount(
+                        name, new Digest.FromString(mount.get()), new RepoName.Valid(from.get())
+                    )
+                );
+            } else {
+                response = request.param("digest").map(Digest.FromString::new).<Response>map(
+                    digest -> new AsyncResponse(
+                        repo.layers().put(new CheckedBlobSource(new Content.From(body), digest))
+                            .<Response>thenApply(blob -> new CreatedResponse(name, digest))
+                            .exceptionally(UploadEntity::badDigestResponse)
+                    )
+                ).orElseGet(() -> new AsyncResponse(Post.start(repo, name)));
+            }
+            return response;
+        }
+
+        /**
+         * Mount blob from another repository.
+         * Upload is started if blob is not found in other repository.
+         *
+         * @param name Target repository name.
+         * @param digest Blob digest.
+         * @param from Source repository name.
+         * @return Response.
+         */
+        private CompletionStage<Response> mount(
+            final RepoName name, final Digest digest, final RepoName from
+        ) {
+            final Repo repo = this.docker.repo(name);
+            return this.docker.repo(from).layers().get(digest).thenCompose(
+                found -> found.map(
+                    blob -> repo.layers().mount(blob).<Response>thenApply(
+                        mounted -> new CreatedResponse(name, mounted.digest())
+                    )
+                ).orElseGet(() -> Post.start(repo, name))
+            );
+        }
+
+        /**
+         * Start new upload.
+         *
+         * @param repo Repository.
+         * @param name Repository name.
+         * @return Upload status response.
+         */
+        private static CompletionStage<Response> start(final Repo repo, final RepoName name) {
+            return repo.uploads().start().thenApply(
+                upload -> new StatusResponse(name, upload.uuid(), 0)
             );
         }
     }
 
     /**
      * Slice for PATCH method.
+     * If Content-Range header is specified it is checked to continue uploaded data
+     * before the body is read, chunk is rejected with current upload status otherwise.
      *
      * @since 0.2
      */
@@ -139,11 +218,24 @@ public final class UploadEntity {
             final Request request = new Request(line);
             final RepoName name = request.name();
             final String uuid = request.uuid();
+            final List<String> ranges = new RqHeaders(headers, ContentRange.NAME);
+            final List<String> lengths = new RqHeaders(headers, "Content-Length");
             return new AsyncResponse(
                 this.docker.repo(name).uploads().get(uuid).thenCompose(
                     found -> found.<CompletionStage<Response>>map(
-                        upload -> upload.append(body).thenApply(
-                            offset -> new StatusResponse(name, uuid, offset)
+                        upload -> Patch.rejected(upload, ranges, lengths).thenCompose(
+                            rejected -> rejected.<CompletionStage<Response>>map(
+                                size -> CompletableFuture.completedStage(
+                                    new RsWithStatus(
+                                        new StatusResponse(name, uuid, Math.max(size - 1, 0)),
+                                        RsStatus.BAD_RANGE
+                                    )
+                                )
+                            ).orElseGet(
+                                () -> upload.append(body).thenApply(
+                                    offset -> new StatusResponse(name, uuid, offset)
+                                )
+                            )
                         )
                     ).orElseGet(
                         () -> CompletableFuture.completedStage(new RsWithStatus(RsStatus.NOT_FOUND))
@@ -151,6 +243,41 @@ public final class UploadEntity {
                 )
             );
         }
+
+        /**
+         * Check Content-Range of chunk continues uploaded data.
+         * Uploaded data size is read only if Content-Range is specified.
+         *
+         * @param upload Upload.
+         * @param ranges Content-Range header values.
+         * @param lengths Content-Length header values.
+         * @return Number of bytes uploaded if chunk is rejected, empty if chunk is accepted.
+         */
+        private static CompletionStage<Optional<Long>> rejected(
+            final Upload upload, final List<String> ranges, final List<String> lengths
+        ) {
+            final CompletionStage<Optional<Long>> res;
+            if (ranges.isEmpty()) {
+                res = CompletableFuture.completedFuture(Optional.empty());
+            } else {
+                res = upload.size().thenApply(
+                    size -> {
+                        final ContentRange range = new ContentRange(ranges.get(0));
+                        final Optional<Long> rejected;
+                        if (ranges.size() == 1 && range.valid() && range.start() == size
+                            && lengths.stream().allMatch(
+                                len -> len.trim().equals(String.valueOf(range.length()))
+                            )) {
+                            rejected = Optional.empty();
+                        } else {
+                            rejected = Optional.of(size);
+                        }
+                        return rejected;
+                    }
+                );
+            }
+            return res;
+        }
     }
 
     /**
@@ -160,10 +287,6 @@ public final class UploadEntity {
      * @todo #137:30min Figure out whether or not should uploaded data be removed if digests do not
      *  match. There is no direct answer in docs, so this should be check experimentally with real
      *  docker registry.
-     * @todo #142:30min Content is read twice while blob is added: now we first read it to compare
-     *  digests and then to write upload as a blob. Such approach is inefficient and should be
-     *  fixed. One of the possible solution is moving the comparison logic inside
-     *  BlobStore.put() method.
      */
     public static final class Put implements Slice {
 
@@ -194,51 +317,19 @@ public final class UploadEntity {
             return new AsyncResponse(
                 repo.uploads().get(uuid).<Response>thenCompose(
                     found -> found.map(
-                        upload -> upload.content()
-                            .thenCompose(content -> new DigestFromContent(content).digest())
-                            .thenCompose(
-                                digest -> {
-                                    final CompletionStage<Response> res;
-                                    if (digest.string().equals(request.digest().string())) {
-                                        res = upload.content().thenCompose(
-                                            content -> repo.layers().put(content, digest)
-                                                .thenCompose(
-                                                    blob -> upload.delete().thenApply(
-                                                        ignored -> Put.getResponse(name, digest)
-                                                    )
-                                                )
-                                        );
-                                    } else {
-                                        res = CompletableFuture.completedStage(
-                                            new RsWithStatus(RsStatus.BAD_REQUEST)
-                                        );
-                                    }
-                                    return res;
-                                }
-                            )
+                        upload -> {
+                            final Digest digest = request.digest();
+                            return upload.putTo(repo.layers(), digest)
+                                .thenCompose(blob -> upload.delete())
+                                .<Response>thenApply(ignored -> new CreatedResponse(name, digest))
+                                .exceptionally(UploadEntity::badDigestResponse);
+                        }
                     ).orElseGet(
                         () -> CompletableFuture.completedStage(new RsWithStatus(RsStatus.NOT_FOUND))
                     )
                 )
             );
         }
-
-        /**
-         * Returns response.
-         * @param name Repo name
-         * @param digest Digest
-         * @return Response as CompletionStage
-         */
-        private static Response getResponse(
-            final RepoName name, final Digest digest
-        ) {
-            return new RsWithHeaders(
-                new RsWithStatus(RsStatus.CREATED),
-                new Location(String.format("/v2/%s/blobs/%s", name.value(), digest.string())),
-                new ContentLength("0"),
-                new DigestHeader(digest)
-            );
-        }
     }
 
     /**
@@ -297,11 +388,6 @@ public final class UploadEntity {
      */
     static final class Request {
 
-        /**
-         * RegEx pattern for path.
-         */
-        public static final Pattern QUERY = Pattern.compile("digest=(?<digest>[^=]*)");
-
         /**
          * HTTP request line.
          */
@@ -342,15 +428,64 @@ public final class UploadEntity {
          * @return Digest.
          */
         Digest digest() {
-            final String query = Objects.requireNonNull(
-                new RequestLineFrom(this.line).uri().getQuery(),
-                String.format("No query in request: %s", this.line)
+            return new Digest.FromString(
+                this.param("digest").orElseThrow(
+                    () -> new IllegalStateException(
+                        String.format("Unexpected query: %s", this.line)
+                    )
+                )
             );
-            final Matcher matcher = QUERY.matcher(query);
-            if (!matcher.matches()) {
-                throw new IllegalStateException(String.format("Unexpected query: %s", query));
-            }
-            return new Digest.FromString(matcher.group("digest"));
+        }
+
+        /**
+         * Get query parameter.
+         *
+         * @param name Parameter name.
+         * @return Parameter value if present.
+         */
+        Optional<String> param(final String name) {
+            return new RqParams(this.line).value(name);
+        }
+    }
+
+    /**
+     * Blob created HTTP response.
+     *
+     * @since 0.4
+     */
+    private static class CreatedResponse implements Response {
+
+        /**
+         * Repository name.
+         */
+        private final RepoName name;
+
+        /**
+         * Blob digest.
+         */
+        private final Digest digest;
+
+        /**
+         * Ctor.
+         *
+         * @param name Repository name.
+         * @param digest Blob digest.
+         */
+        CreatedResponse(final RepoName name, final Digest digest) {
+            this.name = name;
+            this.digest = digest;
+        }
+
+        @Override
+        public CompletionStage<Void> send(final Connection connection) {
+            return new RsWithHeaders(
+                new RsWithStatus(RsStatus.CREATED),
+                new Location(
+                    String.format("/v2/%s/blobs/%s", this.name.value(), this.digest.string())
+                ),
+                new ContentLength("0"),
+                new DigestHeader(this.digest)
+            ).send(connection);
         }
     }
 
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.docker.Digest;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Signer of blob download URLs.
+ * <p>
+ * If blob storage can provide pre-signed URL to blob data, registry redirects
+ * clients there instead of sending blob bytes itself.
+ *
+ * @since 0.4
+ */
+public interface UrlSigner {
+
+    /**
+     * Sign URL for downloading blob directly from storage.
+     *
+     * @param digest Blob digest.
+     * @return Signed URL, empty if blob should be sent by registry.
+     */
+    CompletionStage<Optional<URI>> signed(Digest digest);
+
+    /**
+     * Signer for storages which cannot sign URLs,
+     * blobs are always sent through registry.
+     *
+     * @since 0.4
+     */
+    final class Passthrough implements UrlSigner {
+
+        @Override
+        public CompletionStage<Optional<URI>> signed(final Digest digest) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+    }
+}
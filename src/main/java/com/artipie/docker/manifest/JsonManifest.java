@@ -25,13 +25,17 @@ package com.artipie.docker.manifest;
 
 import com.artipie.asto.Content;
 import com.artipie.docker.Digest;
+import com.artipie.docker.misc.ByteBufPublisher;
 import com.artipie.docker.misc.Json;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import javax.json.JsonObject;
 import javax.json.JsonString;
@@ -45,6 +49,24 @@ import javax.json.JsonValue;
 @SuppressWarnings("PMD.AvoidDuplicateLiterals")
 public final class JsonManifest implements Manifest {
 
+    /**
+     * Docker manifest list media type.
+     */
+    public static final String MANIFEST_LIST =
+        "application/vnd.docker.distribution.manifest.list.v2+json";
+
+    /**
+     * OCI image index media type.
+     */
+    public static final String IMAGE_INDEX = "application/vnd.oci.image.index.v1+json";
+
+    /**
+     * Media types of manifests listing other manifests.
+     */
+    public static final Collection<String> LISTS = Collections.unmodifiableList(
+        Arrays.asList(JsonManifest.MANIFEST_LIST, JsonManifest.IMAGE_INDEX)
+    );
+
     /**
      * Manifest digest.
      */
@@ -55,6 +77,16 @@ public final class JsonManifest implements Manifest {
      */
     private final Content source;
 
+    /**
+     * Media type known without parsing JSON, empty if unknown.
+     */
+    private final Optional<String> known;
+
+    /**
+     * Parsed JSON, empty until first read.
+     */
+    private final AtomicReference<CompletableFuture<JsonObject>> parsed;
+
     /**
      * Ctor.
      *
@@ -62,13 +94,38 @@ public final class JsonManifest implements Manifest {
      * @param source JSON bytes.
      */
     public JsonManifest(final Digest dgst, final Content source) {
+        this(dgst, source, Optional.empty());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param dgst Manifest digest.
+     * @param source JSON bytes.
+     * @param type Media type known without parsing JSON.
+     */
+    public JsonManifest(final Digest dgst, final Content source, final String type) {
+        this(dgst, source, Optional.of(type));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param dgst Manifest digest.
+     * @param source JSON bytes.
+     * @param type Media type known without parsing JSON, empty if unknown.
+     */
+    private JsonManifest(final Digest dgst, final Content source, final Optional<String> type) {
         this.dgst = dgst;
         this.source = source;
+        this.known = type;
+        this.parsed = new AtomicReference<>();
     }
 
     @Override
     public CompletionStage<String> mediaType() {
-        return this.json().thenApply(root -> root.getString("mediaType"));
+        return this.known.<CompletionStage<String>>map(CompletableFuture::completedFuture)
+            .orElseGet(() -> this.json().thenApply(root -> root.getString("mediaType")));
     }
 
     @Override
@@ -101,6 +158,26 @@ public final class JsonManifest implements Manifest {
         );
     }
 
+    @Override
+    public CompletionStage<Collection<ChildManifest>> manifests() {
+        return this.json().thenApply(
+            root -> Optional.ofNullable(root.getJsonArray("manifests")).map(
+                manifests -> manifests.getValuesAs(JsonValue::asJsonObject).stream()
+                    .<ChildManifest>map(JsonChild::new)
+                    .collect(Collectors.toList())
+            ).orElseGet(Collections::emptyList)
+        );
+    }
+
+    @Override
+    public CompletionStage<Long> size() {
+        return this.source.size().<CompletionStage<Long>>map(CompletableFuture::completedFuture)
+            .orElseGet(
+                () -> new ByteBufPublisher(this.source).bytes()
+                    .thenApply(bytes -> (long) bytes.length)
+            );
+    }
+
     @Override
     public Digest digest() {
         return this.dgst;
@@ -113,11 +190,72 @@ public final class JsonManifest implements Manifest {
 
     /**
      * Read manifest content as JSON object.
+     * Content is parsed lazily at most once, parsed object is immutable
+     * and shared by all readers of this manifest.
      *
      * @return JSON object.
      */
     private CompletionStage<JsonObject> json() {
-        return new Json(this.source).object();
+        final CompletableFuture<JsonObject> fresh = new CompletableFuture<>();
+        final CompletableFuture<JsonObject> res;
+        if (this.parsed.compareAndSet(null, fresh)) {
+            new Json(this.source).object().whenComplete(
+                (json, error) -> {
+                    if (error == null) {
+                        fresh.complete(json);
+                    } else {
+                        fresh.completeExceptionally(error);
+                    }
+                }
+            );
+            res = fresh;
+        } else {
+            res = this.parsed.get();
+        }
+        return res;
+    }
+
+    /**
+     * Child manifest description in JSON format.
+     *
+     * @since 0.4
+     */
+    private static final class JsonChild implements ChildManifest {
+
+        /**
+         * JSON object.
+         */
+        private final JsonObject json;
+
+        /**
+         * Ctor.
+         *
+         * @param json JSON object.
+         */
+        private JsonChild(final JsonObject json) {
+            this.json = json;
+        }
+
+        @Override
+        public Digest digest() {
+            return new Digest.FromString(this.json.getString("digest"));
+        }
+
+        @Override
+        public Optional<String> platform() {
+            return Optional.ofNullable(this.json.getJsonObject("platform")).map(
+                platform -> {
+                    final StringBuilder res = new StringBuilder()
+                        .append(platform.getString("os"))
+                        .append('/')
+                        .append(platform.getString("architecture"));
+                    if (platform.containsKey("variant")) {
+                        res.append('/').append(platform.getString("variant"));
+                    }
+                    return res.toString();
+                }
+            );
+        }
     }
 
     /**
@@ -65,6 +65,20 @@ public interface Manifest {
      */
     CompletionStage<Collection<Layer>> layers();
 
+    /**
+     * Read child manifests of manifest list or image index.
+     *
+     * @return Child manifests, empty for image manifest.
+     */
+    CompletionStage<Collection<ChildManifest>> manifests();
+
+    /**
+     * Read manifest size.
+     *
+     * @return Size of manifest binary content in bytes.
+     */
+    CompletionStage<Long> size();
+
     /**
      * Manifest digest.
      *
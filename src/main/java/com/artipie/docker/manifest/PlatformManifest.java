@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.manifest;
+
+import com.artipie.docker.Manifests;
+import com.artipie.docker.ref.ManifestRef;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Platform specific manifest found by reading manifest list.
+ *
+ * @since 0.4
+ */
+public final class PlatformManifest {
+
+    /**
+     * Repository manifests.
+     */
+    private final Manifests manifests;
+
+    /**
+     * Manifest list reference.
+     */
+    private final ManifestRef ref;
+
+    /**
+     * Platform.
+     */
+    private final String platform;
+
+    /**
+     * Ctor.
+     *
+     * @param manifests Repository manifests.
+     * @param ref Manifest list reference.
+     * @param platform Platform, e.g. "linux/amd64".
+     */
+    public PlatformManifest(
+        final Manifests manifests, final ManifestRef ref, final String platform
+    ) {
+        this.manifests = manifests;
+        this.ref = ref;
+        this.platform = platform;
+    }
+
+    /**
+     * Find platform manifest.
+     *
+     * @return Platform manifest, empty if list is absent or has no such platform.
+     */
+    public CompletionStage<Optional<Manifest>> find() {
+        return this.manifests.get(this.ref).thenCompose(
+            list -> list.map(Manifest::manifests).orElseGet(
+                () -> CompletableFuture.completedFuture(Collections.emptyList())
+            )
+        ).thenCompose(
+            children -> children.stream()
+                .filter(child -> child.platform().map(this.platform::equals).orElse(false))
+                .findFirst()
+                .map(
+                    child -> this.manifests.get(new ManifestRef.FromDigest(child.digest()))
+                ).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
+        );
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import com.artipie.docker.Digest;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.commons.codec.binary.Hex;
+
+/**
+ * SHA-256 calculation which intermediate state can be exported and resumed later.
+ * <p>
+ * Standard {@link java.security.MessageDigest} does not expose its internal state,
+ * so it can't be persisted between requests. This implementation follows FIPS 180-4
+ * and keeps the state in a form that can be saved with {@link #state()} and restored with
+ * {@link #ResumableSha256(byte[])}, so data uploaded in several requests is hashed only once.
+ * </p>
+ * <p>
+ * State format is: total length in bytes (8 bytes), hash words (32 bytes)
+ * and bytes of incomplete block (0-63 bytes).
+ * </p>
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class ResumableSha256 {
+
+    /**
+     * Block size in bytes.
+     */
+    private static final int SIZE = 64;
+
+    /**
+     * Size of state header: length and hash words.
+     */
+    private static final int HEADER = 40;
+
+    /**
+     * Round constants.
+     */
+    private static final int[] ROUNDS = {
+        0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4,
+        0xab1c5ed5, 0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe,
+        0x9bdc06a7, 0xc19bf174, 0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f,
+        0x4a7484aa, 0x5cb0a9dc, 0x76f988da, 0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7,
+        0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967, 0x27b70a85, 0x2e1b2138, 0x4d2c6dfc,
+        0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85, 0xa2bfe8a1, 0xa81a664b,
+        0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070, 0x19a4c116,
+        0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+        0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7,
+        0xc67178f2,
+    };
+
+    /**
+     * Initial hash value.
+     */
+    private static final int[] INITIAL = {
+        0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a,
+        0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19,
+    };
+
+    /**
+     * Hash words.
+     */
+    private final int[] words;
+
+    /**
+     * Incomplete block.
+     */
+    private final byte[] block;
+
+    /**
+     * Message schedule, reused between blocks.
+     */
+    private final int[] schedule;
+
+    /**
+     * Total number of processed bytes.
+     */
+    private long length;
+
+    /**
+     * Ctor.
+     */
+    public ResumableSha256() {
+        this(ResumableSha256.INITIAL.clone(), new byte[ResumableSha256.SIZE], 0L);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param state State exported by {@link #state()}.
+     */
+    public ResumableSha256(final byte[] state) {
+        this(
+            ResumableSha256.readWords(state),
+            ResumableSha256.readBlock(state),
+            ResumableSha256.readLength(state)
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param words Hash words.
+     * @param block Incomplete block.
+     * @param length Total number of processed bytes.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private ResumableSha256(final int[] words, final byte[] block, final long length) {
+        this.words = words;
+        this.block = block;
+        this.length = length;
+        this.schedule = new int[ResumableSha256.SIZE];
+    }
+
+    /**
+     * Update digest with data.
+     * Buffer position is moved to its limit.
+     *
+     * @param data Data.
+     */
+    public void update(final ByteBuffer data) {
+        int filled = this.filled();
+        this.length += data.remaining();
+        if (filled > 0) {
+            final int count = Math.min(ResumableSha256.SIZE - filled, data.remaining());
+            data.get(this.block, filled, count);
+            filled += count;
+            if (filled == ResumableSha256.SIZE) {
+                this.compress(ByteBuffer.wrap(this.block));
+                filled = 0;
+            }
+        }
+        while (data.remaining() >= ResumableSha256.SIZE) {
+            this.compress(data);
+        }
+        if (data.hasRemaining()) {
+            data.get(this.block, filled, data.remaining());
+        }
+    }
+
+    /**
+     * Export current state.
+     *
+     * @return State bytes.
+     */
+    public byte[] state() {
+        final int filled = this.filled();
+        final ByteBuffer state = ByteBuffer.allocate(ResumableSha256.HEADER + filled);
+        state.putLong(this.length);
+        for (final int word : this.words) {
+            state.putInt(word);
+        }
+        state.put(this.block, 0, filled);
+        return state.array();
+    }
+
+    /**
+     * Calculate digest of data processed so far.
+     * The state is not changed, so more data could be added after that.
+     *
+     * @return Digest.
+     */
+    public Digest digest() {
+        final ResumableSha256 copy = new ResumableSha256(this.state());
+        final int filled = this.filled();
+        int padding = ResumableSha256.SIZE - filled;
+        if (padding < 9) {
+            padding += ResumableSha256.SIZE;
+        }
+        final ByteBuffer tail = ByteBuffer.allocate(padding);
+        tail.put((byte) 0x80);
+        tail.position(padding - 8);
+        tail.putLong(this.length * 8);
+        tail.flip();
+        copy.update(tail);
+        final ByteBuffer result = ByteBuffer.allocate(32);
+        for (final int word : copy.words) {
+            result.putInt(word);
+        }
+        return new Digest.Sha256(Hex.encodeHexString(result.array()));
+    }
+
+    /**
+     * Number of bytes in incomplete block.
+     *
+     * @return Number of bytes.
+     */
+    private int filled() {
+        return (int) (this.length % ResumableSha256.SIZE);
+    }
+
+    /**
+     * Process one block of data.
+     *
+     * @param data Data to read block from.
+     * @checkstyle ExecutableStatementCountCheck (50 lines)
+     * @checkstyle BooleanExpressionComplexityCheck (50 lines)
+     */
+    private void compress(final ByteBuffer data) {
+        final int[] sch = this.schedule;
+        for (int idx = 0; idx < 16; idx += 1) {
+            sch[idx] = data.getInt();
+        }
+        for (int idx = 16; idx < ResumableSha256.SIZE; idx += 1) {
+            final int low = sch[idx - 15];
+            final int high = sch[idx - 2];
+            sch[idx] = sch[idx - 16] + sch[idx - 7]
+                + (Integer.rotateRight(low, 7) ^ Integer.rotateRight(low, 18) ^ low >>> 3)
+                + (Integer.rotateRight(high, 17) ^ Integer.rotateRight(high, 19) ^ high >>> 10);
+        }
+        int alpha = this.words[0];
+        int beta = this.words[1];
+        int gamma = this.words[2];
+        int delta = this.words[3];
+        int epsilon = this.words[4];
+        int zeta = this.words[5];
+        int eta = this.words[6];
+        int theta = this.words[7];
+        for (int idx = 0; idx < ResumableSha256.SIZE; idx += 1) {
+            final int left = theta
+                + (Integer.rotateRight(epsilon, 6) ^ Integer.rotateRight(epsilon, 11)
+                ^ Integer.rotateRight(epsilon, 25))
+                + (epsilon & zeta ^ ~epsilon & eta)
+                + ResumableSha256.ROUNDS[idx] + sch[idx];
+            final int right = (Integer.rotateRight(alpha, 2) ^ Integer.rotateRight(alpha, 13)
+                ^ Integer.rotateRight(alpha, 22))
+                + (alpha & beta ^ alpha & gamma ^ beta & gamma);
+            theta = eta;
+            eta = zeta;
+            zeta = epsilon;
+            epsilon = delta + left;
+            delta = gamma;
+            gamma = beta;
+            beta = alpha;
+            alpha = left + right;
+        }
+        this.words[0] += alpha;
+        this.words[1] += beta;
+        this.words[2] += gamma;
+        this.words[3] += delta;
+        this.words[4] += epsilon;
+        this.words[5] += zeta;
+        this.words[6] += eta;
+        this.words[7] += theta;
+    }
+
+    /**
+     * Read hash words from state.
+     *
+     * @param state State bytes.
+     * @return Hash words.
+     */
+    private static int[] readWords(final byte[] state) {
+        final ByteBuffer buf = ResumableSha256.validated(state);
+        buf.position(8);
+        final int[] words = new int[8];
+        for (int idx = 0; idx < words.length; idx += 1) {
+            words[idx] = buf.getInt();
+        }
+        return words;
+    }
+
+    /**
+     * Read incomplete block from state.
+     *
+     * @param state State bytes.
+     * @return Block of block size.
+     */
+    private static byte[] readBlock(final byte[] state) {
+        ResumableSha256.validated(state);
+        return Arrays.copyOf(
+            Arrays.copyOfRange(state, ResumableSha256.HEADER, state.length),
+            ResumableSha256.SIZE
+        );
+    }
+
+    /**
+     * Read total length from state.
+     *
+     * @param state State bytes.
+     * @return Length in bytes.
+     */
+    private static long readLength(final byte[] state) {
+        return ResumableSha256.validated(state).getLong();
+    }
+
+    /**
+     * Validate state bytes.
+     *
+     * @param state State bytes.
+     * @return Buffer wrapping state.
+     */
+    private static ByteBuffer validated(final byte[] state) {
+        final ByteBuffer buf = ByteBuffer.wrap(state);
+        final boolean valid = state.length >= ResumableSha256.HEADER;
+        if (!valid
+            || buf.getLong(0) % ResumableSha256.SIZE != state.length - ResumableSha256.HEADER) {
+            throw new IllegalArgumentException("Invalid SHA-256 state");
+        }
+        return buf;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import com.artipie.http.rq.RequestLineFrom;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Query parameters of request.
+ * @since 0.4
+ */
+public final class RqParams {
+
+    /**
+     * Request line.
+     */
+    private final String line;
+
+    /**
+     * Ctor.
+     * @param line Request line
+     */
+    public RqParams(final String line) {
+        this.line = line;
+    }
+
+    /**
+     * Get URL-decoded value of query parameter.
+     *
+     * @param name Parameter name.
+     * @return Parameter value if present.
+     */
+    public Optional<String> value(final String name) {
+        final String query = new RequestLineFrom(this.line).uri().getRawQuery();
+        final Optional<String> res;
+        if (query == null) {
+            res = Optional.empty();
+        } else {
+            res = Arrays.stream(query.split("&"))
+                .map(param -> param.split("=", 2))
+                .filter(pair -> pair.length == 2 && pair[0].equals(name))
+                .map(pair -> URLDecoder.decode(pair[1], StandardCharsets.UTF_8))
+                .findFirst();
+        }
+        return res;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.proxy;
+
+import com.artipie.docker.RepoName;
+import java.util.Optional;
+
+/**
+ * Path to catalog resource.
+ *
+ * @since 0.4
+ */
+final class CatalogPath {
+
+    /**
+     * Repository name to start listing after, empty to list from the start.
+     */
+    private final Optional<RepoName> from;
+
+    /**
+     * Maximum number of repositories to list.
+     */
+    private final int limit;
+
+    /**
+     * Ctor.
+     *
+     * @param from Repository name to start listing after, empty to list from the start.
+     * @param limit Maximum number of repositories to list.
+     */
+    CatalogPath(final Optional<RepoName> from, final int limit) {
+        this.from = from;
+        this.limit = limit;
+    }
+
+    /**
+     * Build path string.
+     *
+     * @return Path string.
+     */
+    public String string() {
+        return String.format(
+            "/v2/_catalog?n=%d%s",
+            this.limit,
+            this.from.map(name -> String.format("&last=%s", name.value())).orElse("")
+        );
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.proxy;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice coalescing concurrent identical GET and HEAD requests to remote repository.
+ * <p>
+ * First request starts single request to origin, identical requests received
+ * while response body is still being downloaded join it without starting a new one.
+ * Response body is downloaded once and replayed from the start to every joined request,
+ * so late joiners receive whole body too. HEAD responses and GET responses with
+ * {@code Content-Length} not larger than limit, such as manifests, are kept in memory
+ * until download completes and all joined requests consume them. Larger or unsized
+ * bodies, such as blobs, are spooled to temporary file in spool directory and every
+ * request reads the file at its own pace, see {@link Spool}, so memory is bounded
+ * whatever body size is. If spool file can't be created, body is streamed
+ * to the first request only and joined requests are sent to origin separately.
+ * Other requests are passed to origin as is.
+ * </p>
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class CoalescingSlice implements Slice {
+
+    /**
+     * Default limit of shared response body size, 4 MB.
+     */
+    private static final long LIMIT = 4L * 1024 * 1024;
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Limit of in-memory shared response body size in bytes.
+     */
+    private final long limit;
+
+    /**
+     * Directory of spool files.
+     */
+    private final Path dir;
+
+    /**
+     * Requests in flight by request line and headers.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Flight>> flights;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     */
+    public CoalescingSlice(final Slice origin) {
+        this(origin, CoalescingSlice.LIMIT);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param limit Limit of in-memory shared response body size in bytes.
+     */
+    public CoalescingSlice(final Slice origin, final long limit) {
+        this(origin, limit, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin slice.
+     * @param limit Limit of in-memory shared response body size in bytes.
+     * @param dir Directory of spool files for larger bodies.
+     */
+    public CoalescingSlice(final Slice origin, final long limit, final Path dir) {
+        this.origin = origin;
+        this.limit = limit;
+        this.dir = dir;
+        this.flights = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RqMethod method = new RequestLineFrom(line).method();
+        final Response res;
+        if (method == RqMethod.GET || method == RqMethod.HEAD) {
+            res = new AsyncResponse(this.flight(line, headers, body));
+        } else {
+            res = this.origin.response(line, headers, body);
+        }
+        return res;
+    }
+
+    /**
+     * Join request in flight or start new one.
+     *
+     * @param line Request line.
+     * @param headers Request headers.
+     * @param body Request body.
+     * @return Response.
+     */
+    private CompletionStage<Response> flight(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final String key = CoalescingSlice.key(line, headers);
+        final CompletableFuture<Flight> fresh = new CompletableFuture<>();
+        final CompletableFuture<Flight> prev = this.flights.putIfAbsent(key, fresh);
+        final CompletionStage<Response> res;
+        if (prev == null) {
+            final boolean head = new RequestLineFrom(line).method() == RqMethod.HEAD;
+            final Runnable done = () -> this.flights.remove(key, fresh);
+            this.origin.response(line, headers, body).send(
+                (status, rshdrs, rsbody) -> {
+                    fresh.complete(
+                        this.started(head || this.small(rshdrs), status, rshdrs, rsbody, done)
+                    );
+                    return CompletableFuture.allOf();
+                }
+            ).whenComplete(
+                (nothing, error) -> {
+                    if (!fresh.isDone()) {
+                        this.flights.remove(key, fresh);
+                        fresh.completeExceptionally(
+                            Optional.ofNullable(error).orElseGet(
+                                () -> new IllegalStateException("No response received")
+                            )
+                        );
+                    }
+                }
+            );
+            res = fresh.thenApply(Flight::response);
+        } else {
+            res = prev.thenApply(
+                flight -> flight.shared().orElseGet(
+                    () -> this.origin.response(line, headers, body)
+                )
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Start sharing origin response.
+     *
+     * @param memory Whether body should be shared from memory.
+     * @param status Response status.
+     * @param headers Response headers.
+     * @param body Origin response body.
+     * @param done Action on body download completion or failure.
+     * @return Request in flight.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    private Flight started(
+        final boolean memory,
+        final RsStatus status,
+        final Headers headers,
+        final Publisher<ByteBuffer> body,
+        final Runnable done
+    ) {
+        final Flight flight;
+        if (memory) {
+            final Flowable<ByteBuffer> replayed = this.replay(body, done);
+            flight = new Flight(
+                status,
+                headers,
+                replayed.map(ByteBuffer::duplicate),
+                () -> Optional.of(replayed.map(ByteBuffer::duplicate))
+            );
+        } else {
+            flight = this.spool().map(
+                spool -> {
+                    final Flowable<ByteBuffer> first = spool.read().orElseThrow();
+                    spool.download(body, done);
+                    return new Flight(status, headers, first, spool::read);
+                }
+            ).orElseGet(
+                () -> {
+                    done.run();
+                    return new Flight(
+                        status, headers, Flowable.fromPublisher(body), Optional::empty
+                    );
+                }
+            );
+        }
+        return flight;
+    }
+
+    /**
+     * Create spool in new temporary file.
+     *
+     * @return Spool, empty if file can't be created.
+     */
+    private Optional<Spool> spool() {
+        Optional<Spool> res;
+        try {
+            res = Optional.of(
+                new Spool(
+                    FileChannel.open(
+                        this.dir.resolve(String.format("%s.spool", UUID.randomUUID())),
+                        StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE
+                    )
+                )
+            );
+        } catch (final IOException ex) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Check response body is known to be not larger than limit.
+     *
+     * @param headers Response headers.
+     * @return True if body may be shared.
+     */
+    private boolean small(final Headers headers) {
+        return new RqHeaders(headers, "Content-Length").stream()
+            .findFirst()
+            .map(Long::parseLong)
+            .filter(length -> length <= this.limit)
+            .isPresent();
+    }
+
+    /**
+     * Start downloading body, replaying it from the start to every subscriber.
+     * Body is downloaded even if nobody subscribes, so request in flight always completes.
+     * Downloaded buffers are copied, so they are not affected by origin reusing buffers.
+     * Download fails if body is larger than limit, so memory is bounded
+     * even if origin sent wrong {@code Content-Length}.
+     *
+     * @param body Origin body.
+     * @param done Action on download completion or failure.
+     * @return Replayed body.
+     */
+    private Flowable<ByteBuffer> replay(
+        final Publisher<ByteBuffer> body, final Runnable done
+    ) {
+        final AtomicLong size = new AtomicLong();
+        final Flowable<ByteBuffer> cached = Flowable.fromPublisher(body)
+            .map(CoalescingSlice::copy)
+            .doOnNext(
+                buffer -> {
+                    if (size.addAndGet(buffer.remaining()) > this.limit) {
+                        throw new IllegalStateException(
+                            String.format("Response body exceeds %d bytes", this.limit)
+                        );
+                    }
+                }
+            )
+            .doFinally(done::run)
+            .cache();
+        cached.ignoreElements().onErrorComplete().subscribe();
+        return cached;
+    }
+
+    /**
+     * Copy buffer.
+     *
+     * @param buffer Buffer.
+     * @return Copy of remaining bytes of buffer.
+     */
+    private static ByteBuffer copy(final ByteBuffer buffer) {
+        final ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer.duplicate());
+        copy.flip();
+        return copy;
+    }
+
+    /**
+     * Key of request.
+     *
+     * @param line Request line.
+     * @param headers Request headers.
+     * @return Key.
+     */
+    private static String key(
+        final String line, final Iterable<Map.Entry<String, String>> headers
+    ) {
+        return StreamSupport.stream(headers.spliterator(), false)
+            .map(header -> String.format("%s: %s", header.getKey(), header.getValue()))
+            .collect(Collectors.joining("\n", line, ""));
+    }
+
+    /**
+     * Response of request in flight.
+     *
+     * @since 0.4
+     */
+    private static final class Flight {
+
+        /**
+         * Response status.
+         */
+        private final RsStatus status;
+
+        /**
+         * Response headers.
+         */
+        private final Headers headers;
+
+        /**
+         * Response body for first request.
+         */
+        private final Flowable<ByteBuffer> body;
+
+        /**
+         * Response body for joined request, empty if body is not shared.
+         */
+        private final Supplier<Optional<Flowable<ByteBuffer>>> joined;
+
+        /**
+         * Ctor.
+         *
+         * @param status Response status.
+         * @param headers Response headers.
+         * @param body Response body for first request.
+         * @param joined Response body for joined request, empty if body is not shared.
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Flight(
+            final RsStatus status,
+            final Headers headers,
+            final Flowable<ByteBuffer> body,
+            final Supplier<Optional<Flowable<ByteBuffer>>> joined
+        ) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.joined = joined;
+        }
+
+        /**
+         * Response for first request.
+         *
+         * @return Response.
+         */
+        Response response() {
+            return new RsFull(this.status, this.headers, this.body);
+        }
+
+        /**
+         * Response for joined request.
+         *
+         * @return Response, empty if body is not shared.
+         */
+        Optional<Response> shared() {
+            return this.joined.get().map(
+                rsbody -> new RsFull(this.status, this.headers, rsbody)
+            );
+        }
+    }
+}
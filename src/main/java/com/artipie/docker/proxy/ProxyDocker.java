@@ -23,20 +23,37 @@
  */
 package com.artipie.docker.proxy;
 
+import com.artipie.asto.Content;
+import com.artipie.docker.Catalog;
 import com.artipie.docker.Docker;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.misc.ByteBufPublisher;
+import com.artipie.http.Headers;
 import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import javax.json.Json;
 
 /**
  * Proxy {@link Docker} implementation.
+ * Catalog is read from remote registry. Remote registries often do not expose
+ * catalog to anonymous clients, in this case catalog is empty.
+ * Listing fails on other unexpected statuses, so cache may list cached catalog.
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class ProxyDocker implements Docker {
 
     /**
-     * Remote repository.
+     * Remote repository, identical concurrent requests to it are coalesced.
      */
     private final Slice remote;
 
@@ -46,11 +63,43 @@ public final class ProxyDocker implements Docker {
      * @param remote Remote repository.
      */
     public ProxyDocker(final Slice remote) {
-        this.remote = remote;
+        this.remote = new CoalescingSlice(remote);
     }
 
     @Override
     public Repo repo(final RepoName name) {
         return new ProxyRepo(this.remote, name);
     }
+
+    @Override
+    public CompletionStage<Catalog> catalog(final Optional<RepoName> from, final int limit) {
+        final CompletableFuture<Catalog> promise = new CompletableFuture<>();
+        return this.remote.response(
+            new RequestLine(
+                RqMethod.GET.value(), new CatalogPath(from, limit).string(), "HTTP/1.1"
+            ).toString(),
+            Headers.EMPTY,
+            Flowable.empty()
+        ).send(
+            (status, headers, body) -> {
+                final CompletionStage<byte[]> result;
+                if (status == RsStatus.OK) {
+                    result = new ByteBufPublisher(body).bytes();
+                } else if (status == RsStatus.UNAUTHORIZED || status == RsStatus.FORBIDDEN
+                    || status == RsStatus.NOT_FOUND) {
+                    result = CompletableFuture.completedFuture(
+                        Json.createObjectBuilder()
+                            .add("repositories", Json.createArrayBuilder())
+                            .build().toString().getBytes(StandardCharsets.UTF_8)
+                    );
+                } else {
+                    result = CompletableFuture.failedFuture(
+                        new IllegalArgumentException(String.format("Unexpected status: %s", status))
+                    );
+                }
+                return result.<Catalog>thenApply(bytes -> () -> new Content.From(bytes))
+                    .thenAccept(promise::complete).toCompletableFuture();
+            }
+        ).thenCompose(nothing -> promise);
+    }
 }
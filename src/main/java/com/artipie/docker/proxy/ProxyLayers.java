@@ -23,8 +23,8 @@
  */
 package com.artipie.docker.proxy;
 
-import com.artipie.asto.Content;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
 import com.artipie.docker.RepoName;
@@ -71,7 +71,12 @@ public final class ProxyLayers implements Layers {
     }
 
     @Override
-    public CompletionStage<Blob> put(final Content content, final Digest digest) {
+    public CompletionStage<Blob> put(final BlobSource source) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletionStage<Blob> mount(final Blob blob) {
         throw new UnsupportedOperationException();
     }
 
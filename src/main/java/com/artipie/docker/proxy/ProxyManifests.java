@@ -28,9 +28,12 @@ import com.artipie.docker.Digest;
 import com.artipie.docker.Manifests;
 import com.artipie.docker.Repo;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
 import com.artipie.docker.http.DigestHeader;
 import com.artipie.docker.manifest.JsonManifest;
 import com.artipie.docker.manifest.Manifest;
+import com.artipie.docker.manifest.PlatformManifest;
 import com.artipie.docker.misc.ByteBufPublisher;
 import com.artipie.docker.ref.ManifestRef;
 import com.artipie.http.Headers;
@@ -39,15 +42,19 @@ import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import io.reactivex.Flowable;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import javax.json.Json;
 
 /**
  * Proxy implementation of {@link Repo}.
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 public final class ProxyManifests implements Manifests {
 
     /**
@@ -106,4 +113,48 @@ public final class ProxyManifests implements Manifests {
             }
         ).thenCompose(nothing -> promise);
     }
+
+    @Override
+    public CompletionStage<Optional<Manifest>> get(final ManifestRef ref, final String platform) {
+        return new PlatformManifest(this, ref, platform).find();
+    }
+
+    @Override
+    public CompletionStage<Optional<Digest>> delete(final ManifestRef ref) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletionStage<Tags> tags(final Optional<Tag> from, final int limit) {
+        final CompletableFuture<Tags> promise = new CompletableFuture<>();
+        return this.remote.response(
+            new RequestLine(
+                RqMethod.GET.value(),
+                new TagsListPath(this.name, from, limit).string(),
+                "HTTP/1.1"
+            ).toString(),
+            Headers.EMPTY,
+            Flowable.empty()
+        ).send(
+            (status, headers, body) -> {
+                final CompletionStage<byte[]> result;
+                if (status == RsStatus.OK) {
+                    result = new ByteBufPublisher(body).bytes();
+                } else if (status == RsStatus.NOT_FOUND) {
+                    result = CompletableFuture.completedFuture(
+                        Json.createObjectBuilder()
+                            .add("name", this.name.value())
+                            .add("tags", Json.createArrayBuilder())
+                            .build().toString().getBytes(StandardCharsets.UTF_8)
+                    );
+                } else {
+                    result = CompletableFuture.failedFuture(
+                        new IllegalArgumentException(String.format("Unexpected status: %s", status))
+                    );
+                }
+                return result.<Tags>thenApply(bytes -> () -> new Content.From(bytes))
+                    .thenAccept(promise::complete).toCompletableFuture();
+            }
+        ).thenCompose(nothing -> promise);
+    }
 }
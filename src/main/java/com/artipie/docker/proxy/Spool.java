@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.proxy;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.BehaviorProcessor;
+import io.reactivex.schedulers.Schedulers;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+
+/**
+ * Response body downloaded once to temporary file and read by many subscribers.
+ * <p>
+ * Body is written to file as fast as origin sends it, whatever pace readers have.
+ * Every reader reads the file from the start at its own pace and waits for more
+ * data when it reaches the downloaded part, so readers attached late receive
+ * whole body too. Memory used by each reader is bounded by single read buffer.
+ * File is closed and deleted when download is finished and all readers are done.
+ * </p>
+ *
+ * @since 0.4
+ */
+final class Spool {
+
+    /**
+     * Size of read buffer.
+     */
+    private static final int CHUNK = 65_536;
+
+    /**
+     * Spool file channel, file is deleted on close.
+     */
+    private final FileChannel chan;
+
+    /**
+     * Number of bytes written to file.
+     */
+    private final AtomicLong written;
+
+    /**
+     * Updates of number of bytes written to file.
+     */
+    private final BehaviorProcessor<Long> progress;
+
+    /**
+     * Number of active readers, negative if file is closed.
+     */
+    private final AtomicLong readers;
+
+    /**
+     * Download finished flag.
+     */
+    private final AtomicBoolean finished;
+
+    /**
+     * Ctor.
+     *
+     * @param chan Spool file channel, opened for reading and writing.
+     */
+    Spool(final FileChannel chan) {
+        this.chan = chan;
+        this.written = new AtomicLong();
+        this.progress = BehaviorProcessor.createDefault(0L);
+        this.readers = new AtomicLong();
+        this.finished = new AtomicBoolean();
+    }
+
+    /**
+     * Start downloading body to file.
+     *
+     * @param body Origin body.
+     * @param done Action on download completion or failure.
+     */
+    void download(final Publisher<ByteBuffer> body, final Runnable done) {
+        Flowable.fromPublisher(body).subscribe(
+            chunk -> {
+                final ByteBuffer data = chunk.duplicate();
+                long pos = this.written.get();
+                while (data.hasRemaining()) {
+                    pos += this.chan.write(data, pos);
+                }
+                this.written.set(pos);
+                this.progress.onNext(pos);
+            },
+            error -> {
+                done.run();
+                this.progress.onError(error);
+                this.finish();
+            },
+            () -> {
+                done.run();
+                this.progress.onComplete();
+                this.finish();
+            }
+        );
+    }
+
+    /**
+     * Attach new reader.
+     * Returned body should be subscribed, file is kept until it is read.
+     *
+     * @return Body read from the start, empty if file is already deleted.
+     */
+    Optional<Flowable<ByteBuffer>> read() {
+        final Optional<Flowable<ByteBuffer>> res;
+        if (this.readers.getAndUpdate(Spool::acquired) < 0) {
+            res = Optional.empty();
+        } else {
+            final AtomicBoolean released = new AtomicBoolean();
+            res = Optional.of(
+                Flowable.defer(
+                    () -> {
+                        final AtomicLong pos = new AtomicLong();
+                        return this.progress.onBackpressureLatest()
+                            .startWith(this.written.get())
+                            .observeOn(Schedulers.io(), false, 1)
+                            .concatMap(size -> this.range(pos, size), 1);
+                    }
+                ).doFinally(
+                    () -> {
+                        if (released.compareAndSet(false, true)) {
+                            this.readers.decrementAndGet();
+                            this.close();
+                        }
+                    }
+                )
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Number of readers after new reader is attached.
+     *
+     * @param num Number of readers, negative if file is closed.
+     * @return Incremented number, unchanged if file is closed.
+     */
+    private static long acquired(final long num) {
+        final long res;
+        if (num < 0) {
+            res = num;
+        } else {
+            res = num + 1;
+        }
+        return res;
+    }
+
+    /**
+     * Read downloaded file part from position.
+     *
+     * @param pos Reader position, updated as buffers are read.
+     * @param end End of downloaded part.
+     * @return Buffers read on demand.
+     */
+    private Flowable<ByteBuffer> range(final AtomicLong pos, final long end) {
+        return Flowable.generate(
+            emitter -> {
+                final long start = pos.get();
+                if (start < end) {
+                    final ByteBuffer buf = ByteBuffer.allocate(
+                        (int) Math.min(Spool.CHUNK, end - start)
+                    );
+                    while (buf.hasRemaining()) {
+                        if (this.chan.read(buf, start + buf.position()) < 0) {
+                            throw new EOFException("Spool file is truncated");
+                        }
+                    }
+                    buf.flip();
+                    pos.addAndGet(buf.remaining());
+                    emitter.onNext(buf);
+                } else {
+                    emitter.onComplete();
+                }
+            }
+        );
+    }
+
+    /**
+     * Mark download finished and delete file if it is not read.
+     */
+    private void finish() {
+        this.finished.set(true);
+        this.close();
+    }
+
+    /**
+     * Close and delete file if download is finished and nobody reads it.
+     */
+    private void close() {
+        if (this.finished.get() && this.readers.compareAndSet(0, -1)) {
+            try {
+                this.chan.close();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
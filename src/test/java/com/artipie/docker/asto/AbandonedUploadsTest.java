@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Upload;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AbandonedUploads}.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class AbandonedUploadsTest {
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void shouldRemoveOnlyExpiredUploads() {
+        final Upload old = this.start("old-repo");
+        old.append(Flowable.just(ByteBuffer.wrap("data".getBytes())))
+            .toCompletableFuture().join();
+        final AbandonedUploads uploads = new AbandonedUploads(
+            this.storage,
+            Duration.ofHours(1),
+            2,
+            Clock.fixed(Instant.now().plus(Duration.ofHours(2)), ZoneOffset.UTC)
+        );
+        final Upload fresh = new AstoUploads(this.storage, new RepoName.Simple("my/fresh"))
+            .start().toCompletableFuture().join();
+        this.storage.save(
+            new UploadInfoKey(new RepoName.Simple("my/fresh"), fresh.uuid()),
+            new Content.From(new UploadInfo(Instant.now().plus(Duration.ofHours(2))).bytes())
+        ).join();
+        MatcherAssert.assertThat(
+            "Removes one upload",
+            uploads.remove().toCompletableFuture().join(),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Removes expired upload data",
+            this.storage.list(new UploadKey(new RepoName.Simple("old-repo"), old.uuid()))
+                .join().isEmpty(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Keeps fresh upload",
+            new AstoUploads(this.storage, new RepoName.Simple("my/fresh")).get(fresh.uuid())
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Counts scanned uploads",
+            uploads.scanned(),
+            new IsEqual<>(2L)
+        );
+    }
+
+    @Test
+    void shouldRemoveUploadWithoutInfoSeenLongerThanAge() throws Exception {
+        final Upload upload = this.start("broken");
+        final RepoName name = new RepoName.Simple("broken");
+        this.storage.delete(new UploadInfoKey(name, upload.uuid())).join();
+        final Key chunk = new Key.From(new UploadKey(name, upload.uuid()), "chunks", "0");
+        this.storage.save(chunk, new Content.From("lost".getBytes())).join();
+        final AbandonedUploads uploads = new AbandonedUploads(
+            this.storage, Duration.ofMillis(1), 1, Duration.ZERO, Clock.systemUTC()
+        );
+        uploads.remove().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Keeps upload seen first time",
+            this.storage.exists(chunk).join(),
+            new IsEqual<>(true)
+        );
+        Thread.sleep(10);
+        uploads.remove().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Removes upload seen longer than age",
+            this.storage.exists(chunk).join(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Counts removed uploads",
+            uploads.removed(),
+            new IsEqual<>(1L)
+        );
+    }
+
+    @Test
+    void shouldRemoveStagedValues() throws Exception {
+        final Key staged = new Key.From(Staging.Renamed.ROOT, "123");
+        this.storage.save(staged, new Content.From("partial".getBytes())).join();
+        final AbandonedUploads uploads = new AbandonedUploads(
+            this.storage, Duration.ofMillis(1), 1, Duration.ZERO, Clock.systemUTC()
+        );
+        uploads.remove().toCompletableFuture().join();
+        Thread.sleep(10);
+        uploads.remove().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.exists(staged).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldNotListUnmarkedRepositories() {
+        final Key chunk = new Key.From(
+            new UploadKey(new RepoName.Simple("unmarked"), "123"), "chunks", "0"
+        );
+        this.storage.save(chunk, new Content.From("data".getBytes())).join();
+        final AbandonedUploads uploads = new AbandonedUploads(this.storage, Duration.ZERO);
+        uploads.remove().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            uploads.scanned(),
+            new IsEqual<>(0L)
+        );
+    }
+
+    @Test
+    void shouldNotTouchManifests() {
+        final Key link = new Key.From(
+            RegistryRoot.V2, "repositories", "repo", "_manifests", "tags", "latest", "link"
+        );
+        this.storage.save(link, new Content.From("sha256:123".getBytes())).join();
+        new AbandonedUploads(this.storage, Duration.ZERO).remove().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.exists(link).join(),
+            new IsEqual<>(true)
+        );
+    }
+
+    /**
+     * Start upload.
+     *
+     * @param repo Repository name.
+     * @return Started upload.
+     */
+    private Upload start(final String repo) {
+        return new AstoUploads(this.storage, new RepoName.Simple(repo))
+            .start().toCompletableFuture().join();
+    }
+}
@@ -30,6 +30,10 @@ import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.docker.Digest;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
@@ -38,6 +42,8 @@ import org.junit.jupiter.api.Test;
 /**
  * Integration test for {@link AstoBlobs}.
  * @since 0.1
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
  */
 final class AstoBlobsITCase {
     @Test
@@ -46,7 +52,9 @@ final class AstoBlobsITCase {
         final AstoBlobs blobs = new AstoBlobs(storage);
         final ByteBuffer buf = ByteBuffer.wrap(new byte[]{0x00, 0x01, 0x02, 0x03});
         final Digest digest = blobs.put(
-            new Content.From(Flowable.fromArray(buf)), new Digest.Sha256(buf.array())
+            new TrustedBlobSource(
+                new Content.From(Flowable.fromArray(buf)), new Digest.Sha256(buf.array())
+            )
         ).toCompletableFuture().get().digest();
         MatcherAssert.assertThat(
             "Digest alg is not correct",
@@ -72,7 +80,9 @@ final class AstoBlobsITCase {
         final AstoBlobs blobs = new AstoBlobs(new InMemoryStorage());
         final ByteBuffer buf = ByteBuffer.wrap(new byte[] {0x05, 0x06, 0x07, 0x08});
         final Digest digest = blobs.put(
-            new Content.From(Flowable.fromArray(buf)), new Digest.Sha256(buf.array())
+            new TrustedBlobSource(
+                new Content.From(Flowable.fromArray(buf)), new Digest.Sha256(buf.array())
+            )
         ).toCompletableFuture().get().digest();
         final byte[] read = Flowable.fromPublisher(
             blobs.blob(digest)
@@ -83,6 +93,35 @@ final class AstoBlobsITCase {
         MatcherAssert.assertThat(read, Matchers.equalTo(buf.array()));
     }
 
+    @Test
+    void findAbsentBlob() {
+        final AstoBlobs blobs = new AstoBlobs(new InMemoryStorage());
+        final List<Digest> digests = new ArrayList<>(64);
+        for (int idx = 0; idx < 64; ++idx) {
+            digests.add(
+                blobs.put(new TrustedBlobSource(String.valueOf(idx).getBytes()))
+                    .toCompletableFuture().join().digest()
+            );
+        }
+        final Digest absent = new TrustedBlobSource("absent".getBytes()).digest();
+        digests.add(32, absent);
+        MatcherAssert.assertThat(
+            blobs.absent(digests).toCompletableFuture().join().map(Digest::string),
+            new IsEqual<>(Optional.of(absent.string()))
+        );
+    }
+
+    @Test
+    void findNoAbsentBlobIfAllExist() {
+        final AstoBlobs blobs = new AstoBlobs(new InMemoryStorage());
+        final Digest digest = blobs.put(new TrustedBlobSource("data".getBytes()))
+            .toCompletableFuture().join().digest();
+        MatcherAssert.assertThat(
+            blobs.absent(Arrays.asList(digest, digest)).toCompletableFuture().join(),
+            new IsEqual<>(Optional.empty())
+        );
+    }
+
     @Test
     void readAbsentBlob() throws Exception {
         final AstoBlobs blobs = new AstoBlobs(new InMemoryStorage());
@@ -24,16 +24,33 @@
 
 package com.artipie.docker.asto;
 
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.fs.FileStorage;
 import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Digest;
+import com.artipie.docker.Docker;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.misc.ByteBufPublisher;
+import com.artipie.docker.ref.ManifestRef;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+import javax.json.Json;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test case for {@link AstoDocker}.
  * @since 0.1
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 final class AstoDockerTest {
     @Test
     void createsAstoRepo() {
@@ -42,4 +59,58 @@ final class AstoDockerTest {
             Matchers.instanceOf(AstoRepo.class)
         );
     }
+
+    @Test
+    void createsRepoInDirectory(final @TempDir Path dir) {
+        MatcherAssert.assertThat(
+            new AstoDocker(dir).repo(new RepoName.Simple("repo2")),
+            Matchers.instanceOf(AstoRepo.class)
+        );
+    }
+
+    @Test
+    void servesBlobFromFileStorage(final @TempDir Path dir) {
+        final Docker docker = new AstoDocker(new FileStorage(dir));
+        final RepoName name = new RepoName.Simple("files");
+        final byte[] data = "file layer".getBytes();
+        final Digest digest = docker.repo(name).layers()
+            .put(new TrustedBlobSource(data)).toCompletableFuture().join().digest();
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(
+                docker.repo(name).layers().get(digest).toCompletableFuture().join()
+                    .orElseThrow().content().toCompletableFuture().join()
+            ).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void listsPushedRepositoryInCatalog() {
+        final Storage storage = new InMemoryStorage();
+        final Docker docker = new AstoDocker(storage);
+        final Blob config = new AstoBlobs(storage)
+            .put(new TrustedBlobSource("config".getBytes())).toCompletableFuture().join();
+        docker.repo(new RepoName.Simple("my-alpine")).manifests().put(
+            new ManifestRef.FromTag(new Tag.Valid("1")),
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add(
+                        "config",
+                        Json.createObjectBuilder().add("digest", config.digest().string())
+                    )
+                    .add("layers", Json.createArrayBuilder())
+                    .build().toString().getBytes()
+            )
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new String(
+                new ByteBufPublisher(
+                    docker.catalog(Optional.empty(), Integer.MAX_VALUE)
+                        .toCompletableFuture().join().json()
+                ).bytes().toCompletableFuture().join(),
+                StandardCharsets.UTF_8
+            ),
+            new IsEqual<>("{\"repositories\":[\"my-alpine\"]}")
+        );
+    }
 }
@@ -23,7 +23,6 @@
  */
 package com.artipie.docker.asto;
 
-import com.artipie.asto.Content;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.docker.Blob;
 import com.artipie.docker.Digest;
@@ -63,7 +62,7 @@ final class AstoLayersTest {
     @Test
     void shouldAddLayer() {
         final byte[] data = "data".getBytes();
-        final Digest digest = this.layers.put(new Content.From(data), new Digest.Sha256(data))
+        final Digest digest = this.layers.put(new TrustedBlobSource(data))
             .toCompletableFuture().join().digest();
         final Optional<Blob> found = this.blobs.blob(digest).toCompletableFuture().join();
         MatcherAssert.assertThat(found.isPresent(), new IsEqual<>(true));
@@ -73,7 +72,7 @@ final class AstoLayersTest {
     @Test
     void shouldReadExistingLayer() {
         final byte[] data = "content".getBytes();
-        final Digest digest = this.blobs.put(new Content.From(data), new Digest.Sha256(data))
+        final Digest digest = this.blobs.put(new TrustedBlobSource(data))
             .toCompletableFuture().join().digest();
         final Optional<Blob> found = this.layers.get(digest).toCompletableFuture().join();
         MatcherAssert.assertThat(found.isPresent(), new IsEqual<>(true));
@@ -89,6 +88,29 @@ final class AstoLayersTest {
         MatcherAssert.assertThat(found.isPresent(), new IsEqual<>(false));
     }
 
+    @Test
+    void shouldMountExistingBlob() {
+        final Blob blob = this.blobs.put(new TrustedBlobSource("mounted".getBytes()))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.layers.mount(blob).toCompletableFuture().join().digest(),
+            new IsEqual<>(blob.digest())
+        );
+    }
+
+    @Test
+    void shouldMountBlobFromOtherStorage() {
+        final byte[] data = "copied".getBytes();
+        final Blob blob = new AstoBlobs(new InMemoryStorage())
+            .put(new TrustedBlobSource(data))
+            .toCompletableFuture().join();
+        this.layers.mount(blob).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            bytes(this.blobs.blob(blob.digest()).toCompletableFuture().join().get()),
+            new IsEqual<>(data)
+        );
+    }
+
     private static byte[] bytes(final Blob blob) {
         return new ByteBufPublisher(blob.content().toCompletableFuture().join())
             .bytes()
@@ -25,20 +25,28 @@
 package com.artipie.docker.asto;
 
 import com.artipie.asto.Content;
+import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.docker.Blob;
 import com.artipie.docker.Digest;
 import com.artipie.docker.ExampleStorage;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.Tag;
+import com.artipie.docker.manifest.JsonManifest;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.misc.ByteBufPublisher;
 import com.artipie.docker.ref.ManifestRef;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 import javax.json.Json;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -48,9 +56,10 @@ import org.junit.jupiter.api.Timeout;
  *
  * @since 0.3
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
  * @checkstyle MagicNumberCheck (500 lines)
  */
-@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
 final class AstoManifestsTest {
 
     /**
@@ -91,15 +100,60 @@ final class AstoManifestsTest {
         MatcherAssert.assertThat(manifest.isPresent(), new IsEqual<>(false));
     }
 
+    @Test
+    @Timeout(5)
+    void shouldResolveTagCachedOnPut() {
+        final Storage memory = new InMemoryStorage();
+        final RepoName name = new RepoName.Simple("cached");
+        final AstoManifests cached = new AstoManifests(
+            memory,
+            new AstoBlobs(memory),
+            new LinkCache(Duration.ofMinutes(1)),
+            new SortedIndex(memory),
+            name
+        );
+        final Blob config = new AstoBlobs(memory)
+            .put(new TrustedBlobSource("conf".getBytes())).toCompletableFuture().join();
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("latest"));
+        cached.put(
+            ref,
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add(
+                        "config",
+                        Json.createObjectBuilder().add("digest", config.digest().string())
+                    )
+                    .add("layers", Json.createArrayBuilder())
+                    .build().toString().getBytes()
+            )
+        ).toCompletableFuture().join();
+        memory.delete(
+            new Key.From(
+                RegistryRoot.V2, "repositories", "cached", "_manifests", ref.link().string()
+            )
+        ).join();
+        MatcherAssert.assertThat(
+            "Tag is resolved from cache",
+            cached.get(ref).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Tag link is removed from storage",
+            new AstoManifests(memory, new AstoBlobs(memory), name)
+                .get(ref).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
     @Test
     @Timeout(5)
     void shouldReadAddedManifest() {
         final byte[] conf = "config".getBytes();
         final Blob config = new AstoBlobs(this.storage)
-            .put(new Content.From(conf), new Digest.Sha256(conf)).toCompletableFuture().join();
+            .put(new TrustedBlobSource(conf)).toCompletableFuture().join();
         final byte[] lyr = "layer".getBytes();
         final Blob layer = new AstoBlobs(this.storage)
-            .put(new Content.From(lyr), new Digest.Sha256(lyr)).toCompletableFuture().join();
+            .put(new TrustedBlobSource(lyr)).toCompletableFuture().join();
         final byte[] data = Json.createObjectBuilder()
             .add(
                 "config",
@@ -128,6 +182,365 @@ final class AstoManifestsTest {
         );
     }
 
+    @Test
+    @Timeout(5)
+    void shouldResolvePlatformManifestOfList() {
+        final Storage memory = new InMemoryStorage();
+        final AstoManifests repo = new AstoManifests(
+            memory, new AstoBlobs(memory), new RepoName.Simple("multi")
+        );
+        final Manifest image = AstoManifestsTest.image(memory, repo);
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("latest"));
+        repo.put(ref, AstoManifestsTest.list(image.digest())).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Platform manifest is resolved",
+            repo.get(ref, "linux/amd64").toCompletableFuture().join()
+                .map(found -> found.digest().string()),
+            new IsEqual<>(Optional.of(image.digest().string()))
+        );
+        MatcherAssert.assertThat(
+            "Absent platform is not resolved",
+            repo.get(ref, "linux/s390x").toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldResolvePlatformManifestWithoutPlatformLinks() {
+        final Storage memory = new InMemoryStorage();
+        final RepoName name = new RepoName.Simple("multi");
+        final AstoManifests repo = new AstoManifests(memory, new AstoBlobs(memory), name);
+        final Manifest image = AstoManifestsTest.image(memory, repo);
+        final Manifest list = repo.put(
+            new ManifestRef.FromTag(new Tag.Valid("1.0")),
+            AstoManifestsTest.list(image.digest())
+        ).toCompletableFuture().join();
+        memory.delete(
+            new Key.From(
+                RegistryRoot.V2, "repositories", name.value(), "_manifests", "revisions",
+                list.digest().alg(), list.digest().hex(), "platforms", "linux/amd64", "link"
+            )
+        ).join();
+        MatcherAssert.assertThat(
+            new AstoManifests(memory, new AstoBlobs(memory), name)
+                .get(new ManifestRef.FromDigest(list.digest()), "linux/amd64")
+                .toCompletableFuture().join()
+                .map(found -> found.digest().string()),
+            new IsEqual<>(Optional.of(image.digest().string()))
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldFailPutListWithAbsentManifest() {
+        final CompletionException cause = Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.manifests.put(
+                new ManifestRef.FromTag(new Tag.Valid("list")),
+                AstoManifestsTest.list(new Digest.Sha256("absent"))
+            ).toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            cause.getCause(),
+            new IsInstanceOf(IllegalArgumentException.class)
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldFailPutManifestWithAbsentBlob() {
+        final CompletionException cause = Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.manifests.put(
+                new ManifestRef.FromTag(new Tag.Valid("absent")),
+                new Content.From(
+                    Json.createObjectBuilder()
+                        .add(
+                            "config",
+                            Json.createObjectBuilder().add(
+                                "digest", new Digest.Sha256("absent".getBytes()).string()
+                            )
+                        )
+                        .add("layers", Json.createArrayBuilder())
+                        .build().toString().getBytes()
+                )
+            ).toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            cause.getCause().getMessage(),
+            Matchers.startsWith("Blob does not exist")
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldReadManifestMetadataWithoutContent() {
+        final Storage memory = new InMemoryStorage();
+        final AstoManifests repo = new AstoManifests(
+            memory, new AstoBlobs(memory), new RepoName.Simple("meta")
+        );
+        final Manifest list = repo.put(
+            new ManifestRef.FromTag(new Tag.Valid("latest")),
+            AstoManifestsTest.list(AstoManifestsTest.image(memory, repo).digest())
+        ).toCompletableFuture().join();
+        final long size = list.size().toCompletableFuture().join();
+        memory.delete(new BlobKey(list.digest())).join();
+        final Manifest found = repo.get(new ManifestRef.FromDigest(list.digest()))
+            .toCompletableFuture().join().orElseThrow();
+        MatcherAssert.assertThat(
+            "Media type is read from metadata",
+            found.mediaType().toCompletableFuture().join(),
+            new IsEqual<>(JsonManifest.MANIFEST_LIST)
+        );
+        MatcherAssert.assertThat(
+            "Size is read from metadata",
+            found.size().toCompletableFuture().join(),
+            new IsEqual<>(size)
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldNotRewriteManifestMetadata() {
+        final Storage memory = new InMemoryStorage();
+        final RepoName name = new RepoName.Simple("rewritten");
+        final AstoManifests repo = new AstoManifests(memory, new AstoBlobs(memory), name);
+        final byte[] bytes = new ByteBufPublisher(
+            AstoManifestsTest.list(AstoManifestsTest.image(memory, repo).digest())
+        ).bytes().toCompletableFuture().join();
+        final Manifest list = repo.put(
+            new ManifestRef.FromTag(new Tag.Valid("first")), new Content.From(bytes)
+        ).toCompletableFuture().join();
+        final Key info = new Key.From(
+            RegistryRoot.V2, "repositories", name.value(), "_manifests", "revisions",
+            list.digest().alg(), list.digest().hex(), "info"
+        );
+        final boolean stored = memory.exists(info).join();
+        memory.save(info, new Content.From("kept".getBytes())).join();
+        repo.put(new ManifestRef.FromTag(new Tag.Valid("again")), new Content.From(bytes))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Record was written on first put",
+            stored,
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Record is not written again",
+            memory.value(info).thenCompose(pub -> new ByteBufPublisher(pub).asciiString())
+                .join(),
+            new IsEqual<>("kept")
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldReadManifestContentWithMetadata() {
+        final Storage memory = new InMemoryStorage();
+        final AstoManifests repo = new AstoManifests(
+            memory, new AstoBlobs(memory), new RepoName.Simple("content")
+        );
+        final Manifest image = AstoManifestsTest.image(memory, repo);
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("1"));
+        final byte[] bytes = new ByteBufPublisher(
+            AstoManifestsTest.list(image.digest())
+        ).bytes().toCompletableFuture().join();
+        repo.put(ref, new Content.From(bytes)).toCompletableFuture().join();
+        final Manifest found = repo.get(ref).toCompletableFuture().join().orElseThrow();
+        MatcherAssert.assertThat(
+            "Content is read",
+            new ByteBufPublisher(found.content()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(bytes)
+        );
+        MatcherAssert.assertThat(
+            "Content is parsed",
+            found.manifests().toCompletableFuture().join().iterator().next().digest().string(),
+            new IsEqual<>(image.digest().string())
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldIndexTagRevisions() {
+        final Storage memory = new InMemoryStorage();
+        final RepoName name = new RepoName.Simple("indexed");
+        final AstoManifests repo = new AstoManifests(memory, new AstoBlobs(memory), name);
+        final Manifest image = AstoManifestsTest.image(memory, repo);
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("latest"));
+        final Manifest first = repo.put(ref, AstoManifestsTest.list(image.digest()))
+            .toCompletableFuture().join();
+        repo.put(ref, image.content()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            memory.list(
+                new Key.From(
+                    RegistryRoot.V2, "repositories", name.value(), "_manifests",
+                    "tags", "latest", "index"
+                )
+            ).join().stream().map(Key::string).collect(Collectors.toList()),
+            Matchers.containsInAnyOrder(
+                Matchers.endsWith(String.format("index/sha256/%s/link", first.digest().hex())),
+                Matchers.endsWith(String.format("index/sha256/%s/link", image.digest().hex()))
+            )
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldDeleteTagKeepingRevisions() {
+        final Storage memory = new InMemoryStorage();
+        final RepoName name = new RepoName.Simple("untagged");
+        final AstoManifests repo = new AstoManifests(
+            memory,
+            new AstoBlobs(memory),
+            new LinkCache(Duration.ofMinutes(1)),
+            new SortedIndex(memory),
+            name
+        );
+        final Manifest image = AstoManifestsTest.image(memory, repo);
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("1"));
+        repo.put(ref, image.content()).toCompletableFuture().join();
+        repo.put(new ManifestRef.FromTag(new Tag.Valid("2")), image.content())
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Deleted manifest digest is returned",
+            repo.delete(ref).toCompletableFuture().join().map(Digest::string),
+            new IsEqual<>(Optional.of(image.digest().string()))
+        );
+        MatcherAssert.assertThat(
+            "Deleted tag is not resolved",
+            repo.get(ref).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Deleted tag is not listed",
+            new ByteBufPublisher(
+                repo.tags(Optional.empty(), Integer.MAX_VALUE).toCompletableFuture().join().json()
+            ).asciiString().toCompletableFuture().join(),
+            new IsEqual<>("{\"name\":\"untagged\",\"tags\":[\"2\"]}")
+        );
+        MatcherAssert.assertThat(
+            "Revision is kept",
+            repo.get(new ManifestRef.FromDigest(image.digest())).toCompletableFuture().join()
+                .isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Revision does not link deleted tag",
+            memory.exists(
+                new Key.From(
+                    RegistryRoot.V2, "repositories", name.value(), "_manifests", "revisions",
+                    image.digest().alg(), image.digest().hex(), "tags", "1", "link"
+                )
+            ).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldDeleteRevisionWithTags() {
+        final Storage memory = new InMemoryStorage();
+        final RepoName name = new RepoName.Simple("deleted");
+        final AstoManifests repo = new AstoManifests(
+            memory,
+            new AstoBlobs(memory),
+            new LinkCache(Duration.ofMinutes(1)),
+            new SortedIndex(memory),
+            name
+        );
+        final Manifest image = AstoManifestsTest.image(memory, repo);
+        final ManifestRef ref = new ManifestRef.FromTag(new Tag.Valid("latest"));
+        final Manifest list = repo.put(ref, AstoManifestsTest.list(image.digest()))
+            .toCompletableFuture().join();
+        repo.put(ref, image.content()).toCompletableFuture().join();
+        repo.delete(new ManifestRef.FromDigest(list.digest())).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Revision is not resolved",
+            repo.get(new ManifestRef.FromDigest(list.digest())).toCompletableFuture().join()
+                .isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Revision items are deleted",
+            memory.list(
+                new Key.From(
+                    RegistryRoot.V2, "repositories", name.value(), "_manifests", "revisions",
+                    list.digest().alg(), list.digest().hex()
+                )
+            ).join(),
+            Matchers.empty()
+        );
+        MatcherAssert.assertThat(
+            "Tag referencing other revision is kept",
+            repo.get(ref).toCompletableFuture().join().map(found -> found.digest().string()),
+            new IsEqual<>(Optional.of(image.digest().string()))
+        );
+        repo.delete(new ManifestRef.FromDigest(image.digest())).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Tag referencing deleted revision is deleted",
+            memory.list(
+                new Key.From(
+                    RegistryRoot.V2, "repositories", name.value(), "_manifests", "tags"
+                )
+            ).join(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldNotDeleteAbsentManifest() {
+        MatcherAssert.assertThat(
+            this.manifests.delete(new ManifestRef.FromTag(new Tag.Valid("absent")))
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    /**
+     * Put image manifest by digest.
+     * @param storage Storage
+     * @param repo Manifests
+     * @return Image manifest
+     */
+    private static Manifest image(final Storage storage, final AstoManifests repo) {
+        final Blob config = new AstoBlobs(storage)
+            .put(new TrustedBlobSource("conf".getBytes())).toCompletableFuture().join();
+        final byte[] data = Json.createObjectBuilder()
+            .add("config", Json.createObjectBuilder().add("digest", config.digest().string()))
+            .add("layers", Json.createArrayBuilder())
+            .build().toString().getBytes();
+        return repo.put(
+            new ManifestRef.FromDigest(new Digest.Sha256(data)), new Content.From(data)
+        ).toCompletableFuture().join();
+    }
+
+    /**
+     * Manifest list with single linux/amd64 manifest.
+     * @param child Child manifest digest
+     * @return Manifest list content
+     */
+    private static Content list(final Digest child) {
+        return new Content.From(
+            Json.createObjectBuilder()
+                .add("mediaType", JsonManifest.MANIFEST_LIST)
+                .add(
+                    "manifests",
+                    Json.createArrayBuilder().add(
+                        Json.createObjectBuilder()
+                            .add("digest", child.string())
+                            .add(
+                                "platform",
+                                Json.createObjectBuilder()
+                                    .add("architecture", "amd64")
+                                    .add("os", "linux")
+                            )
+                    )
+                )
+                .build().toString().getBytes()
+        );
+    }
+
     private byte[] manifest(final ManifestRef ref) {
         return this.manifests.get(ref)
             .thenCompose(
@@ -26,7 +26,9 @@ package com.artipie.docker.asto;
 import com.artipie.asto.Content;
 import com.artipie.asto.Storage;
 import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.error.InvalidDigestException;
 import com.artipie.docker.misc.ByteBufPublisher;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
@@ -45,6 +47,7 @@ import org.junit.jupiter.api.Test;
  * Tests for {@link AstoUpload}.
  *
  * @since 0.2
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 class AstoUploadTest {
 
@@ -98,19 +101,33 @@ class AstoUploadTest {
     }
 
     @Test
-    void shouldFailAppendedSecondChunk() {
+    void shouldReturnOffsetWhenAppendedSecondChunk() {
         this.upload.start().toCompletableFuture().join();
         this.upload.append(Flowable.just(ByteBuffer.wrap("one".getBytes())))
             .toCompletableFuture()
             .join();
+        // @checkstyle MagicNumberCheck (5 lines)
         MatcherAssert.assertThat(
-            Assertions.assertThrows(
-                CompletionException.class,
-                () -> this.upload.append(Flowable.just(ByteBuffer.wrap("two".getBytes())))
-                    .toCompletableFuture()
-                    .join()
-            ).getCause(),
-            new IsInstanceOf(UnsupportedOperationException.class)
+            this.upload.append(Flowable.just(ByteBuffer.wrap("three".getBytes())))
+                .toCompletableFuture()
+                .join(),
+            new IsEqual<>(7L)
+        );
+    }
+
+    @Test
+    void shouldReadChunksInOrder() {
+        this.upload.start().toCompletableFuture().join();
+        final String[] chunks = {"first", "-second", "-third", "-fourth", "-fifth"};
+        for (final String chunk : chunks) {
+            this.upload.append(Flowable.just(ByteBuffer.wrap(chunk.getBytes())))
+                .toCompletableFuture()
+                .join();
+        }
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(this.contentFromUpload()).asciiString()
+                .toCompletableFuture().join(),
+            new IsEqual<>(String.join("", chunks))
         );
     }
 
@@ -143,6 +160,43 @@ class AstoUploadTest {
         );
     }
 
+    @Test
+    void shouldPutUploadedDataToLayers() {
+        final byte[] chunk = "layer".getBytes();
+        this.upload.start().toCompletableFuture().join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap(chunk))).toCompletableFuture().join();
+        final Digest digest = new Digest.Sha256(chunk);
+        this.upload.putTo(new AstoLayers(new AstoBlobs(this.storage)), digest)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(this.storage.value(new BlobKey(digest)).join()).bytes()
+                .toCompletableFuture().join(),
+            new IsEqual<>(chunk)
+        );
+    }
+
+    @Test
+    void shouldFailPutToLayersWhenDigestMismatch() {
+        this.upload.start().toCompletableFuture().join();
+        this.upload.append(Flowable.just(ByteBuffer.wrap("data".getBytes())))
+            .toCompletableFuture().join();
+        final Digest digest = new Digest.Sha256("other".getBytes());
+        MatcherAssert.assertThat(
+            "Fails with invalid digest error",
+            Assertions.assertThrows(
+                CompletionException.class,
+                () -> this.upload.putTo(new AstoLayers(new AstoBlobs(this.storage)), digest)
+                    .toCompletableFuture().join()
+            ).getCause(),
+            new IsInstanceOf(InvalidDigestException.class)
+        );
+        MatcherAssert.assertThat(
+            "Does not create blob",
+            this.storage.exists(new BlobKey(digest)).join(),
+            new IsEqual<>(false)
+        );
+    }
+
     /**
      * Gets content from upload.
      * @return Content
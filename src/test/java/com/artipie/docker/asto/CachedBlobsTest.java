@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Digest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CachedBlobs}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class CachedBlobsTest {
+
+    /**
+     * Storage.
+     */
+    private InMemoryStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void answersRepeatedLookupFromCache() {
+        final CachedBlobs blobs = new CachedBlobs(this.storage, 10);
+        final Digest digest = this.save("abc");
+        blobs.blob(digest).toCompletableFuture().join();
+        this.storage.delete(new BlobKey(digest)).toCompletableFuture().join();
+        final Optional<Blob> found = blobs.blob(digest).toCompletableFuture().join();
+        MatcherAssert.assertThat(found.isPresent(), new IsEqual<>(true));
+        MatcherAssert.assertThat(
+            found.get().size().toCompletableFuture().join(),
+            new IsEqual<>(3L)
+        );
+        MatcherAssert.assertThat(blobs.hits(), new IsEqual<>(1L));
+        MatcherAssert.assertThat(blobs.misses(), new IsEqual<>(1L));
+    }
+
+    @Test
+    void doesNotCacheAbsentBlob() {
+        final CachedBlobs blobs = new CachedBlobs(this.storage, 10);
+        final Digest digest = new TrustedBlobSource("xyz".getBytes()).digest();
+        MatcherAssert.assertThat(
+            blobs.blob(digest).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+        this.save("xyz");
+        MatcherAssert.assertThat(
+            blobs.blob(digest).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(blobs.misses(), new IsEqual<>(2L));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBlob() {
+        final CachedBlobs blobs = new CachedBlobs(this.storage, 1);
+        final Digest first = this.save("one");
+        final Digest second = this.save("two");
+        blobs.blob(first).toCompletableFuture().join();
+        blobs.blob(second).toCompletableFuture().join();
+        blobs.blob(first).toCompletableFuture().join();
+        MatcherAssert.assertThat(blobs.hits(), new IsEqual<>(0L));
+        MatcherAssert.assertThat(blobs.misses(), new IsEqual<>(3L));
+    }
+
+    @Test
+    void remembersExistingBlobsOfBatch() {
+        final CachedBlobs blobs = new CachedBlobs(this.storage, 10);
+        final Digest digest = this.save("batch");
+        MatcherAssert.assertThat(
+            "Blob exists in storage",
+            blobs.absent(Collections.singleton(digest)).toCompletableFuture().join(),
+            new IsEqual<>(Optional.empty())
+        );
+        this.storage.delete(new BlobKey(digest)).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Blob existence is cached",
+            blobs.absent(Collections.singleton(digest)).toCompletableFuture().join(),
+            new IsEqual<>(Optional.empty())
+        );
+    }
+
+    @Test
+    void findsAbsentBlobOfBatch() {
+        final CachedBlobs blobs = new CachedBlobs(this.storage, 10);
+        final Digest existing = this.save("one");
+        final Digest absent = new TrustedBlobSource("two".getBytes()).digest();
+        MatcherAssert.assertThat(
+            blobs.absent(Arrays.asList(existing, absent)).toCompletableFuture().join()
+                .map(Digest::string),
+            new IsEqual<>(Optional.of(absent.string()))
+        );
+    }
+
+    /**
+     * Save blob to storage.
+     * @param data Blob data
+     * @return Blob digest
+     */
+    private Digest save(final String data) {
+        return new AstoBlobs(this.storage).put(new TrustedBlobSource(data.getBytes()))
+            .toCompletableFuture().join().digest();
+    }
+}
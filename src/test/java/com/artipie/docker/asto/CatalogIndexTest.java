@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.RepoName;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CatalogIndex}.
+ *
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class CatalogIndexTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Index being tested.
+     */
+    private CatalogIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.index = new CatalogIndex(this.storage, new SortedIndex(this.storage));
+    }
+
+    @Test
+    void shouldListAddedRepositories() {
+        this.index.add(new RepoName.Simple("my-alpine")).toCompletableFuture().join();
+        this.index.add(new RepoName.Simple("library/busybox")).toCompletableFuture().join();
+        this.index.add(new RepoName.Simple("my-alpine")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.index.list(Optional.empty(), Integer.MAX_VALUE).toCompletableFuture().join(),
+            Matchers.contains("library/busybox", "my-alpine")
+        );
+    }
+
+    @Test
+    void shouldBuildIndexFromRepositories() {
+        this.save("repositories/my-alpine/_manifests/tags/1/current/link");
+        this.save("repositories/library/busybox/_manifests/revisions/sha256/12/link");
+        this.save("repositories/empty/_uploads/123/data");
+        MatcherAssert.assertThat(
+            this.index.list(Optional.of(new RepoName.Simple("library/busybox")), 1)
+                .toCompletableFuture().join(),
+            Matchers.contains("my-alpine")
+        );
+    }
+
+    @Test
+    void shouldNotReadIndexToAddKnownRepository() {
+        final RepoName name = new RepoName.Simple("my-alpine");
+        this.index.add(name).toCompletableFuture().join();
+        final Key root = new Key.From(RegistryRoot.V2, "_catalog", "root");
+        this.storage.delete(root).join();
+        this.index.add(name).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.exists(root).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    /**
+     * Save empty value to registry root.
+     * @param key Key relative to registry root
+     */
+    private void save(final String key) {
+        this.storage.save(new Key.From(RegistryRoot.V2, key), new Content.From(new byte[0])).join();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
+import com.artipie.docker.error.InvalidDigestException;
+import com.artipie.docker.misc.ByteBufPublisher;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CheckedBlobSource}.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+class CheckedBlobSourceTest {
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void shouldSaveContentWhenDigestMatches() {
+        final byte[] data = "valid".getBytes();
+        final Key key = new Key.From("checked");
+        new CheckedBlobSource(new Content.From(data), new Digest.Sha256(data))
+            .saveTo(this.storage, key)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(this.storage.value(key).join()).bytes()
+                .toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void shouldFailAndNotSaveWhenDigestMismatch() {
+        final Key key = new Key.From("unchecked");
+        MatcherAssert.assertThat(
+            "Fails with invalid digest error",
+            Assertions.assertThrows(
+                CompletionException.class,
+                () -> new CheckedBlobSource(
+                    new Content.From("invalid".getBytes()),
+                    new Digest.Sha256("other".getBytes())
+                ).saveTo(this.storage, key).toCompletableFuture().join()
+            ).getCause(),
+            new IsInstanceOf(InvalidDigestException.class)
+        );
+        MatcherAssert.assertThat(
+            "Does not save content",
+            this.storage.exists(key).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldReadButNotRewriteExistingBlob() {
+        final byte[] data = "existing".getBytes();
+        final Key key = new Key.From("blob");
+        final byte[] stored = "stored".getBytes();
+        this.storage.save(key, new Content.From(stored)).join();
+        final AtomicBoolean read = new AtomicBoolean();
+        new CheckedBlobSource(
+            new Content.From(
+                Flowable.just(ByteBuffer.wrap(data)).doOnComplete(() -> read.set(true))
+            ),
+            new Digest.Sha256(data)
+        ).saveTo(this.storage, key).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Reads content",
+            read.get(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Does not rewrite blob",
+            new ByteBufPublisher(this.storage.value(key).join()).bytes()
+                .toCompletableFuture().join(),
+            new IsEqual<>(stored)
+        );
+    }
+
+    @Test
+    void shouldFailWhenExistingBlobDigestMismatch() {
+        final Key key = new Key.From("mismatch");
+        this.storage.save(key, new Content.From("some".getBytes())).join();
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                CompletionException.class,
+                () -> new CheckedBlobSource(
+                    new Content.From("wrong".getBytes()),
+                    new Digest.Sha256("right".getBytes())
+                ).saveTo(this.storage, key).toCompletableFuture().join()
+            ).getCause(),
+            new IsInstanceOf(InvalidDigestException.class)
+        );
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link FrequencySketch}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class FrequencySketchTest {
+
+    @Test
+    void countsIncrements() {
+        final FrequencySketch sketch = new FrequencySketch(64);
+        IntStream.range(0, 3).forEach(idx -> sketch.increment("foo"));
+        sketch.increment("bar");
+        MatcherAssert.assertThat(sketch.frequency("foo"), new IsEqual<>(3));
+        MatcherAssert.assertThat(sketch.frequency("bar"), new IsEqual<>(1));
+    }
+
+    @Test
+    void saturatesCounters() {
+        final FrequencySketch sketch = new FrequencySketch(64);
+        IntStream.range(0, 100).forEach(idx -> sketch.increment("hot"));
+        MatcherAssert.assertThat(sketch.frequency("hot"), new IsEqual<>(15));
+    }
+
+    @Test
+    void agesCounters() {
+        final FrequencySketch sketch = new FrequencySketch(4);
+        IntStream.range(0, 10).forEach(idx -> sketch.increment("old"));
+        IntStream.range(0, 50).forEach(idx -> sketch.increment(String.valueOf(idx)));
+        MatcherAssert.assertThat(sketch.frequency("old"), Matchers.lessThan(10));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.ByteBufPublisher;
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link HotBlobs}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+final class HotBlobsTest {
+
+    @Test
+    void servesCachedContentFromMemory() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        final HotBlobs blobs = new HotBlobs(storage, 100, 10);
+        final byte[] data = "hot".getBytes();
+        final Digest digest = blobs.put(new TrustedBlobSource(data))
+            .toCompletableFuture().join().digest();
+        MatcherAssert.assertThat(bytes(blobs, digest), new IsEqual<>(data));
+        storage.save(new BlobKey(digest), new Content.From(new byte[0]))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(bytes(blobs, digest), new IsEqual<>(data));
+    }
+
+    @Test
+    void readsLargeBlobFromOrigin() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        final HotBlobs blobs = new HotBlobs(storage, 100, 2);
+        final byte[] data = "large".getBytes();
+        final Digest digest = blobs.put(new TrustedBlobSource(data))
+            .toCompletableFuture().join().digest();
+        MatcherAssert.assertThat(bytes(blobs, digest), new IsEqual<>(data));
+        storage.save(new BlobKey(digest), new Content.From(new byte[0]))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(bytes(blobs, digest).length, new IsEqual<>(0));
+    }
+
+    @Test
+    void streamsContentOnceWhileLoading() {
+        final PublishProcessor<ByteBuffer> stream = PublishProcessor.create();
+        final Streaming origin = new Streaming(stream, 6);
+        final HotBlobs blobs = new HotBlobs(new Single(origin), 100, 10);
+        final Digest digest = origin.digest();
+        final TestSubscriber<ByteBuffer> first = Flowable.fromPublisher(
+            blobs.blob(digest).toCompletableFuture().join().get()
+                .content().toCompletableFuture().join()
+        ).test();
+        stream.onNext(ByteBuffer.wrap("big".getBytes()));
+        first.assertValueCount(1);
+        final CompletableFuture<Content> second = blobs.blob(digest)
+            .thenCompose(found -> found.get().content())
+            .toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Joins load in progress",
+            second.isDone(),
+            new IsEqual<>(false)
+        );
+        stream.onNext(ByteBuffer.wrap("dog".getBytes()));
+        stream.onComplete();
+        first.assertComplete();
+        MatcherAssert.assertThat(
+            "Reads loaded content",
+            new ByteBufPublisher(second.join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>("bigdog".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Reads origin once",
+            origin.reads.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    /**
+     * Read blob content.
+     * @param blobs Blob store
+     * @param digest Blob digest
+     * @return Content bytes
+     */
+    private static byte[] bytes(final HotBlobs blobs, final Digest digest) {
+        final Blob blob = blobs.blob(digest).toCompletableFuture().join().get();
+        return new ByteBufPublisher(blob.content().toCompletableFuture().join())
+            .bytes()
+            .toCompletableFuture().join();
+    }
+
+    /**
+     * Blob store with single blob.
+     *
+     * @since 0.4
+     */
+    private static final class Single implements BlobStore {
+
+        /**
+         * Blob.
+         */
+        private final Blob origin;
+
+        /**
+         * Ctor.
+         * @param origin Blob
+         */
+        Single(final Blob origin) {
+            this.origin = origin;
+        }
+
+        @Override
+        public CompletionStage<Optional<Blob>> blob(final Digest digest) {
+            return CompletableFuture.completedFuture(Optional.of(this.origin));
+        }
+
+        @Override
+        public CompletionStage<Optional<Digest>> absent(final Collection<Digest> digests) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Blob> put(final BlobSource source) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Blob streamed from publisher, counting content reads.
+     *
+     * @since 0.4
+     */
+    private static final class Streaming implements Blob {
+
+        /**
+         * Blob content stream.
+         */
+        private final Flowable<ByteBuffer> stream;
+
+        /**
+         * Blob size.
+         */
+        private final long length;
+
+        /**
+         * Number of content reads.
+         */
+        private final AtomicInteger reads;
+
+        /**
+         * Ctor.
+         * @param stream Blob content stream
+         * @param length Blob size
+         */
+        Streaming(final Flowable<ByteBuffer> stream, final long length) {
+            this.stream = stream;
+            this.length = length;
+            this.reads = new AtomicInteger();
+        }
+
+        @Override
+        public Digest digest() {
+            return new Digest.Sha256("abc");
+        }
+
+        @Override
+        public CompletionStage<Long> size() {
+            return CompletableFuture.completedFuture(this.length);
+        }
+
+        @Override
+        public CompletionStage<Content> content() {
+            this.reads.incrementAndGet();
+            return CompletableFuture.completedFuture(new Content.From(this.length, this.stream));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.docker.Digest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LinkCache}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class LinkCacheTest {
+
+    @Test
+    void findsStableLink() {
+        final LinkCache cache = new LinkCache(Duration.ZERO, Duration.ofMinutes(1));
+        final Digest digest = new Digest.Sha256("123");
+        cache.stable(new Key.From("revision"), digest);
+        MatcherAssert.assertThat(
+            cache.find(new Key.From("revision")),
+            new IsEqual<>(Optional.of(digest))
+        );
+    }
+
+    @Test
+    void doesNotCacheStableLinkWithZeroTimeout() {
+        final LinkCache cache = new LinkCache(Duration.ZERO);
+        cache.stable(new Key.From("uncached"), new Digest.Sha256("321"));
+        MatcherAssert.assertThat(
+            cache.find(new Key.From("uncached")).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void findsExpiringLinkBeforeTimeout() {
+        final LinkCache cache = new LinkCache(Duration.ofMinutes(1));
+        final Digest digest = new Digest.Sha256("456");
+        cache.expiring(new Key.From("tag"), digest);
+        MatcherAssert.assertThat(
+            cache.find(new Key.From("tag")),
+            new IsEqual<>(Optional.of(digest))
+        );
+    }
+
+    @Test
+    void expiresLinkAfterTimeout() {
+        final LinkCache cache = new LinkCache(Duration.ZERO);
+        cache.expiring(new Key.From("old"), new Digest.Sha256("789"));
+        MatcherAssert.assertThat(
+            cache.find(new Key.From("old")).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void expiresStableLinkAfterTimeout() {
+        final LinkCache cache = new LinkCache(
+            Duration.ZERO, Duration.ZERO, 1, Clock.systemUTC()
+        );
+        cache.stable(new Key.From("deleted"), new Digest.Sha256("abc"));
+        MatcherAssert.assertThat(
+            cache.find(new Key.From("deleted")).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void invalidatesLink() {
+        final LinkCache cache = new LinkCache(Duration.ofMinutes(1));
+        cache.stable(new Key.From("gone"), new Digest.Sha256("def"));
+        cache.invalidate(new Key.From("gone"));
+        MatcherAssert.assertThat(
+            cache.find(new Key.From("gone")).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedLink() {
+        final LinkCache cache = new LinkCache(
+            Duration.ofMinutes(1), Duration.ofMinutes(1), 1, Clock.systemUTC()
+        );
+        cache.stable(new Key.From("first"), new Digest.Sha256("111"));
+        cache.stable(new Key.From("second"), new Digest.Sha256("222"));
+        MatcherAssert.assertThat(
+            cache.find(new Key.From("first")).isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ManifestInfo}.
+ *
+ * @since 0.4
+ */
+final class ManifestInfoTest {
+
+    @Test
+    void shouldReadSavedRecord() {
+        final Digest digest = new Digest.Sha256("manifest".getBytes());
+        final String type = "application/json";
+        final ManifestInfo info = new ManifestInfo(
+            new Json(
+                new Content.From(
+                    new ManifestInfo(digest, type, 2L).bytes()
+                )
+            ).object().toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            "Digest is read",
+            info.digest().string(),
+            new IsEqual<>(digest.string())
+        );
+        MatcherAssert.assertThat(
+            "Media type is read",
+            info.mediaType(),
+            new IsEqual<>(type)
+        );
+        MatcherAssert.assertThat(
+            "Size is read",
+            info.size(),
+            new IsEqual<>(2L)
+        );
+    }
+
+    @Test
+    void shouldBeCompact() {
+        final Digest digest = new Digest.Sha256("x".getBytes());
+        MatcherAssert.assertThat(
+            new String(new ManifestInfo(digest, "type", 1L).bytes()),
+            new IsEqual<>(
+                String.format(
+                    "{\"digest\":\"%s\",\"mediaType\":\"type\",\"size\":1}",
+                    digest.string()
+                )
+            )
+        );
+    }
+}
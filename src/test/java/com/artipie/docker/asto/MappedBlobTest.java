@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.docker.Blob;
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.ByteBufPublisher;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link MappedBlob}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class MappedBlobTest {
+
+    @Test
+    void readsContent(final @TempDir Path dir) throws IOException {
+        final byte[] data = new byte[2_097_153];
+        new Random().nextBytes(data);
+        final Path file = dir.resolve("data");
+        Files.write(file, data);
+        final Blob blob = new MappedBlob(file, new Digest.Sha256("123"));
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(blob.content().toCompletableFuture().join())
+                .bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            blob.size().toCompletableFuture().join(),
+            new IsEqual<>((long) data.length)
+        );
+    }
+
+    @Test
+    void readsEmptyContent(final @TempDir Path dir) throws IOException {
+        final Path file = dir.resolve("empty");
+        Files.write(file, new byte[0]);
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(
+                new MappedBlob(file, new Digest.Sha256("abc")).content()
+                    .toCompletableFuture().join()
+            ).bytes().toCompletableFuture().join().length,
+            new IsEqual<>(0)
+        );
+    }
+
+    @Test
+    void readsContentMappedInRegions(final @TempDir Path dir) throws IOException {
+        final byte[] data = new byte[10_000];
+        new Random().nextBytes(data);
+        final Path file = dir.resolve("regions");
+        Files.write(file, data);
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(
+                new MappedBlob(file, new Digest.Sha256("def"), ForkJoinPool.commonPool(), 3_000L)
+                    .content().toCompletableFuture().join()
+            ).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void readsFileInGivenExecutor(final @TempDir Path dir) throws IOException {
+        final byte[] data = "executor".getBytes();
+        final Path file = dir.resolve("exec");
+        Files.write(file, data);
+        final AtomicInteger tasks = new AtomicInteger();
+        final Executor exec = task -> {
+            tasks.incrementAndGet();
+            new Thread(task).start();
+        };
+        MatcherAssert.assertThat(
+            "Reads content",
+            new ByteBufPublisher(
+                new MappedBlob(file, new Digest.Sha256("fed"), exec, 1_024L)
+                    .content().toCompletableFuture().join()
+            ).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            "Runs file operations in executor",
+            tasks.get() > 1,
+            new IsEqual<>(true)
+        );
+    }
+}
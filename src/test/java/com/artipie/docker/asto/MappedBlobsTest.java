@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.ByteBufPublisher;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link MappedBlobs}.
+ *
+ * @since 0.4
+ */
+final class MappedBlobsTest {
+
+    @Test
+    void readsSavedBlobFromFile(final @TempDir Path dir) {
+        final MappedBlobs blobs = new MappedBlobs(new AstoBlobs(new FileStorage(dir)), dir);
+        final byte[] data = "mapped".getBytes();
+        final Digest digest = blobs.put(new TrustedBlobSource(data))
+            .toCompletableFuture().join().digest();
+        final Optional<Blob> found = blobs.blob(digest).toCompletableFuture().join();
+        MatcherAssert.assertThat(found.get(), Matchers.instanceOf(MappedBlob.class));
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(found.get().content().toCompletableFuture().join())
+                .bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void doesNotFindAbsentBlob(final @TempDir Path dir) {
+        MatcherAssert.assertThat(
+            new MappedBlobs(new AstoBlobs(new FileStorage(dir)), dir)
+                .blob(new TrustedBlobSource("none".getBytes()).digest())
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.ByteBufPublisher;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MovedBlobSource}.
+ *
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class MovedBlobSourceTest {
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void shouldMoveContent() {
+        final byte[] data = "move me".getBytes();
+        final Key source = new Key.From("source");
+        final Key target = new Key.From("target");
+        this.storage.save(source, new Content.From(data)).join();
+        new MovedBlobSource(source, new Digest.Sha256(data))
+            .saveTo(this.storage, target).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Saves content to target",
+            new ByteBufPublisher(this.storage.value(target).join()).bytes()
+                .toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            "Removes source",
+            this.storage.exists(source).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldKeepExistingBlob() {
+        final Key source = new Key.From("one");
+        final Key target = new Key.From("two");
+        this.storage.save(source, new Content.From("blob".getBytes())).join();
+        this.storage.save(target, new Content.From("blob".getBytes())).join();
+        new MovedBlobSource(source, new Digest.Sha256("blob".getBytes()))
+            .saveTo(this.storage, target).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.exists(source).join(),
+            new IsEqual<>(true)
+        );
+    }
+}
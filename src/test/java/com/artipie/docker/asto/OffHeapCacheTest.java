@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import java.nio.ByteBuffer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link OffHeapCache}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class OffHeapCacheTest {
+
+    @Test
+    void returnsPutEntry() {
+        final OffHeapCache cache = new OffHeapCache(10, 5);
+        cache.get("one");
+        put(cache, "one", 4);
+        MatcherAssert.assertThat(cache.get("one").get().remaining(), new IsEqual<>(4));
+    }
+
+    @Test
+    void rejectsEntryAboveCap() {
+        final OffHeapCache cache = new OffHeapCache(10, 5);
+        cache.get("big");
+        MatcherAssert.assertThat(cache.reserve("big", 6).isPresent(), new IsEqual<>(false));
+    }
+
+    @Test
+    void doesNotOverbookReservedSpace() {
+        final OffHeapCache cache = new OffHeapCache(8, 8);
+        cache.get("first");
+        cache.get("second");
+        final ByteBuffer first = cache.reserve("first", 6).get();
+        MatcherAssert.assertThat(
+            "Rejects entry not fitting with reserved one",
+            cache.reserve("second", 6).isPresent(),
+            new IsEqual<>(false)
+        );
+        cache.release(first);
+        MatcherAssert.assertThat(
+            "Admits entry after reserved space is released",
+            cache.reserve("second", 6).isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void evictsLessFrequentEntry() {
+        final OffHeapCache cache = new OffHeapCache(8, 8);
+        cache.get("rare");
+        put(cache, "rare", 6);
+        cache.get("often");
+        cache.get("often");
+        put(cache, "often", 6);
+        MatcherAssert.assertThat(cache.get("often").isPresent(), new IsEqual<>(true));
+        MatcherAssert.assertThat(cache.get("rare").isPresent(), new IsEqual<>(false));
+    }
+
+    @Test
+    void keepsMoreFrequentEntry() {
+        final OffHeapCache cache = new OffHeapCache(8, 8);
+        cache.get("popular");
+        cache.get("popular");
+        put(cache, "popular", 6);
+        cache.get("newcomer");
+        put(cache, "newcomer", 6);
+        MatcherAssert.assertThat(cache.get("popular").isPresent(), new IsEqual<>(true));
+        MatcherAssert.assertThat(cache.get("newcomer").isPresent(), new IsEqual<>(false));
+    }
+
+    /**
+     * Reserve entry and put it to cache if admitted.
+     * @param cache Cache
+     * @param key Entry key
+     * @param size Entry size
+     */
+    private static void put(final OffHeapCache cache, final String key, final int size) {
+        cache.reserve(key, size).ifPresent(data -> cache.commit(key, data));
+    }
+}
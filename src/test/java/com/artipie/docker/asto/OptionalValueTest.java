@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.misc.ByteBufPublisher;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link OptionalValue}.
+ *
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class OptionalValueTest {
+
+    @Test
+    void shouldReadPresentValue() {
+        final Storage storage = new InMemoryStorage();
+        final Key key = new Key.From("present");
+        storage.save(key, new Content.From("value".getBytes())).join();
+        MatcherAssert.assertThat(
+            new OptionalValue(storage, key)
+                .read(content -> new ByteBufPublisher(content).asciiString())
+                .toCompletableFuture().join(),
+            new IsEqual<>(Optional.of("value"))
+        );
+    }
+
+    @Test
+    void shouldReadAbsentValueAsEmpty(final @TempDir Path dir) {
+        MatcherAssert.assertThat(
+            new OptionalValue(new FileStorage(dir), new Key.From("absent"))
+                .read(content -> new ByteBufPublisher(content).asciiString())
+                .toCompletableFuture().join(),
+            new IsEqual<>(Optional.empty())
+        );
+    }
+
+    @Test
+    void shouldFailIfPresentValueIsNotParsed() {
+        final Storage storage = new InMemoryStorage();
+        final Key key = new Key.From("broken");
+        storage.save(key, new Content.From("value".getBytes())).join();
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> new OptionalValue(storage, key)
+                .read(
+                    content -> CompletableFuture.failedFuture(new IllegalStateException())
+                )
+                .toCompletableFuture().join()
+        );
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SortedIndex}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
+final class SortedIndexTest {
+
+    /**
+     * Index key used in tests.
+     */
+    private static final Key KEY = new Key.From("index");
+
+    /**
+     * Index being tested.
+     */
+    private SortedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.index = new SortedIndex(new InMemoryStorage());
+    }
+
+    @Test
+    void shouldListAddedNamesInOrder() {
+        this.add("latest", "1.0", "2.0", "1.0");
+        MatcherAssert.assertThat(
+            this.list(Optional.empty(), Integer.MAX_VALUE, SortedIndexTest.empty()),
+            Matchers.contains("1.0", "2.0", "latest")
+        );
+    }
+
+    @Test
+    void shouldListPage() {
+        this.add("a", "b", "c", "d");
+        MatcherAssert.assertThat(
+            this.list(Optional.of("a"), 2, SortedIndexTest.empty()),
+            Matchers.contains("b", "c")
+        );
+    }
+
+    @Test
+    void shouldListAfterAbsentName() {
+        this.add("a", "c", "e");
+        MatcherAssert.assertThat(
+            this.list(Optional.of("b"), 10, SortedIndexTest.empty()),
+            Matchers.contains("c", "e")
+        );
+    }
+
+    @Test
+    void shouldRemoveNames() {
+        this.add("a", "b", "c");
+        this.index.remove(SortedIndexTest.KEY, "b", SortedIndexTest.empty())
+            .toCompletableFuture().join();
+        this.index.remove(SortedIndexTest.KEY, "x", SortedIndexTest.empty())
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.list(Optional.empty(), Integer.MAX_VALUE, SortedIndexTest.empty()),
+            Matchers.contains("a", "c")
+        );
+    }
+
+    @Test
+    void shouldBuildAbsentIndexOnce() {
+        MatcherAssert.assertThat(
+            "Index is built",
+            this.list(
+                Optional.empty(), 10,
+                asto -> CompletableFuture.completedFuture(Arrays.asList("x", "y"))
+            ),
+            Matchers.contains("x", "y")
+        );
+        MatcherAssert.assertThat(
+            "Index is saved",
+            this.list(Optional.empty(), 10, SortedIndexTest.empty()),
+            Matchers.contains("x", "y")
+        );
+    }
+
+    @Test
+    void shouldAddConcurrently() {
+        CompletableFuture.allOf(
+            IntStream.range(0, 50).mapToObj(
+                num -> this.index.add(
+                    SortedIndexTest.KEY, String.valueOf(num), SortedIndexTest.empty()
+                ).toCompletableFuture()
+            ).toArray(CompletableFuture[]::new)
+        ).join();
+        MatcherAssert.assertThat(
+            this.list(Optional.empty(), Integer.MAX_VALUE, SortedIndexTest.empty()),
+            Matchers.containsInAnyOrder(
+                IntStream.range(0, 50).mapToObj(String::valueOf)
+                    .collect(Collectors.toList()).toArray()
+            )
+        );
+    }
+
+    @Test
+    void shouldSplitFullPages() {
+        this.index = new SortedIndex(new InMemoryStorage(), 2);
+        this.add("e", "a", "g", "c", "b", "f", "d");
+        MatcherAssert.assertThat(
+            "Lists all names",
+            this.list(Optional.empty(), Integer.MAX_VALUE, SortedIndexTest.empty()),
+            Matchers.contains("a", "b", "c", "d", "e", "f", "g")
+        );
+        MatcherAssert.assertThat(
+            "Lists names across pages",
+            this.list(Optional.of("b"), 3, SortedIndexTest.empty()),
+            Matchers.contains("c", "d", "e")
+        );
+    }
+
+    @Test
+    void shouldReadOnlyPagesOfListedRange() {
+        final Storage storage = new InMemoryStorage();
+        this.index = new SortedIndex(storage, 2);
+        this.add("a", "b", "c", "d", "e", "f");
+        storage.delete(new Key.From(SortedIndexTest.KEY, "pages", "0")).join();
+        MatcherAssert.assertThat(
+            this.list(Optional.of("d"), 2, SortedIndexTest.empty()),
+            Matchers.contains("e", "f")
+        );
+    }
+
+    @Test
+    void shouldDropEmptiedPages() {
+        this.index = new SortedIndex(new InMemoryStorage(), 2);
+        this.add("a", "b", "c", "d", "e");
+        for (final String name : Arrays.asList("c", "d", "a")) {
+            this.index.remove(SortedIndexTest.KEY, name, SortedIndexTest.empty())
+                .toCompletableFuture().join();
+        }
+        this.add("c");
+        MatcherAssert.assertThat(
+            this.list(Optional.empty(), Integer.MAX_VALUE, SortedIndexTest.empty()),
+            Matchers.contains("b", "c", "e")
+        );
+    }
+
+    @Test
+    void shouldBuildPagedIndex() {
+        this.index = new SortedIndex(new InMemoryStorage(), 2);
+        MatcherAssert.assertThat(
+            this.list(
+                Optional.of("a"), 3,
+                asto -> CompletableFuture.completedFuture(Arrays.asList("a", "b", "c", "d", "e"))
+            ),
+            Matchers.contains("b", "c", "d")
+        );
+    }
+
+    /**
+     * Add names to index.
+     * @param names Names
+     */
+    private void add(final String... names) {
+        for (final String name : names) {
+            this.index.add(SortedIndexTest.KEY, name, SortedIndexTest.empty())
+                .toCompletableFuture().join();
+        }
+    }
+
+    /**
+     * List names from index.
+     * @param from Name to list after
+     * @param limit Max number of names
+     * @param initial Builds absent index
+     * @return Names
+     */
+    private List<String> list(
+        final Optional<String> from, final int limit,
+        final Function<Storage, CompletionStage<List<String>>> initial
+    ) {
+        return this.index.list(SortedIndexTest.KEY, from, limit, initial)
+            .toCompletableFuture().join();
+    }
+
+    /**
+     * Builder of empty index.
+     * @return Function returning no names
+     */
+    private static Function<Storage, CompletionStage<List<String>>> empty() {
+        return asto -> CompletableFuture.completedFuture(Collections.emptyList());
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.SubStorage;
+import com.artipie.asto.Transaction;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Digest;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Upload;
+import com.artipie.docker.misc.ByteBufPublisher;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link Staging}.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.AvoidDuplicateLiterals"})
+class StagingTest {
+
+    @Test
+    void shouldSaveContentAndCleanTemporaryKey(final @TempDir Path dir) {
+        final Storage storage = new FileStorage(dir);
+        final Key key = new Key.From("blob");
+        final byte[] data = "staged".getBytes();
+        new Staging.Renamed().save(storage, key, new Content.From(data))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Saves content",
+            new ByteBufPublisher(storage.value(key).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            "Leaves no temporary values",
+            storage.list(Staging.Renamed.ROOT).join().isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldNotSavePartialContent(final @TempDir Path dir) {
+        final Storage storage = new FileStorage(dir);
+        final Key key = new Key.From("partial");
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> new Staging.Renamed().save(
+                storage,
+                key,
+                new Content.From(
+                    Flowable.concat(
+                        Flowable.just(ByteBuffer.wrap("part".getBytes())),
+                        Flowable.error(new IllegalStateException("Connection lost"))
+                    )
+                )
+            ).toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            "Does not save content",
+            storage.exists(key).join(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Deletes temporary value",
+            storage.list(Staging.Renamed.ROOT).join().isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldMoveStoredValue(final @TempDir Path dir) {
+        final Storage storage = new FileStorage(dir);
+        final Key source = new Key.From("chunk");
+        final Key key = new Key.From("target");
+        final byte[] data = "moved".getBytes();
+        storage.save(source, new Content.From(data)).join();
+        new Staging.Renamed().move(storage, source, key).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Moves content",
+            new ByteBufPublisher(storage.value(key).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            "Removes source",
+            storage.exists(source).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldStreamStoredValueInWrappedStorage() {
+        final Storage storage = new SubStorage(new Key.From("prefix"), new Copying());
+        final Key source = new Key.From("upload");
+        final Key key = new Key.From("layer");
+        final byte[] data = "streamed".getBytes();
+        storage.save(source, new Content.From(data)).join();
+        new Staging.Streamed().move(storage, source, key).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Streams content",
+            new ByteBufPublisher(storage.value(key).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            "Removes source",
+            storage.exists(source).join(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldSaveContentDirectlyInWrappedStorage() {
+        final Storage storage = new SubStorage(new Key.From("sub"), new Copying());
+        final Key key = new Key.From("direct");
+        final byte[] data = "direct".getBytes();
+        new Staging.Streamed().save(storage, key, new Content.From(data))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Saves content",
+            new ByteBufPublisher(storage.value(key).join()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            "Leaves no temporary values",
+            storage.list(Staging.Renamed.ROOT).join().isEmpty(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldPutUploadedBlobWithStreamedStaging() {
+        final Storage storage = new SubStorage(new Key.From("registry"), new Copying());
+        final AstoDocker docker = new AstoDocker(storage, new Staging.Streamed());
+        final RepoName name = new RepoName.Valid("wrapped");
+        final Upload upload = docker.repo(name).uploads().start().toCompletableFuture().join();
+        final byte[] data = "layer".getBytes();
+        upload.append(Flowable.just(ByteBuffer.wrap(data))).toCompletableFuture().join();
+        final Blob blob = upload.putTo(docker.repo(name).layers(), new Digest.Sha256(data))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(blob.content().toCompletableFuture().join())
+                .bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    /**
+     * Storage which has no rename and fails to move values, like S3 storage
+     * copying objects above size limit.
+     *
+     * @since 0.4
+     */
+    private static final class Copying implements Storage {
+
+        /**
+         * Origin storage.
+         */
+        private final Storage origin = new InMemoryStorage();
+
+        @Override
+        public CompletableFuture<Boolean> exists(final Key key) {
+            return this.origin.exists(key);
+        }
+
+        @Override
+        public CompletableFuture<Collection<Key>> list(final Key prefix) {
+            return this.origin.list(prefix);
+        }
+
+        @Override
+        public CompletableFuture<Void> save(final Key key, final Content content) {
+            return this.origin.save(key, content);
+        }
+
+        @Override
+        public CompletableFuture<Void> move(final Key source, final Key destination) {
+            return CompletableFuture.failedFuture(
+                new UnsupportedOperationException("Object is too large to copy")
+            );
+        }
+
+        @Override
+        public CompletableFuture<Long> size(final Key key) {
+            return this.origin.size(key);
+        }
+
+        @Override
+        public CompletableFuture<Content> value(final Key key) {
+            return this.origin.value(key);
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(final Key key) {
+            return this.origin.delete(key);
+        }
+
+        @Override
+        public CompletableFuture<Transaction> transaction(final List<Key> keys) {
+            return this.origin.transaction(keys);
+        }
+    }
+}
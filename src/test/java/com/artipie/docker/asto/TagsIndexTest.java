@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TagsIndex}.
+ *
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class TagsIndexTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Index being tested.
+     */
+    private TagsIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.index = new TagsIndex(new SortedIndex(this.storage), new RepoName.Simple("test"));
+    }
+
+    @Test
+    void shouldListAddedTags() {
+        this.index.add(new Tag.Valid("latest")).toCompletableFuture().join();
+        this.index.add(new Tag.Valid("1.0")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.index.list(Optional.of(new Tag.Valid("1.0")), 1).toCompletableFuture().join(),
+            Matchers.contains("latest")
+        );
+    }
+
+    @Test
+    void shouldNotListRemovedTag() {
+        this.index.add(new Tag.Valid("old")).toCompletableFuture().join();
+        this.index.add(new Tag.Valid("new")).toCompletableFuture().join();
+        this.index.remove(new Tag.Valid("old")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.index.list(Optional.empty(), Integer.MAX_VALUE).toCompletableFuture().join(),
+            Matchers.contains("new")
+        );
+    }
+
+    @Test
+    void shouldListNothingForUnknownRepo() {
+        MatcherAssert.assertThat(
+            this.index.list(Optional.empty(), 1).toCompletableFuture().join(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void shouldBuildIndexFromLinks() {
+        for (final String tag : new String[] {"2", "1"}) {
+            this.storage.save(
+                new Key.From(
+                    RegistryRoot.V2, "repositories", "test",
+                    "_manifests", "tags", tag, "current", "link"
+                ),
+                new Content.From("sha256:123".getBytes())
+            ).join();
+        }
+        MatcherAssert.assertThat(
+            this.index.list(Optional.empty(), Integer.MAX_VALUE).toCompletableFuture().join(),
+            Matchers.contains("1", "2")
+        );
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.ByteBufPublisher;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link TrustedBlobSource}.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class TrustedBlobSourceTest {
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void shouldSaveContent() {
+        final byte[] data = "trusted".getBytes();
+        final Key key = new Key.From("trusted");
+        new TrustedBlobSource(data).saveTo(this.storage, key).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(this.storage.value(key).join()).bytes()
+                .toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void shouldNotReadContentWhenBlobExists() {
+        final Key key = new Key.From("exists");
+        this.storage.save(key, new Content.From("blob".getBytes())).join();
+        new TrustedBlobSource(
+            new Content.From(Flowable.error(new IllegalStateException("Content is read"))),
+            new Digest.Sha256("blob".getBytes())
+        ).saveTo(this.storage, key).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(this.storage.value(key).join()).asciiString()
+                .toCompletableFuture().join(),
+            new IsEqual<>("blob")
+        );
+    }
+
+    @Test
+    void shouldNotSaveContentFailedToRead(final @TempDir Path dir) {
+        final Storage files = new FileStorage(dir);
+        final Key key = new Key.From("failed");
+        final byte[] data = "partial".getBytes();
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> new TrustedBlobSource(
+                new Content.From(
+                    Flowable.concat(
+                        Flowable.just(ByteBuffer.wrap(data)),
+                        Flowable.error(new IllegalStateException("Chunk is lost"))
+                    )
+                ),
+                new Digest.Sha256(data)
+            ).saveTo(new StagedStorage(files, new Staging.Renamed()), key)
+                .toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            files.exists(key).join(),
+            new IsEqual<>(false)
+        );
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
+import com.artipie.docker.misc.ByteBufPublisher;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link UploadChunks}.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class UploadChunksTest {
+
+    /**
+     * Chunks being tested.
+     */
+    private UploadChunks chunks;
+
+    @BeforeEach
+    void setUp() {
+        this.chunks = new UploadChunks(new InMemoryStorage(), new Key.From("chunks"));
+    }
+
+    @Test
+    void shouldCountSavedBytes() {
+        MatcherAssert.assertThat(
+            this.chunks.save(0L, Flowable.just(ByteBuffer.wrap("12345".getBytes())))
+                .toCompletableFuture().join(),
+            new IsEqual<>(5L)
+        );
+    }
+
+    @Test
+    void shouldReadChunksInOrder() {
+        this.chunks.save(0L, Flowable.just(ByteBuffer.wrap("ab".getBytes())))
+            .toCompletableFuture().join();
+        this.chunks.save(2L, Flowable.just(ByteBuffer.wrap("cd".getBytes())))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(this.chunks.content(Arrays.asList(0L, 2L))).asciiString()
+                .toCompletableFuture().join(),
+            new IsEqual<>("abcd")
+        );
+    }
+
+    @Test
+    void shouldMoveSingleChunk() {
+        MatcherAssert.assertThat(
+            this.chunks.source(Collections.singletonList(0L), new Digest.Sha256("one".getBytes())),
+            new IsInstanceOf(MovedBlobSource.class)
+        );
+    }
+
+    @Test
+    void shouldStreamSeveralChunks() {
+        MatcherAssert.assertThat(
+            this.chunks.source(Arrays.asList(0L, 10L), new Digest.Sha256("two".getBytes())),
+            new IsInstanceOf(TrustedBlobSource.class)
+        );
+    }
+}
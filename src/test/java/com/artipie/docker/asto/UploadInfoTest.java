@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.asto;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
+import com.artipie.docker.error.InvalidDigestException;
+import com.artipie.docker.misc.ResumableSha256;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.json.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link UploadInfo}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+class UploadInfoTest {
+
+    @Test
+    void shouldBeEmptyWhenStarted() {
+        final Instant started = Instant.parse("2020-06-01T10:15:30Z");
+        final UploadInfo info = new UploadInfo(started);
+        MatcherAssert.assertThat(
+            "Has start time",
+            info.started(),
+            new IsEqual<>(started)
+        );
+        MatcherAssert.assertThat(
+            "Has no bytes",
+            info.size(),
+            new IsEqual<>(0L)
+        );
+        MatcherAssert.assertThat(
+            "Has no chunks",
+            info.chunks(),
+            new IsEqual<>(Collections.emptyList())
+        );
+    }
+
+    @Test
+    void shouldAppendChunks() {
+        final UploadInfo info = new UploadInfo(Instant.now())
+            .appended(3L, new ResumableSha256())
+            .appended(0L, new ResumableSha256())
+            .appended(5L, new ResumableSha256());
+        MatcherAssert.assertThat(
+            "Counts bytes",
+            info.size(),
+            new IsEqual<>(8L)
+        );
+        MatcherAssert.assertThat(
+            "Keeps offsets of non-empty chunks",
+            info.chunks(),
+            new IsEqual<>(Arrays.asList(0L, 3L))
+        );
+    }
+
+    @Test
+    void shouldReadFromBytes() {
+        final byte[] data = "hashed".getBytes();
+        final ResumableSha256 hash = new ResumableSha256();
+        hash.update(ByteBuffer.wrap(data));
+        final UploadInfo info = new UploadInfo(
+            Json.createReader(
+                new ByteArrayInputStream(
+                    new UploadInfo(Instant.now()).appended(data.length, hash).bytes()
+                )
+            ).readObject()
+        );
+        MatcherAssert.assertThat(
+            "Reads size",
+            info.size(),
+            new IsEqual<>((long) data.length)
+        );
+        MatcherAssert.assertThat(
+            "Reads hash state",
+            info.hash().digest().string(),
+            new IsEqual<>(new Digest.Sha256(data).string())
+        );
+    }
+
+    @Test
+    void shouldTrustSourceWhenDigestMatches() {
+        MatcherAssert.assertThat(
+            new UploadInfo(Instant.now()).source(
+                new UploadChunks(new InMemoryStorage(), new Key.From("empty")),
+                new Digest.Sha256(new byte[0])
+            ),
+            new IsInstanceOf(TrustedBlobSource.class)
+        );
+    }
+
+    @Test
+    void shouldFailSourceWhenDigestMismatch() {
+        Assertions.assertThrows(
+            InvalidDigestException.class,
+            () -> new UploadInfo(Instant.now()).source(
+                new UploadChunks(new InMemoryStorage(), new Key.From("mismatch")),
+                new Digest.Sha256("some".getBytes())
+            )
+        );
+    }
+}
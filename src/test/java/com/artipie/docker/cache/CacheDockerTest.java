@@ -23,12 +23,21 @@
  */
 package com.artipie.docker.cache;
 
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.asto.AstoDocker;
+import com.artipie.docker.misc.ByteBufPublisher;
 import com.artipie.docker.proxy.ProxyDocker;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
 import com.artipie.http.rs.StandardRs;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsInstanceOf;
 import org.junit.jupiter.api.Test;
 
@@ -36,7 +45,9 @@ import org.junit.jupiter.api.Test;
  * Tests for {@link CacheDocker}.
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 final class CacheDockerTest {
 
     @Test
@@ -50,4 +61,63 @@ final class CacheDockerTest {
             new IsInstanceOf(CacheRepo.class)
         );
     }
+
+    @Test
+    void shouldListOriginCatalog() {
+        MatcherAssert.assertThat(
+            new CacheDocker(
+                new ProxyDocker((line, headers, body) -> StandardRs.NOT_FOUND),
+                CacheDockerTest.cached()
+            ).catalog(Optional.empty(), Integer.MAX_VALUE)
+                .thenCompose(catalog -> new ByteBufPublisher(catalog.json()).asciiString())
+                .toCompletableFuture().join(),
+            new IsEqual<>("{\"repositories\":[]}")
+        );
+    }
+
+    @Test
+    void shouldListCachedCatalogWhenOriginIsDown() {
+        MatcherAssert.assertThat(
+            new CacheDocker(
+                new ProxyDocker(
+                    (line, headers, body) -> new RsWithStatus(RsStatus.UNAVAILABLE)
+                ),
+                CacheDockerTest.cached()
+            ).catalog(Optional.empty(), Integer.MAX_VALUE)
+                .thenCompose(catalog -> new ByteBufPublisher(catalog.json()).asciiString())
+                .toCompletableFuture().join(),
+            new IsEqual<>("{\"repositories\":[\"my-alpine\"]}")
+        );
+    }
+
+    @Test
+    void shouldListCachedCatalogWhenOriginFails() {
+        MatcherAssert.assertThat(
+            new CacheDocker(
+                new ProxyDocker(
+                    (line, headers, body) -> connection -> CompletableFuture.failedFuture(
+                        new IllegalStateException()
+                    )
+                ),
+                CacheDockerTest.cached()
+            ).catalog(Optional.empty(), Integer.MAX_VALUE)
+                .thenCompose(catalog -> new ByteBufPublisher(catalog.json()).asciiString())
+                .toCompletableFuture().join(),
+            new IsEqual<>("{\"repositories\":[\"my-alpine\"]}")
+        );
+    }
+
+    /**
+     * Create cache with one repository.
+     *
+     * @return Cache repository.
+     */
+    private static AstoDocker cached() {
+        final Storage storage = new InMemoryStorage();
+        storage.save(
+            new Key.From("docker/registry/v2/repositories/my-alpine/_manifests/tags/1/link"),
+            new Content.From("sha256:123".getBytes())
+        ).join();
+        return new AstoDocker(storage);
+    }
 }
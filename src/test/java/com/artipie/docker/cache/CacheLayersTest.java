@@ -23,9 +23,9 @@
  */
 package com.artipie.docker.cache;
 
-import com.artipie.asto.Content;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.docker.Blob;
+import com.artipie.docker.BlobSource;
 import com.artipie.docker.Digest;
 import com.artipie.docker.Layers;
 import com.artipie.docker.asto.AstoBlob;
@@ -93,7 +93,12 @@ final class CacheLayersTest {
     private static class EmptyLayers implements Layers {
 
         @Override
-        public CompletionStage<Blob> put(final Content content, final Digest digest) {
+        public CompletionStage<Blob> put(final BlobSource source) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Blob> mount(final Blob blob) {
             throw new UnsupportedOperationException();
         }
 
@@ -111,7 +116,12 @@ final class CacheLayersTest {
     private static class FullLayers implements Layers {
 
         @Override
-        public CompletionStage<Blob> put(final Content content, final Digest digest) {
+        public CompletionStage<Blob> put(final BlobSource source) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Blob> mount(final Blob blob) {
             throw new UnsupportedOperationException();
         }
 
@@ -131,7 +141,12 @@ final class CacheLayersTest {
     private static class FaultyLayers implements Layers {
 
         @Override
-        public CompletionStage<Blob> put(final Content content, final Digest digest) {
+        public CompletionStage<Blob> put(final BlobSource source) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Blob> mount(final Blob blob) {
             throw new UnsupportedOperationException();
         }
 
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.cache;
+
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.asto.AstoDocker;
+import com.artipie.docker.misc.ByteBufPublisher;
+import com.artipie.docker.proxy.ProxyManifests;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CacheManifests}.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+final class CacheManifestsTest {
+
+    @Test
+    void shouldListOriginTags() {
+        MatcherAssert.assertThat(
+            CacheManifestsTest.tags(RsStatus.NOT_FOUND),
+            new IsEqual<>("{\"name\":\"origin\",\"tags\":[]}")
+        );
+    }
+
+    @Test
+    void shouldListCachedTagsWhenOriginFails() {
+        MatcherAssert.assertThat(
+            CacheManifestsTest.tags(RsStatus.INTERNAL_ERROR),
+            new IsEqual<>("{\"name\":\"cache\",\"tags\":[]}")
+        );
+    }
+
+    /**
+     * List tags with origin responding with status.
+     *
+     * @param status Origin response status.
+     * @return Tags JSON.
+     */
+    private static String tags(final RsStatus status) {
+        return new CacheManifests(
+            new ProxyManifests(
+                (line, headers, body) -> new RsWithStatus(status),
+                new RepoName.Simple("origin")
+            ),
+            new AstoDocker(new InMemoryStorage()).repo(new RepoName.Simple("cache")).manifests()
+        ).tags(Optional.empty(), 1)
+            .thenCompose(tags -> new ByteBufPublisher(tags.json()).asciiString())
+            .toCompletableFuture().join();
+    }
+}
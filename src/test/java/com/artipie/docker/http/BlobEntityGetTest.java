@@ -35,8 +35,11 @@ import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rs.Header;
 import com.artipie.http.rs.RsStatus;
 import io.reactivex.Flowable;
+import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.AllOf;
 import org.junit.jupiter.api.BeforeEach;
@@ -90,7 +93,10 @@ class BlobEntityGetTest {
                     new RsHasHeaders(
                         new Header("Content-Length", "2803255"),
                         new Header("Docker-Content-Digest", digest),
-                        new Header("Content-Type", "application/octet-stream")
+                        new Header("Content-Type", "application/octet-stream"),
+                        new Header("Accept-Ranges", "none"),
+                        new Header("ETag", String.format("\"%s\"", digest)),
+                        new Header("Cache-Control", "max-age=31536000, immutable")
                     ),
                     new RsHasBody(
                         new BlockingStorage(new ExampleStorage()).value(expected)
@@ -100,6 +106,71 @@ class BlobEntityGetTest {
         );
     }
 
+    @Test
+    void shouldReturnNotModifiedForMatchingTag() {
+        final String digest = String.format(
+            "%s:%s",
+            "sha256",
+            "aad63a9339440e7c3e1fff2b988991b9bfb81280042fa7f39a5e327023056819"
+        );
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(
+                    "GET",
+                    String.format("/base/v2/test/blobs/%s", digest),
+                    "HTTP/1.1"
+                ).toString(),
+                Collections.singleton(
+                    new Header("If-None-Match", String.format("W/\"abc\", \"%s\"", digest))
+                ),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.NOT_MODIFIED),
+                    new RsHasHeaders(
+                        new Header("Docker-Content-Digest", digest),
+                        new Header("ETag", String.format("\"%s\"", digest)),
+                        new Header("Cache-Control", "max-age=31536000, immutable")
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldRedirectToSignedUrl() {
+        final String hex = "aad63a9339440e7c3e1fff2b988991b9bfb81280042fa7f39a5e327023056819";
+        final String digest = String.format("%s:%s", "sha256", hex);
+        MatcherAssert.assertThat(
+            new DockerSlice(
+                "/base",
+                new AstoDocker(new ExampleStorage()),
+                dgst -> CompletableFuture.completedFuture(
+                    Optional.of(URI.create(String.format("http://storage/%s", dgst.hex())))
+                )
+            ).response(
+                new RequestLine(
+                    "GET",
+                    String.format("/base/v2/test/blobs/%s", digest),
+                    "HTTP/1.1"
+                ).toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.TEMPORARY_REDIRECT),
+                    new RsHasHeaders(
+                        new Header("Location", String.format("http://storage/%s", hex)),
+                        new Header("Docker-Content-Digest", digest),
+                        new Header("Content-Length", "0")
+                    )
+                )
+            )
+        );
+    }
+
     @Test
     void shouldReturnNotFoundForUnknownDigest() {
         MatcherAssert.assertThat(
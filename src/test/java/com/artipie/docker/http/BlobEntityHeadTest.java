@@ -32,9 +32,11 @@ import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rs.Header;
 import com.artipie.http.rs.RsStatus;
 import io.reactivex.Flowable;
+import java.util.Arrays;
 import java.util.Collections;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.hamcrest.core.AllOf;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -81,7 +83,42 @@ class BlobEntityHeadTest {
                 new RsHasHeaders(
                     new Header("Content-Length", "2803255"),
                     new Header("Docker-Content-Digest", digest),
-                    new Header("Content-Type", "application/octet-stream")
+                    new Header("Content-Type", "application/octet-stream"),
+                    new Header("Accept-Ranges", "none"),
+                    new Header("ETag", String.format("\"%s\"", digest)),
+                    new Header("Cache-Control", "max-age=31536000, immutable")
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldReturnNotModifiedForMatchingTag() {
+        final String digest = String.format(
+            "%s:%s",
+            "sha256",
+            "aad63a9339440e7c3e1fff2b988991b9bfb81280042fa7f39a5e327023056819"
+        );
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(
+                    "HEAD",
+                    String.format("/base/v2/test/blobs/%s", digest),
+                    "HTTP/1.1"
+                ).toString(),
+                Collections.singleton(
+                    new Header("If-None-Match", String.format("W/\"abc\", \"%s\"", digest))
+                ),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.NOT_MODIFIED),
+                    new RsHasHeaders(
+                        new Header("Docker-Content-Digest", digest),
+                        new Header("ETag", String.format("\"%s\"", digest)),
+                        new Header("Cache-Control", "max-age=31536000, immutable")
+                    )
                 )
             )
         );
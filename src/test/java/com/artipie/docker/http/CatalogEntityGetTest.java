@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.asto.AstoDocker;
+import com.artipie.docker.asto.RegistryRoot;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rs.Header;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.AllOf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DockerSlice}.
+ * Catalog GET endpoint.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class CatalogEntityGetTest {
+
+    /**
+     * Slice being tested.
+     */
+    private DockerSlice slice;
+
+    @BeforeEach
+    void setUp() {
+        final Storage storage = new InMemoryStorage();
+        for (final String name : new String[] {"my-alpine", "library/busybox", "test"}) {
+            storage.save(
+                new Key.From(
+                    RegistryRoot.V2,
+                    String.format("repositories/%s/_manifests/tags/1/current/link", name)
+                ),
+                new Content.From("sha256:123".getBytes())
+            ).join();
+        }
+        this.slice = new DockerSlice("/base", new AstoDocker(storage));
+    }
+
+    @Test
+    void shouldListAllRepositories() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine("GET", "/base/v2/_catalog", "HTTP/1.1").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasBody(
+                        "{\"repositories\":[\"library/busybox\",\"my-alpine\",\"test\"]}"
+                            .getBytes(StandardCharsets.UTF_8)
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldListPageOfRepositories() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(
+                    "GET", "/base/v2/_catalog?n=1&last=library%2Fbusybox", "HTTP/1.1"
+                ).toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new RsHasBody(
+                "{\"repositories\":[\"my-alpine\"]}".getBytes(StandardCharsets.UTF_8)
+            )
+        );
+    }
+
+    @Test
+    void shouldLinkNextPageOfRepositories() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine("GET", "/base/v2/_catalog?n=1", "HTTP/1.1").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new RsHasHeaders(
+                new Header("Content-Type", "application/json; charset=utf-8"),
+                new Header("Link", "</v2/_catalog?n=1&last=library%2Fbusybox>; rel=\"next\"")
+            )
+        );
+    }
+
+    @Test
+    void shouldRejectInvalidNumber() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine("GET", "/base/v2/_catalog?n=-1", "HTTP/1.1").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link ContentRange}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class ContentRangeTest {
+
+    @Test
+    void shouldReadStartAndLength() {
+        final ContentRange range = new ContentRange("10-19");
+        MatcherAssert.assertThat(
+            "Is valid",
+            range.valid(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Has start",
+            range.start(),
+            new IsEqual<>(10L)
+        );
+        MatcherAssert.assertThat(
+            "Has length",
+            range.length(),
+            new IsEqual<>(10L)
+        );
+    }
+
+    @Test
+    void shouldReadHttpFormat() {
+        MatcherAssert.assertThat(
+            new ContentRange("bytes 0-99/*").length(),
+            new IsEqual<>(100L)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "abc", "5-", "-5", "7-3", "1-2-3"})
+    void shouldBeInvalid(final String value) {
+        MatcherAssert.assertThat(
+            new ContentRange(value).valid(),
+            new IsEqual<>(false)
+        );
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Digest;
+import com.artipie.docker.Docker;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.asto.AstoDocker;
+import com.artipie.docker.asto.TrustedBlobSource;
+import com.artipie.docker.ref.ManifestRef;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rs.Header;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DockerSlice}.
+ * Manifest DELETE endpoint.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class ManifestEntityDeleteTest {
+
+    /**
+     * Slice being tested.
+     */
+    private DockerSlice slice;
+
+    /**
+     * Docker used in tests.
+     */
+    private Docker docker;
+
+    @BeforeEach
+    void setUp() {
+        this.docker = new AstoDocker(new InMemoryStorage());
+        this.slice = new DockerSlice("/base", this.docker);
+    }
+
+    @Test
+    void shouldDeleteManifestByTag() {
+        final Digest digest = this.push("1");
+        MatcherAssert.assertThat(
+            "Tag is deleted",
+            this.slice.response(
+                new RequestLine("DELETE", "/base/v2/my-alpine/manifests/1", "HTTP/1.1")
+                    .toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.ACCEPTED),
+                new RsHasHeaders(
+                    new Header("Content-Length", "0"),
+                    new Header("Docker-Content-Digest", digest.string())
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "Deleted tag is not found",
+            this.slice.response(
+                new RequestLine("HEAD", "/base/v2/my-alpine/manifests/1", "HTTP/1.1").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+        MatcherAssert.assertThat(
+            "Manifest revision is kept",
+            this.docker.repo(new RepoName.Valid("my-alpine")).manifests()
+                .get(new ManifestRef.FromDigest(digest))
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldDeleteManifestByDigest() {
+        final Digest digest = this.push("2");
+        MatcherAssert.assertThat(
+            "Manifest is deleted",
+            this.slice.response(
+                new RequestLine(
+                    "DELETE",
+                    String.format("/base/v2/my-alpine/manifests/%s", digest.string()),
+                    "HTTP/1.1"
+                ).toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.ACCEPTED)
+        );
+        MatcherAssert.assertThat(
+            "Tag of deleted manifest is not found",
+            this.slice.response(
+                new RequestLine("HEAD", "/base/v2/my-alpine/manifests/2", "HTTP/1.1").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownManifest() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine("DELETE", "/base/v2/my-alpine/manifests/3", "HTTP/1.1")
+                    .toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
+    /**
+     * Push manifest by tag.
+     *
+     * @param tag Tag.
+     * @return Manifest digest.
+     */
+    private Digest push(final String tag) {
+        final Blob config = this.docker.repo(new RepoName.Valid("my-alpine")).layers()
+            .put(new TrustedBlobSource("config".getBytes()))
+            .toCompletableFuture().join();
+        final byte[] data = String.format(
+            "{\"config\":{\"digest\":\"%s\"},\"layers\":[]}",
+            config.digest().string()
+        ).getBytes();
+        return this.docker.repo(new RepoName.Valid("my-alpine")).manifests()
+            .put(new ManifestRef.FromTag(new Tag.Valid(tag)), new Content.From(data))
+            .toCompletableFuture().join()
+            .digest();
+    }
+}
@@ -23,10 +23,21 @@
  */
 package com.artipie.docker.http;
 
+import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Blob;
+import com.artipie.docker.Digest;
+import com.artipie.docker.Docker;
 import com.artipie.docker.ExampleStorage;
+import com.artipie.docker.Repo;
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
 import com.artipie.docker.asto.AstoDocker;
+import com.artipie.docker.asto.TrustedBlobSource;
+import com.artipie.docker.manifest.JsonManifest;
+import com.artipie.docker.ref.ManifestRef;
 import com.artipie.http.Response;
 import com.artipie.http.hm.RsHasBody;
 import com.artipie.http.hm.RsHasHeaders;
@@ -35,8 +46,12 @@ import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rs.Header;
 import com.artipie.http.rs.RsStatus;
 import io.reactivex.Flowable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.json.Json;
 import org.hamcrest.Matcher;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.AllOf;
@@ -78,11 +93,67 @@ class ManifestEntityGetTest {
                 new Key.From(
                     "docker", "registry", "v2", "blobs", "sha256", "cb",
                     "cb8a924afdf0229ef7515d9e5b3024e23b3eb03ddbba287f4a19c6ac90b8d221", "data"
+                ),
+                new Header(
+                    "ETag",
+                    "\"sha256:cb8a924afdf0229ef7515d9e5b3024e23b3eb03ddbba287f4a19c6ac90b8d221\""
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldReturnPlatformManifestIfListIsNotAccepted() {
+        final Docker docker = new AstoDocker(new InMemoryStorage());
+        final Repo repo = docker.repo(new RepoName.Simple("multi"));
+        final byte[] image = ManifestEntityGetTest.image(repo);
+        repo.manifests().put(
+            new ManifestRef.FromTag(new Tag.Valid("latest")),
+            new Content.From(ManifestEntityGetTest.list(new Digest.Sha256(image)))
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new DockerSlice("/base", docker).response(
+                new RequestLine("GET", "/base/v2/multi/manifests/latest", "HTTP/1.1").toString(),
+                Collections.singleton(
+                    new Header("Accept", "application/vnd.docker.distribution.manifest.v2+json")
+                ),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasBody(image)
                 )
             )
         );
     }
 
+    @Test
+    void shouldReturnNotFoundForListByDigestIfListIsNotAccepted() {
+        final Docker docker = new AstoDocker(new InMemoryStorage());
+        final Repo repo = docker.repo(new RepoName.Simple("multi"));
+        final byte[] list = ManifestEntityGetTest.list(
+            new Digest.Sha256(ManifestEntityGetTest.image(repo))
+        );
+        final Digest digest = new Digest.Sha256(list);
+        repo.manifests().put(new ManifestRef.FromDigest(digest), new Content.From(list))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new DockerSlice("/base", docker).response(
+                new RequestLine(
+                    "GET",
+                    String.format("/base/v2/multi/manifests/%s", digest.string()),
+                    "HTTP/1.1"
+                ).toString(),
+                Collections.singleton(
+                    new Header("Accept", "application/vnd.docker.distribution.manifest.v2+json")
+                ),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
     @Test
     void shouldReturnManifestByDigest() throws Exception {
         final String hex = "cb8a924afdf0229ef7515d9e5b3024e23b3eb03ddbba287f4a19c6ac90b8d221";
@@ -101,7 +172,34 @@ class ManifestEntityGetTest {
             ),
             success(
                 digest,
-                new Key.From("docker", "registry", "v2", "blobs", "sha256", "cb", hex, "data")
+                new Key.From("docker", "registry", "v2", "blobs", "sha256", "cb", hex, "data"),
+                new Header("ETag", String.format("\"%s\"", digest)),
+                new Header("Cache-Control", "max-age=31536000, immutable")
+            )
+        );
+    }
+
+    @Test
+    void shouldReturnNotModifiedForMatchingTag() {
+        final String digest =
+            "sha256:cb8a924afdf0229ef7515d9e5b3024e23b3eb03ddbba287f4a19c6ac90b8d221";
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine("GET", "/base/v2/my-alpine/manifests/1", "HTTP/1.1").toString(),
+                Arrays.asList(
+                    new Header("Accept", "application/vnd.docker.distribution.manifest.v2+json"),
+                    new Header("If-None-Match", String.format("\"%s\"", digest))
+                ),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.NOT_MODIFIED),
+                    new RsHasHeaders(
+                        new Header("Docker-Content-Digest", digest),
+                        new Header("ETag", String.format("\"%s\"", digest))
+                    )
+                )
             )
         );
     }
@@ -137,23 +235,71 @@ class ManifestEntityGetTest {
         );
     }
 
+    /**
+     * Put image manifest to repository.
+     *
+     * @param repo Repository.
+     * @return Image manifest content.
+     */
+    private static byte[] image(final Repo repo) {
+        final Blob config = repo.layers().put(new TrustedBlobSource("config".getBytes()))
+            .toCompletableFuture().join();
+        final byte[] image = Json.createObjectBuilder()
+            .add("mediaType", "application/vnd.docker.distribution.manifest.v2+json")
+            .add("config", Json.createObjectBuilder().add("digest", config.digest().string()))
+            .add("layers", Json.createArrayBuilder())
+            .build().toString().getBytes();
+        repo.manifests().put(
+            new ManifestRef.FromDigest(new Digest.Sha256(image)), new Content.From(image)
+        ).toCompletableFuture().join();
+        return image;
+    }
+
+    /**
+     * Manifest list content with single linux/amd64 image.
+     *
+     * @param image Image manifest digest.
+     * @return Manifest list content.
+     */
+    private static byte[] list(final Digest image) {
+        return Json.createObjectBuilder()
+            .add("mediaType", JsonManifest.MANIFEST_LIST)
+            .add(
+                "manifests",
+                Json.createArrayBuilder().add(
+                    Json.createObjectBuilder()
+                        .add("digest", image.string())
+                        .add(
+                            "platform",
+                            Json.createObjectBuilder()
+                                .add("architecture", "amd64")
+                                .add("os", "linux")
+                        )
+                )
+            )
+            .build().toString().getBytes();
+    }
+
     private static Matcher<Response> success(
         final String digest,
-        final Key content
+        final Key content,
+        final Header... cache
     ) throws Exception {
+        final List<Map.Entry<String, String>> headers = new ArrayList<>(Arrays.asList(cache));
+        headers.add(
+            new Header(
+                "Content-Type",
+                "application/vnd.docker.distribution.manifest.v2+json"
+            )
+        );
+        headers.add(new Header("Docker-Content-Digest", digest));
+        final byte[] body = new BlockingStorage(new ExampleStorage()).value(content);
+        headers.add(new Header("Content-Length", String.valueOf(body.length)));
         return new AllOf<>(
             Arrays.asList(
                 new RsHasStatus(RsStatus.OK),
-                new RsHasHeaders(
-                    new Header(
-                        "Content-Type",
-                        "application/vnd.docker.distribution.manifest.v2+json"
-                    ),
-                    new Header("Docker-Content-Digest", digest)
-                ),
-                new RsHasBody(
-                    new BlockingStorage(new ExampleStorage()).value(content)
-                )
+                new RsHasHeaders(headers),
+                new RsHasBody(body)
             )
         );
     }
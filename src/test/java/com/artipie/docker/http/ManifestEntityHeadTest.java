@@ -66,7 +66,11 @@ class ManifestEntityHeadTest {
                 Flowable.empty()
             ),
             new ResponseMatcher(
-                "sha256:cb8a924afdf0229ef7515d9e5b3024e23b3eb03ddbba287f4a19c6ac90b8d221"
+                "sha256:cb8a924afdf0229ef7515d9e5b3024e23b3eb03ddbba287f4a19c6ac90b8d221",
+                new Header(
+                    "ETag",
+                    "\"sha256:cb8a924afdf0229ef7515d9e5b3024e23b3eb03ddbba287f4a19c6ac90b8d221\""
+                )
             )
         );
     }
@@ -90,7 +94,11 @@ class ManifestEntityHeadTest {
                 ),
                 Flowable.empty()
             ),
-            new ResponseMatcher(digest)
+            new ResponseMatcher(
+                digest,
+                new Header("ETag", String.format("\"%s\"", digest)),
+                new Header("Cache-Control", "max-age=31536000, immutable")
+            )
         );
     }
 
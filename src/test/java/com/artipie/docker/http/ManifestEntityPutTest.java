@@ -23,13 +23,13 @@
  */
 package com.artipie.docker.http;
 
-import com.artipie.asto.Content;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.docker.Blob;
-import com.artipie.docker.Digest;
 import com.artipie.docker.Docker;
 import com.artipie.docker.RepoName;
 import com.artipie.docker.asto.AstoDocker;
+import com.artipie.docker.asto.TrustedBlobSource;
+import com.artipie.docker.manifest.JsonManifest;
 import com.artipie.http.hm.RsHasHeaders;
 import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rq.RequestLine;
@@ -117,6 +117,26 @@ class ManifestEntityPutTest {
         );
     }
 
+    @Test
+    void shouldReturnBadRequestForEmptyManifestList() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine("PUT", "/base/v2/my-alpine/manifests/multi", "HTTP/1.1")
+                    .toString(),
+                Collections.emptyList(),
+                Flowable.just(
+                    ByteBuffer.wrap(
+                        String.format(
+                            "{\"mediaType\":\"%s\",\"manifests\":[]}",
+                            JsonManifest.MANIFEST_LIST
+                        ).getBytes()
+                    )
+                )
+            ),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+    }
+
     /**
      * Create manifest content.
      *
@@ -125,7 +145,7 @@ class ManifestEntityPutTest {
     private Flowable<ByteBuffer> manifest() {
         final byte[] content = "config".getBytes();
         final Blob config = this.docker.repo(new RepoName.Valid("my-alpine")).layers()
-            .put(new Content.From(content), new Digest.Sha256(content))
+            .put(new TrustedBlobSource(content))
             .toCompletableFuture().join();
         final byte[] data = String.format(
             "{\"config\":{\"digest\":\"%s\"},\"layers\":[]}",
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.http;
+
+import com.artipie.asto.Content;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.rs.Header;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PageResponse}.
+ *
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class PageResponseTest {
+
+    @Test
+    void shouldLinkNextPageOfFullPage() {
+        MatcherAssert.assertThat(
+            new PageResponse(
+                "/v2/_catalog", "repositories", 2,
+                new Content.From("{\"repositories\":[\"a\",\"b/c\"]}".getBytes())
+            ),
+            new RsHasHeaders(
+                new Header("Content-Type", "application/json; charset=utf-8"),
+                new Header("Link", "</v2/_catalog?n=2&last=b%2Fc>; rel=\"next\"")
+            )
+        );
+    }
+
+    @Test
+    void shouldNotLinkNextPageOfPartialPage() {
+        MatcherAssert.assertThat(
+            new PageResponse(
+                "/v2/_catalog", "repositories", 2,
+                new Content.From("{\"repositories\":[\"a\"]}".getBytes())
+            ),
+            new RsHasHeaders(new Header("Content-Type", "application/json; charset=utf-8"))
+        );
+    }
+
+    @Test
+    void shouldSendPageBody() {
+        final String json = "{\"name\":\"test\",\"tags\":[]}";
+        MatcherAssert.assertThat(
+            new PageResponse(
+                "/v2/test/tags/list", "tags", Integer.MAX_VALUE,
+                new Content.From(json.getBytes(StandardCharsets.UTF_8))
+            ),
+            new RsHasBody(json.getBytes(StandardCharsets.UTF_8))
+        );
+    }
+}
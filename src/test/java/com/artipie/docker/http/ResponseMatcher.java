@@ -28,6 +28,8 @@ import com.artipie.http.hm.RsHasHeaders;
 import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rs.Header;
 import com.artipie.http.rs.RsStatus;
+import java.util.Map;
+import org.cactoos.list.Joined;
 import org.cactoos.list.ListOf;
 import org.hamcrest.Matcher;
 import org.hamcrest.core.AllOf;
@@ -46,17 +48,26 @@ final class ResponseMatcher extends AllOf<Response> {
     /**
      * Ctor.
      *
-     * @param digest Expected `Docker-Content-Digest` header value.
+     * @param digest Expected `Docker-Content-Digest` header value
+     *  of example manifest.
+     * @param cache Expected caching headers.
      */
-    ResponseMatcher(final String digest) {
+    ResponseMatcher(final String digest, final Header... cache) {
         super(
             new ListOf<Matcher<? super Response>>(
                 new RsHasStatus(RsStatus.OK),
                 new RsHasHeaders(
-                    new Header(
-                        "Content-type", "application/vnd.docker.distribution.manifest.v2+json"
-                    ),
-                    new Header("Docker-Content-Digest", digest)
+                    new Joined<Map.Entry<String, String>>(
+                        new ListOf<>(cache),
+                        new ListOf<>(
+                            new Header(
+                                "Content-type",
+                                "application/vnd.docker.distribution.manifest.v2+json"
+                            ),
+                            new Header("Docker-Content-Digest", digest),
+                            new Header("Content-Length", "528")
+                        )
+                    )
                 )
             )
         );
@@ -25,7 +25,9 @@ package com.artipie.docker.http;
 
 import com.adobe.testing.s3mock.junit5.S3MockExtension;
 import com.artipie.asto.Content;
+import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
+import com.artipie.asto.SubStorage;
 import com.artipie.asto.s3.S3Storage;
 import com.artipie.docker.Blob;
 import com.artipie.docker.Digest;
@@ -34,6 +36,8 @@ import com.artipie.docker.RepoName;
 import com.artipie.docker.Upload;
 import com.artipie.docker.asto.AstoDocker;
 import com.artipie.docker.asto.BlobKey;
+import com.artipie.docker.asto.Staging;
+import com.artipie.docker.asto.TrustedBlobSource;
 import com.artipie.docker.ref.ManifestRef;
 import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rq.RequestLine;
@@ -41,9 +45,17 @@ import com.artipie.http.rs.Header;
 import com.artipie.http.rs.RsStatus;
 import io.reactivex.Flowable;
 import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import javax.json.Json;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.IsEqual;
@@ -52,6 +64,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.auth.signer.AwsS3V4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
@@ -61,6 +77,7 @@ import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
  *
  * @since 0.3
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
  * @todo #212:30min Remove S3CompatibilityITCase tests
  *  Tests might be removed once issue resolved in ASTO: https://github.com/artipie/asto/issues/204
  *  S3 mock dependency should be removed as well after that.
@@ -91,6 +108,11 @@ class S3CompatibilityITCase {
      */
     private DockerSlice slice;
 
+    /**
+     * Bucket used in tests.
+     */
+    private String bucket;
+
     @BeforeEach
     void setUp() {
         final S3AsyncClient client = S3AsyncClient.builder()
@@ -102,10 +124,10 @@ class S3CompatibilityITCase {
                 URI.create(String.format("http://localhost:%d", MOCK.getHttpPort()))
             )
             .build();
-        final String bucket = UUID.randomUUID().toString();
-        client.createBucket(CreateBucketRequest.builder().bucket(bucket).build()).join();
-        this.storage = new S3Storage(client, bucket);
-        this.docker = new AstoDocker(this.storage);
+        this.bucket = UUID.randomUUID().toString();
+        client.createBucket(CreateBucketRequest.builder().bucket(this.bucket).build()).join();
+        this.storage = new S3Storage(client, this.bucket);
+        this.docker = new AstoDocker(this.storage, new Staging.Streamed());
         this.slice = new DockerSlice(this.docker);
     }
 
@@ -145,6 +167,24 @@ class S3CompatibilityITCase {
         );
     }
 
+    @Test
+    void shouldPutUploadedBlobToWrappedStorage() {
+        final Key prefix = new Key.From("wrapped");
+        final Docker wrapped = new AstoDocker(
+            new SubStorage(prefix, this.storage), new Staging.Streamed()
+        );
+        final RepoName name = new RepoName.Valid("sub");
+        final Upload upload = wrapped.repo(name).uploads().start().toCompletableFuture().join();
+        final byte[] data = "wrapped".getBytes();
+        upload.append(Flowable.just(ByteBuffer.wrap(data))).toCompletableFuture().join();
+        final Digest digest = new Digest.Sha256(data);
+        upload.putTo(wrapped.repo(name).layers(), digest).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.exists(new Key.From(prefix, new BlobKey(digest))).join(),
+            new IsEqual<>(true)
+        );
+    }
+
     @Test
     void shouldPutManifest() {
         MatcherAssert.assertThat(
@@ -175,10 +215,40 @@ class S3CompatibilityITCase {
         );
     }
 
+    @Test
+    void shouldRedirectToPresignedBlobUrl() throws Exception {
+        final byte[] data = "presigned".getBytes();
+        final Digest digest = this.docker.repo(new RepoName.Valid("test")).layers()
+            .put(new TrustedBlobSource(data))
+            .toCompletableFuture().join().digest();
+        final UrlSigner signer = new S3Signer(this.bucket);
+        MatcherAssert.assertThat(
+            new DockerSlice("", this.docker, signer).response(
+                new RequestLine(
+                    "GET",
+                    String.format("/v2/test/blobs/%s", digest.string()),
+                    "HTTP/1.1"
+                ).toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.TEMPORARY_REDIRECT)
+        );
+        MatcherAssert.assertThat(
+            HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(
+                    signer.signed(digest).toCompletableFuture().join().get()
+                ).build(),
+                HttpResponse.BodyHandlers.ofByteArray()
+            ).body(),
+            new IsEqual<>(data)
+        );
+    }
+
     private Flowable<ByteBuffer> manifest(final RepoName name) {
         final byte[] content = "config".getBytes();
         final Blob config = this.docker.repo(name).layers()
-            .put(new Content.From(content), new Digest.Sha256(content))
+            .put(new TrustedBlobSource(content))
             .toCompletableFuture().join();
         final byte[] data = Json.createObjectBuilder()
             .add("mediaType", "application/vnd.docker.distribution.manifest.v2+json")
@@ -192,4 +262,53 @@ class S3CompatibilityITCase {
             .getBytes();
         return Flowable.just(ByteBuffer.wrap(data));
     }
+
+    /**
+     * URL signer presigning blob keys in S3 mock bucket.
+     *
+     * @since 0.4
+     */
+    private static final class S3Signer implements UrlSigner {
+
+        /**
+         * Bucket name.
+         */
+        private final String bucket;
+
+        /**
+         * Ctor.
+         *
+         * @param bucket Bucket name.
+         */
+        S3Signer(final String bucket) {
+            this.bucket = bucket;
+        }
+
+        @Override
+        public CompletionStage<Optional<URI>> signed(final Digest digest) {
+            return CompletableFuture.completedFuture(
+                Optional.of(
+                    AwsS3V4Signer.create().presign(
+                        SdkHttpFullRequest.builder()
+                            .method(SdkHttpMethod.GET)
+                            .protocol("http")
+                            .host("localhost")
+                            .port(MOCK.getHttpPort())
+                            .encodedPath(
+                                String.format(
+                                    "/%s/%s", this.bucket, new BlobKey(digest).string()
+                                )
+                            )
+                            .build(),
+                        Aws4PresignerParams.builder()
+                            .awsCredentials(AwsBasicCredentials.create("foo", "bar"))
+                            .signingName("s3")
+                            .signingRegion(Region.of("us-east-1"))
+                            .expirationTime(Instant.now().plus(Duration.ofMinutes(1)))
+                            .build()
+                    ).getUri()
+                )
+            );
+        }
+    }
 }
@@ -38,8 +38,10 @@ import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.AllOf;
+import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -99,6 +101,68 @@ class UploadEntityPatchTest {
         );
     }
 
+    @Test
+    void shouldAcceptChunkContinuingUpload() {
+        final Upload upload = this.start();
+        upload.append(Flowable.just(ByteBuffer.wrap("first".getBytes())))
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.patch(upload, "5-10", Flowable.just(ByteBuffer.wrap("second".getBytes()))),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.ACCEPTED),
+                    new RsHasHeaders(
+                        new Header("Location", this.path(upload)),
+                        new Header("Range", "0-10"),
+                        new Header("Content-Length", "0"),
+                        new Header("Docker-Upload-UUID", upload.uuid())
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldRejectOutOfOrderChunkWithoutReadingBody() {
+        final Upload upload = this.start();
+        upload.append(Flowable.just(ByteBuffer.wrap("data".getBytes())))
+            .toCompletableFuture().join();
+        final AtomicBoolean read = new AtomicBoolean();
+        MatcherAssert.assertThat(
+            "Rejects chunk with current range",
+            this.patch(
+                upload, "10-15",
+                Flowable.just(ByteBuffer.wrap("more".getBytes())).doOnSubscribe(
+                    subscription -> read.set(true)
+                )
+            ),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.BAD_RANGE),
+                    new RsHasHeaders(
+                        new Header("Location", this.path(upload)),
+                        new Header("Range", "0-3"),
+                        new Header("Content-Length", "0"),
+                        new Header("Docker-Upload-UUID", upload.uuid())
+                    )
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "Does not read body",
+            read.get(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldRejectInvalidRange() {
+        MatcherAssert.assertThat(
+            this.patch(this.start(), "3-1", Flowable.empty()),
+            new RsHasStatus(RsStatus.BAD_RANGE)
+        );
+    }
+
     @Test
     void shouldReturnNotFoundWhenUploadNotExists() {
         final Response response = this.slice.response(
@@ -111,4 +175,44 @@ class UploadEntityPatchTest {
             new RsHasStatus(RsStatus.NOT_FOUND)
         );
     }
+
+    /**
+     * Start upload.
+     *
+     * @return Started upload.
+     */
+    private Upload start() {
+        return this.docker.repo(new RepoName.Valid("test")).uploads()
+            .start()
+            .toCompletableFuture().join();
+    }
+
+    /**
+     * Send PATCH request with Content-Range to upload.
+     *
+     * @param upload Upload.
+     * @param range Content-Range header value.
+     * @param body Request body.
+     * @return Response.
+     */
+    private Response patch(
+        final Upload upload, final String range, final Flowable<ByteBuffer> body
+    ) {
+        return this.slice.response(
+            new RequestLine("PATCH", String.format("/base%s", this.path(upload)), "HTTP/1.1")
+                .toString(),
+            Collections.singleton(new Header("Content-Range", range)),
+            body
+        );
+    }
+
+    /**
+     * Upload path.
+     *
+     * @param upload Upload.
+     * @return Path.
+     */
+    private String path(final Upload upload) {
+        return String.format("/v2/test/blobs/uploads/%s", upload.uuid());
+    }
 }
@@ -23,8 +23,14 @@
  */
 package com.artipie.docker.http;
 
+import com.artipie.asto.fs.FileStorage;
 import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.docker.Digest;
+import com.artipie.docker.Docker;
+import com.artipie.docker.RepoName;
 import com.artipie.docker.asto.AstoDocker;
+import com.artipie.docker.asto.TrustedBlobSource;
+import com.artipie.docker.misc.ByteBufPublisher;
 import com.artipie.http.Response;
 import com.artipie.http.hm.IsHeader;
 import com.artipie.http.hm.RsHasHeaders;
@@ -32,26 +38,35 @@ import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rs.RsStatus;
 import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.AllOf;
+import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsNot;
 import org.hamcrest.core.StringStartsWith;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Tests for {@link DockerSlice}.
- * Upload PUT endpoint.
+ * Upload POST endpoint.
  *
  * @since 0.2
- * @checkstyle ClassDataAbstractionCouplingCheck (2 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 @SuppressWarnings("PMD.AvoidDuplicateLiterals")
 class UploadEntityPostTest {
 
+    /**
+     * Docker registry used in tests.
+     */
+    private Docker docker;
+
     /**
      * Slice being tested.
      */
@@ -59,7 +74,8 @@ class UploadEntityPostTest {
 
     @BeforeEach
     void setUp() {
-        this.slice = new DockerSlice("/base", new AstoDocker(new InMemoryStorage()));
+        this.docker = new AstoDocker(new InMemoryStorage());
+        this.slice = new DockerSlice("/base", this.docker);
     }
 
     @Test
@@ -88,4 +104,194 @@ class UploadEntityPostTest {
         );
     }
 
+    @Test
+    void shouldPutBlobMonolithically() {
+        final byte[] data = "monolithic".getBytes();
+        final String digest = new Digest.Sha256(data).string();
+        final Response response = this.slice.response(
+            new RequestLine(
+                "POST", String.format("/base/v2/test/blobs/uploads/?digest=%s", digest), "HTTP/1.1"
+            ).toString(),
+            Collections.emptyList(),
+            Flowable.just(ByteBuffer.wrap(data))
+        );
+        MatcherAssert.assertThat(
+            "Returns 201 status and headers",
+            response,
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.CREATED),
+                    new RsHasHeaders(
+                        new IsHeader("Location", String.format("/v2/test/blobs/%s", digest)),
+                        new IsHeader("Content-Length", "0"),
+                        new IsHeader("Docker-Content-Digest", digest)
+                    )
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "Puts blob",
+            this.docker.repo(new RepoName.Simple("test")).layers()
+                .get(new Digest.FromString(digest)).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldMountBlobFromOtherRepository() {
+        final Digest digest = this.docker.repo(new RepoName.Simple("source")).layers()
+            .put(new TrustedBlobSource("shared".getBytes()))
+            .toCompletableFuture().join().digest();
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(
+                    "POST",
+                    String.format(
+                        "/base/v2/test/blobs/uploads/?mount=%s&from=source", digest.string()
+                    ),
+                    "HTTP/1.1"
+                ).toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.CREATED),
+                    new RsHasHeaders(
+                        new IsHeader(
+                            "Location", String.format("/v2/test/blobs/%s", digest.string())
+                        ),
+                        new IsHeader("Content-Length", "0"),
+                        new IsHeader("Docker-Content-Digest", digest.string())
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldStartUploadWhenMountedBlobIsAbsent() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(
+                    "POST",
+                    String.format(
+                        "/base/v2/test/blobs/uploads/?mount=%s&from=source",
+                        new Digest.Sha256("absent".getBytes()).string()
+                    ),
+                    "HTTP/1.1"
+                ).toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new RsHasStatus(RsStatus.ACCEPTED)
+        );
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenMonolithicDigestMismatch() {
+        MatcherAssert.assertThat(
+            this.slice.response(
+                new RequestLine(
+                    "POST",
+                    String.format(
+                        "/base/v2/test/blobs/uploads/?digest=%s",
+                        new Digest.Sha256("expected".getBytes()).string()
+                    ),
+                    "HTTP/1.1"
+                ).toString(),
+                Collections.emptyList(),
+                Flowable.just(ByteBuffer.wrap("actual".getBytes()))
+            ),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+    }
+
+    @Test
+    void shouldNotKeepMismatchedContentAsBlob(final @TempDir Path dir) {
+        final Docker files = new AstoDocker(new FileStorage(dir));
+        final DockerSlice target = new DockerSlice("/base", files);
+        final byte[] data = "expected".getBytes();
+        final Digest digest = new Digest.Sha256(data);
+        MatcherAssert.assertThat(
+            "Rejects mismatched content",
+            UploadEntityPostTest.monolithic(target, digest, "actual".getBytes()),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+        MatcherAssert.assertThat(
+            "Accepts valid content",
+            UploadEntityPostTest.monolithic(target, digest, data),
+            new RsHasStatus(RsStatus.CREATED)
+        );
+        MatcherAssert.assertThat(
+            "Stores valid content",
+            UploadEntityPostTest.stored(files, digest),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void shouldNotKeepTruncatedContentAsBlob(final @TempDir Path dir) {
+        final Docker files = new AstoDocker(new FileStorage(dir));
+        final DockerSlice target = new DockerSlice("/base", files);
+        final byte[] data = "complete content".getBytes();
+        final Digest digest = new Digest.Sha256(data);
+        MatcherAssert.assertThat(
+            "Rejects truncated content",
+            UploadEntityPostTest.monolithic(target, digest, Arrays.copyOf(data, data.length / 2)),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+        MatcherAssert.assertThat(
+            "Does not store truncated content",
+            files.repo(new RepoName.Simple("test")).layers().get(digest)
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Accepts complete content",
+            UploadEntityPostTest.monolithic(target, digest, data),
+            new RsHasStatus(RsStatus.CREATED)
+        );
+        MatcherAssert.assertThat(
+            "Stores complete content",
+            UploadEntityPostTest.stored(files, digest),
+            new IsEqual<>(data)
+        );
+    }
+
+    /**
+     * Upload blob monolithically.
+     *
+     * @param target Slice.
+     * @param digest Blob digest.
+     * @param data Blob content.
+     * @return Response.
+     */
+    private static Response monolithic(
+        final DockerSlice target, final Digest digest, final byte[] data
+    ) {
+        return target.response(
+            new RequestLine(
+                "POST",
+                String.format("/base/v2/test/blobs/uploads/?digest=%s", digest.string()),
+                "HTTP/1.1"
+            ).toString(),
+            Collections.emptyList(),
+            Flowable.just(ByteBuffer.wrap(data))
+        );
+    }
+
+    /**
+     * Read stored blob content.
+     *
+     * @param docker Docker registry.
+     * @param digest Blob digest.
+     * @return Blob content.
+     */
+    private static byte[] stored(final Docker docker, final Digest digest) {
+        return docker.repo(new RepoName.Simple("test")).layers().get(digest)
+            .thenCompose(blob -> blob.get().content())
+            .thenCompose(content -> new ByteBufPublisher(content).bytes())
+            .toCompletableFuture().join();
+    }
 }
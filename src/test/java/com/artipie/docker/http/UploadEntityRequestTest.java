@@ -87,6 +87,30 @@ class UploadEntityRequestTest {
         MatcherAssert.assertThat(request.digest().string(), new IsEqual<>("sha256:12345"));
     }
 
+    @Test
+    void shouldReadParamAmongOthers() {
+        MatcherAssert.assertThat(
+            new UploadEntity.Request(
+                new RequestLine(
+                    "POST",
+                    "/v2/my-repo/blobs/uploads/?from=other%2Frepo&mount=sha256:abc",
+                    "HTTP/1.1"
+                ).toString()
+            ).param("from").get(),
+            new IsEqual<>("other/repo")
+        );
+    }
+
+    @Test
+    void shouldReadNoParamWithoutQuery() {
+        MatcherAssert.assertThat(
+            new UploadEntity.Request(
+                new RequestLine("POST", "/v2/my-repo/blobs/uploads/", "HTTP/1.1").toString()
+            ).param("digest").isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
     @Test
     void shouldThrowExceptionOnInvalidPath() {
         MatcherAssert.assertThat(
@@ -26,10 +26,13 @@ package com.artipie.docker.manifest;
 import com.artipie.asto.Content;
 import com.artipie.docker.Digest;
 import com.artipie.docker.misc.ByteBufPublisher;
+import io.reactivex.Flowable;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.json.Json;
@@ -47,7 +50,7 @@ import org.junit.jupiter.api.Test;
  * @since 0.2
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
-@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
 class JsonManifestTest {
 
     @Test
@@ -62,6 +65,41 @@ class JsonManifestTest {
         );
     }
 
+    @Test
+    void shouldReadKnownMediaTypeWithoutContent() {
+        MatcherAssert.assertThat(
+            new JsonManifest(
+                new Digest.Sha256("123"),
+                new Content.From(Flowable.error(new IllegalStateException("not read"))),
+                "known"
+            ).mediaType().toCompletableFuture().join(),
+            new IsEqual<>("known")
+        );
+    }
+
+    @Test
+    void shouldReadKnownSize() {
+        MatcherAssert.assertThat(
+            new JsonManifest(
+                new Digest.Sha256("123"),
+                new Content.From(2L, Flowable.error(new IllegalStateException("not read")))
+            ).size().toCompletableFuture().join(),
+            new IsEqual<>(2L)
+        );
+    }
+
+    @Test
+    void shouldReadUnknownSizeFromContent() {
+        final byte[] data = "{\"mediaType\":\"size\"}".getBytes();
+        MatcherAssert.assertThat(
+            new JsonManifest(
+                new Digest.Sha256("123"),
+                new Content.From(Flowable.just(ByteBuffer.wrap(data)))
+            ).size().toCompletableFuture().join(),
+            new IsEqual<>((long) data.length)
+        );
+    }
+
     @Test
     void shouldConvertToSameType() throws Exception {
         final JsonManifest manifest = new JsonManifest(
@@ -74,6 +112,32 @@ class JsonManifestTest {
         );
     }
 
+    @Test
+    void shouldParseContentOnce() {
+        final AtomicInteger reads = new AtomicInteger();
+        final JsonManifest manifest = new JsonManifest(
+            new Digest.Sha256("123"),
+            new Content.From(
+                Flowable.fromCallable(
+                    () -> {
+                        reads.incrementAndGet();
+                        return ByteBuffer.wrap(
+                            Json.createObjectBuilder()
+                                .add("mediaType", "type")
+                                .add("config", Json.createObjectBuilder().add("digest", "abc:1"))
+                                .add("layers", Json.createArrayBuilder())
+                                .build().toString().getBytes()
+                        );
+                    }
+                )
+            )
+        );
+        manifest.mediaType().toCompletableFuture().join();
+        manifest.config().toCompletableFuture().join();
+        manifest.layers().toCompletableFuture().join();
+        MatcherAssert.assertThat(reads.get(), new IsEqual<>(1));
+    }
+
     @Test
     void shouldFailConvertToUnknownType() {
         final JsonManifest manifest = new JsonManifest(
@@ -133,6 +197,66 @@ class JsonManifestTest {
         );
     }
 
+    @Test
+    void shouldReadChildManifests() {
+        final JsonManifest manifest = new JsonManifest(
+            new Digest.Sha256("123"),
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add("mediaType", JsonManifest.MANIFEST_LIST)
+                    .add(
+                        "manifests",
+                        Json.createArrayBuilder()
+                            .add(
+                                Json.createObjectBuilder()
+                                    .add("digest", "sha256:a1")
+                                    .add(
+                                        "platform",
+                                        Json.createObjectBuilder()
+                                            .add("architecture", "amd64")
+                                            .add("os", "linux")
+                                    )
+                            )
+                            .add(
+                                Json.createObjectBuilder()
+                                    .add("digest", "sha256:b2")
+                                    .add(
+                                        "platform",
+                                        Json.createObjectBuilder()
+                                            .add("architecture", "arm64")
+                                            .add("os", "linux")
+                                            .add("variant", "v8")
+                                    )
+                            )
+                            .add(Json.createObjectBuilder().add("digest", "sha256:c3"))
+                    ).build().toString().getBytes()
+            )
+        );
+        MatcherAssert.assertThat(
+            manifest.manifests().toCompletableFuture().join().stream()
+                .map(
+                    child -> String.format(
+                        "%s %s", child.digest().string(), child.platform().orElse("-")
+                    )
+                )
+                .collect(Collectors.toList()),
+            Matchers.contains(
+                "sha256:a1 linux/amd64", "sha256:b2 linux/arm64/v8", "sha256:c3 -"
+            )
+        );
+    }
+
+    @Test
+    void shouldReadNoChildManifestsOfImage() {
+        MatcherAssert.assertThat(
+            new JsonManifest(
+                new Digest.Sha256("123"),
+                new Content.From("{\"layers\":[]}".getBytes())
+            ).manifests().toCompletableFuture().join(),
+            Matchers.empty()
+        );
+    }
+
     @Test
     void shouldReadLayerUrls() throws Exception {
         final String url = "https://artipie.com/";
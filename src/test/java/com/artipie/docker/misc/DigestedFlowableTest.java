@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link DigestedFlowable}.
+ *
+ * @since 0.4
+ */
+class DigestedFlowableTest {
+
+    @Test
+    void shouldCalculateDigestOfData() {
+        final byte[] first = "first".getBytes();
+        final byte[] second = "second".getBytes();
+        final DigestedFlowable digested = new DigestedFlowable(
+            Flowable.just(ByteBuffer.wrap(first), ByteBuffer.wrap(second))
+        );
+        Flowable.fromPublisher(digested).blockingSubscribe();
+        MatcherAssert.assertThat(
+            digested.digest().hex(),
+            new IsEqual<>(DigestUtils.sha256Hex("firstsecond"))
+        );
+    }
+
+    @Test
+    void shouldNotConsumeData() {
+        final byte[] data = "data".getBytes();
+        MatcherAssert.assertThat(
+            Flowable.fromPublisher(new DigestedFlowable(Flowable.just(ByteBuffer.wrap(data))))
+                .map(ByteBuffer::remaining)
+                .blockingFirst(),
+            new IsEqual<>(data.length)
+        );
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test for {@link ResumableSha256}.
+ *
+ * @since 0.4
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class ResumableSha256Test {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 55, 56, 63, 64, 65, 119, 120, 128, 1000})
+    void shouldCalculateDigest(final int length) {
+        final byte[] data = ResumableSha256Test.random(length);
+        final ResumableSha256 sha = new ResumableSha256();
+        sha.update(ByteBuffer.wrap(data));
+        MatcherAssert.assertThat(
+            sha.digest().hex(),
+            new IsEqual<>(DigestUtils.sha256Hex(data))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 63, 64, 100})
+    void shouldResumeFromState(final int split) {
+        final byte[] data = ResumableSha256Test.random(300);
+        ResumableSha256 sha = new ResumableSha256();
+        for (int pos = 0; pos < data.length; pos += split) {
+            sha.update(ByteBuffer.wrap(data, pos, Math.min(split, data.length - pos)));
+            sha = new ResumableSha256(sha.state());
+        }
+        MatcherAssert.assertThat(
+            sha.digest().hex(),
+            new IsEqual<>(DigestUtils.sha256Hex(data))
+        );
+    }
+
+    @Test
+    void shouldContinueAfterDigest() {
+        final ResumableSha256 sha = new ResumableSha256();
+        sha.update(ByteBuffer.wrap("abc".getBytes()));
+        sha.digest();
+        sha.update(ByteBuffer.wrap("def".getBytes()));
+        MatcherAssert.assertThat(
+            sha.digest().hex(),
+            new IsEqual<>(DigestUtils.sha256Hex("abcdef"))
+        );
+    }
+
+    @Test
+    void shouldFailOnInvalidState() {
+        final byte[] state = new ResumableSha256().state();
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new ResumableSha256(Arrays.copyOf(state, state.length + 1))
+        );
+    }
+
+    /**
+     * Generate random bytes.
+     *
+     * @param length Number of bytes.
+     * @return Bytes.
+     */
+    private static byte[] random(final int length) {
+        final byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
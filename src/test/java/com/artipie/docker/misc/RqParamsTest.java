@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.misc;
+
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test for {@link RqParams}.
+ * @since 0.4
+ */
+class RqParamsTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "/v2/my-repo/tags/list,n,",
+        "/v2/my-repo/tags/list?n=10,n,10",
+        "/v2/my-repo/tags/list?n=10&last=1.0,last,1.0",
+        "/v2/my-repo/tags/list?last=a%2Bb,last,a+b",
+        "/v2/my-repo/tags/list?n=10,last,",
+        "/v2/my-repo/tags/list?n,n,"
+    })
+    void shouldReadParam(final String uri, final String name, final String expected) {
+        MatcherAssert.assertThat(
+            new RqParams(String.format("GET %s HTTP/1.1", uri)).value(name),
+            new IsEqual<>(Optional.ofNullable(expected))
+        );
+    }
+}
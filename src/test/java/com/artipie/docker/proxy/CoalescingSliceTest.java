@@ -0,0 +1,267 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.proxy;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.StandardRs;
+import hu.akarnokd.rxjava2.interop.CompletableInterop;
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link CoalescingSlice}.
+ *
+ * @since 0.4
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class CoalescingSliceTest {
+
+    @Test
+    void shouldSendSingleRequestForConcurrentRequests() {
+        final AtomicInteger count = new AtomicInteger();
+        final PublishProcessor<ByteBuffer> body = PublishProcessor.create();
+        final Slice slice = new CoalescingSlice(
+            (line, headers, content) -> {
+                count.incrementAndGet();
+                return new RsFull(
+                    RsStatus.OK, new Headers.From("Content-Length", "12"), body
+                );
+            }
+        );
+        final Response first = CoalescingSliceTest.get(slice);
+        final Response second = CoalescingSliceTest.get(slice);
+        body.onNext(ByteBuffer.wrap("first ".getBytes()));
+        final Response late = CoalescingSliceTest.get(slice);
+        body.onNext(ByteBuffer.wrap("second".getBytes()));
+        body.onComplete();
+        MatcherAssert.assertThat(
+            "Single request is sent to origin",
+            count.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "First response has body",
+            first,
+            new RsHasBody("first second".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Concurrent response has body",
+            second,
+            new RsHasBody("first second".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Late response has whole body",
+            late,
+            new RsHasBody("first second".getBytes())
+        );
+    }
+
+    @Test
+    void shouldSendNewRequestAfterCompletion() {
+        final AtomicInteger count = new AtomicInteger();
+        final Slice slice = new CoalescingSlice(
+            (line, headers, content) -> {
+                count.incrementAndGet();
+                return new RsFull(
+                    RsStatus.OK, Headers.EMPTY, Flowable.just(ByteBuffer.wrap("data".getBytes()))
+                );
+            }
+        );
+        MatcherAssert.assertThat(
+            "First response has body",
+            CoalescingSliceTest.get(slice),
+            new RsHasBody("data".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Next response has body",
+            CoalescingSliceTest.get(slice),
+            new RsHasBody("data".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Request is sent again",
+            count.get(),
+            new IsEqual<>(2)
+        );
+    }
+
+    @Test
+    void shouldNotCoalesceOtherMethods() {
+        final AtomicInteger count = new AtomicInteger();
+        final Slice slice = new CoalescingSlice(
+            (line, headers, content) -> {
+                count.incrementAndGet();
+                return StandardRs.EMPTY;
+            }
+        );
+        for (int idx = 0; idx < 2; ++idx) {
+            slice.response(
+                new RequestLine("PUT", "/v2/test/manifests/1", "HTTP/1.1").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            );
+        }
+        MatcherAssert.assertThat(count.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldSendSingleRequestForLargeBody(final @TempDir Path dir) throws IOException {
+        final AtomicInteger count = new AtomicInteger();
+        final PublishProcessor<ByteBuffer> body = PublishProcessor.create();
+        final int chunk = 1024 * 1024;
+        final int chunks = 8;
+        final Slice slice = new CoalescingSlice(
+            (line, headers, content) -> {
+                count.incrementAndGet();
+                return new RsFull(
+                    RsStatus.OK,
+                    new Headers.From("Content-Length", String.valueOf((long) chunk * chunks)),
+                    body
+                );
+            },
+            chunk,
+            dir
+        );
+        final Response first = CoalescingSliceTest.get(slice);
+        final Response second = CoalescingSliceTest.get(slice);
+        for (int idx = 0; idx < chunks / 2; ++idx) {
+            body.onNext(ByteBuffer.allocate(chunk));
+        }
+        final Response late = CoalescingSliceTest.get(slice);
+        for (int idx = 0; idx < chunks / 2; ++idx) {
+            body.onNext(ByteBuffer.allocate(chunk));
+        }
+        body.onComplete();
+        MatcherAssert.assertThat(
+            "Single request is sent to origin",
+            count.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "First response streams whole body",
+            CoalescingSliceTest.received(first),
+            new IsEqual<>((long) chunk * chunks)
+        );
+        MatcherAssert.assertThat(
+            "Concurrent response streams whole body",
+            CoalescingSliceTest.received(second),
+            new IsEqual<>((long) chunk * chunks)
+        );
+        MatcherAssert.assertThat(
+            "Late response streams whole body",
+            CoalescingSliceTest.received(late),
+            new IsEqual<>((long) chunk * chunks)
+        );
+        try (Stream<Path> files = Files.list(dir)) {
+            MatcherAssert.assertThat(
+                "Leaves no spool files",
+                files.count(),
+                new IsEqual<>(0L)
+            );
+        }
+    }
+
+    @Test
+    void shouldShareUnsizedBody(final @TempDir Path dir) {
+        final AtomicInteger count = new AtomicInteger();
+        final PublishProcessor<ByteBuffer> body = PublishProcessor.create();
+        final Slice slice = new CoalescingSlice(
+            (line, headers, content) -> {
+                count.incrementAndGet();
+                return new RsFull(RsStatus.OK, Headers.EMPTY, body);
+            },
+            1,
+            dir
+        );
+        final Response first = CoalescingSliceTest.get(slice);
+        body.onNext(ByteBuffer.wrap("un".getBytes()));
+        final Response second = CoalescingSliceTest.get(slice);
+        body.onNext(ByteBuffer.wrap("sized".getBytes()));
+        body.onComplete();
+        MatcherAssert.assertThat(
+            "First response has body",
+            first,
+            new RsHasBody("unsized".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Joined response has body",
+            second,
+            new RsHasBody("unsized".getBytes())
+        );
+        MatcherAssert.assertThat(
+            "Single request is sent to origin",
+            count.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    /**
+     * Count bytes of response body.
+     *
+     * @param response Response.
+     * @return Number of bytes received.
+     */
+    private static long received(final Response response) {
+        final AtomicLong bytes = new AtomicLong();
+        response.send(
+            (status, headers, body) -> Flowable.fromPublisher(body)
+                .doOnNext(buf -> bytes.addAndGet(buf.remaining()))
+                .ignoreElements()
+                .to(CompletableInterop.await())
+        ).toCompletableFuture().join();
+        return bytes.get();
+    }
+
+    /**
+     * Send GET request for blob.
+     *
+     * @param slice Slice.
+     * @return Response.
+     */
+    private static Response get(final Slice slice) {
+        return slice.response(
+            new RequestLine("GET", "/v2/test/blobs/sha256:123", "HTTP/1.1").toString(),
+            Collections.emptyList(),
+            Flowable.empty()
+        );
+    }
+}
@@ -23,16 +23,29 @@
  */
 package com.artipie.docker.proxy;
 
+import com.artipie.asto.Content;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.misc.ByteBufPublisher;
+import com.artipie.http.Headers;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
 import com.artipie.http.rs.StandardRs;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 /**
  * Tests for {@link ProxyDocker}.
  *
  * @since 0.3
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 final class ProxyDockerTest {
 
@@ -44,4 +57,44 @@ final class ProxyDockerTest {
             new IsInstanceOf(ProxyRepo.class)
         );
     }
+
+    @Test
+    void shouldListRemoteCatalog() {
+        final byte[] data = "{\"repositories\":[\"b\"]}".getBytes();
+        MatcherAssert.assertThat(
+            new ProxyDocker(
+                (line, headers, body) -> {
+                    if (!line.startsWith("GET /v2/_catalog?n=1&last=a ")) {
+                        throw new IllegalArgumentException();
+                    }
+                    return new RsFull(RsStatus.OK, Headers.EMPTY, new Content.From(data));
+                }
+            ).catalog(Optional.of(new RepoName.Simple("a")), 1)
+                .thenCompose(catalog -> new ByteBufPublisher(catalog.json()).bytes())
+                .toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RsStatus.class, names = {"UNAUTHORIZED", "FORBIDDEN", "NOT_FOUND"})
+    void shouldListEmptyCatalogWhenRemoteDoesNotExposeIt(final RsStatus status) {
+        MatcherAssert.assertThat(
+            new ProxyDocker((line, headers, body) -> new RsWithStatus(status))
+                .catalog(Optional.empty(), Integer.MAX_VALUE)
+                .thenCompose(catalog -> new ByteBufPublisher(catalog.json()).asciiString())
+                .toCompletableFuture().join(),
+            new IsEqual<>("{\"repositories\":[]}")
+        );
+    }
+
+    @Test
+    void shouldFailListingCatalogWhenRemoteFails() {
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> new ProxyDocker(
+                (line, headers, body) -> new RsWithStatus(RsStatus.INTERNAL_ERROR)
+            ).catalog(Optional.empty(), Integer.MAX_VALUE).toCompletableFuture().join()
+        );
+    }
 }
@@ -26,6 +26,8 @@ package com.artipie.docker.proxy;
 import com.artipie.asto.Content;
 import com.artipie.docker.Digest;
 import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import com.artipie.docker.Tags;
 import com.artipie.docker.http.DigestHeader;
 import com.artipie.docker.manifest.Manifest;
 import com.artipie.docker.misc.ByteBufPublisher;
@@ -45,6 +47,7 @@ import org.junit.jupiter.api.Test;
  * @since 0.3
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 class ProxyManifestsTest {
 
     @Test
@@ -91,4 +94,34 @@ class ProxyManifestsTest {
         ).get(new ManifestRef.FromString("latest")).toCompletableFuture().join();
         MatcherAssert.assertThat(found.isEmpty(), new IsEqual<>(true));
     }
+
+    @Test
+    void shouldListRemoteTags() {
+        final byte[] data = "{\"name\":\"test\",\"tags\":[\"b\"]}".getBytes();
+        final Tags tags = new ProxyManifests(
+            (line, headers, body) -> {
+                if (!line.startsWith("GET /v2/test/tags/list?n=1&last=a ")) {
+                    throw new IllegalArgumentException();
+                }
+                return new RsFull(RsStatus.OK, Headers.EMPTY, new Content.From(data));
+            },
+            new RepoName.Valid("test")
+        ).tags(Optional.of(new Tag.Valid("a")), 1).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(tags.json()).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void shouldListNoTagsWhenNotFound() {
+        final Tags tags = new ProxyManifests(
+            (line, headers, body) -> new RsWithStatus(RsStatus.NOT_FOUND),
+            new RepoName.Valid("absent")
+        ).tags(Optional.empty(), 1).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new ByteBufPublisher(tags.json()).asciiString().toCompletableFuture().join(),
+            new IsEqual<>("{\"name\":\"absent\",\"tags\":[]}")
+        );
+    }
 }
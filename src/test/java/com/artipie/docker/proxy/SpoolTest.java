@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.proxy;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link Spool}.
+ *
+ * @since 0.4
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class SpoolTest {
+
+    @Test
+    void readsWholeBodyFromStart(final @TempDir Path dir) throws IOException {
+        final Spool spool = SpoolTest.spool(dir.resolve("body"));
+        final PublishProcessor<ByteBuffer> body = PublishProcessor.create();
+        final Flowable<ByteBuffer> first = spool.read().get();
+        spool.download(body, () -> { });
+        body.onNext(ByteBuffer.wrap("spooled ".getBytes()));
+        final Flowable<ByteBuffer> late = spool.read().get();
+        body.onNext(ByteBuffer.wrap("body".getBytes()));
+        body.onComplete();
+        MatcherAssert.assertThat(
+            "First reader reads body",
+            SpoolTest.bytes(first),
+            new IsEqual<>("spooled body")
+        );
+        MatcherAssert.assertThat(
+            "Late reader reads body from start",
+            SpoolTest.bytes(late),
+            new IsEqual<>("spooled body")
+        );
+    }
+
+    @Test
+    void closesFileWhenReadersAreDone(final @TempDir Path dir) throws IOException {
+        final Spool spool = SpoolTest.spool(dir.resolve("closed"));
+        final Flowable<ByteBuffer> reader = spool.read().get();
+        final AtomicInteger done = new AtomicInteger();
+        spool.download(Flowable.just(ByteBuffer.wrap("data".getBytes())), done::incrementAndGet);
+        MatcherAssert.assertThat(
+            "Runs action on download completion",
+            done.get(),
+            new IsEqual<>(1)
+        );
+        final Optional<Flowable<ByteBuffer>> joined = spool.read();
+        MatcherAssert.assertThat(
+            "Attaches reader while file is read",
+            joined.isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Reads downloaded body",
+            SpoolTest.bytes(reader) + SpoolTest.bytes(joined.get()),
+            new IsEqual<>("datadata")
+        );
+        MatcherAssert.assertThat(
+            "Does not attach reader after file is closed",
+            spool.read().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void failsReaderWhenDownloadFails(final @TempDir Path dir) throws IOException {
+        final Spool spool = SpoolTest.spool(dir.resolve("failed"));
+        final Flowable<ByteBuffer> reader = spool.read().get();
+        spool.download(Flowable.error(new IllegalStateException("Lost")), () -> { });
+        reader.test().awaitDone(1, TimeUnit.MINUTES)
+            .assertError(IllegalStateException.class);
+    }
+
+    /**
+     * Create spool in file.
+     *
+     * @param file File path.
+     * @return Spool.
+     * @throws IOException If failed to create file.
+     */
+    private static Spool spool(final Path file) throws IOException {
+        return new Spool(
+            FileChannel.open(
+                file,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE
+            )
+        );
+    }
+
+    /**
+     * Read body to string.
+     *
+     * @param body Body.
+     * @return Body string.
+     */
+    private static String bytes(final Flowable<ByteBuffer> body) {
+        return body.reduce(
+            new StringBuilder(),
+            (str, buf) -> {
+                final byte[] arr = new byte[buf.remaining()];
+                buf.get(arr);
+                return str.append(new String(arr));
+            }
+        ).blockingGet().toString();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Artipie
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.artipie.docker.proxy;
+
+import com.artipie.docker.RepoName;
+import com.artipie.docker.Tag;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TagsListPath}.
+ *
+ * @since 0.4
+ */
+class TagsListPathTest {
+
+    @Test
+    void shouldBuildPathString() {
+        MatcherAssert.assertThat(
+            new TagsListPath(new RepoName.Valid("some/image"), Optional.empty(), 1).string(),
+            new IsEqual<>("/v2/some/image/tags/list?n=1")
+        );
+    }
+
+    @Test
+    void shouldBuildPathStringWithLastTag() {
+        MatcherAssert.assertThat(
+            new TagsListPath(
+                new RepoName.Valid("image"), Optional.of(new Tag.Valid("1.0")), 2
+            ).string(),
+            new IsEqual<>("/v2/image/tags/list?n=2&last=1.0")
+        );
+    }
+}